@@ -15,6 +15,27 @@ instance.interceptors.request.use((config) => {
     return config;
 });
 
+// Refresh tokeny sa jednorazowe, wiec wszystkie zapytania odrzucone naraz czekaja na jedno odswiezenie.
+let refreshPromise = null;
+
+const refreshTokens = () => {
+    if (!refreshPromise) {
+        const refreshToken = sessionStorage.getItem('refreshToken');
+        refreshPromise = axios.post('http://localhost:8080/api/v1/auth/refresh', {
+            refreshToken: refreshToken
+        }).then((res) => {
+            const { token, refreshToken: newRefreshToken } = res.data;
+
+            sessionStorage.setItem('token', token);
+            sessionStorage.setItem('refreshToken', newRefreshToken);
+            return token;
+        }).finally(() => {
+            refreshPromise = null;
+        });
+    }
+    return refreshPromise;
+};
+
 instance.interceptors.response.use(
     (response) => response,
     async (error) => {
@@ -22,23 +43,21 @@ instance.interceptors.response.use(
 
         if ((error.response?.status === 401 || error.response?.status === 403) && !originalRequest._retry) {
             originalRequest._retry = true;
-            const refreshToken = sessionStorage.getItem('refreshToken');
+            const sentToken = originalRequest.headers.Authorization?.replace('Bearer ', '');
+            const currentToken = sessionStorage.getItem('token');
 
-            if (refreshToken) {
-                try {
-                    const res = await axios.post('http://localhost:8080/api/v1/auth/refresh', {
-                        refreshToken: refreshToken
-                    });
-
-                    if (res.status === 200) {
-                        const { token, refreshToken: newRefreshToken } = res.data;
+            // Token zostal juz odswiezony przez inne zapytanie, wystarczy ponowic
+            if (currentToken && sentToken && currentToken !== sentToken && !refreshPromise) {
+                originalRequest.headers.Authorization = `Bearer ${currentToken}`;
+                return instance(originalRequest);
+            }
 
-                        sessionStorage.setItem('token', token);
-                        sessionStorage.setItem('refreshToken', newRefreshToken);
+            if (sessionStorage.getItem('refreshToken')) {
+                try {
+                    const token = await refreshTokens();
 
-                        originalRequest.headers.Authorization = `Bearer ${token}`;
-                        return instance(originalRequest);
-                    }
+                    originalRequest.headers.Authorization = `Bearer ${token}`;
+                    return instance(originalRequest);
                 } catch (refreshError) {
                     console.error("Refresh token wygasł lub jest błędny");
                     sessionStorage.clear();
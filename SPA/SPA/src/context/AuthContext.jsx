@@ -18,6 +18,10 @@ export const AuthProvider = ({ children }) => {
   };
 
   const logout = () => {
+    const refreshToken = sessionStorage.getItem('refreshToken');
+    if (refreshToken) {
+      api.post('/auth/logout', { refreshToken }).catch(() => {});
+    }
     sessionStorage.clear();
     setUser(null);
     delete api.defaults.headers.common['Authorization'];
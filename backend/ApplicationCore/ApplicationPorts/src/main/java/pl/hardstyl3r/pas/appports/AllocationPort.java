@@ -1,22 +1,61 @@
 package pl.hardstyl3r.pas.appports;
 
 import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.AllocationBatchResult;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface AllocationPort {
     List<Allocation> findAll();
 
+    CursorPage<Allocation> findPage(String after, int limit);
+
+    Stream<Allocation> streamAll();
+
     Optional<Allocation> findById(String id);
 
+    List<Allocation> findAllById(Collection<String> ids);
+
     Allocation save(Allocation allocation);
 
+    Allocation insertActive(Allocation allocation);
+
+    List<AllocationBatchResult> insertAllActive(List<Allocation> allocations);
+
+    /**
+     * Ends the given allocations that are still active.
+     *
+     * @return ids of the allocations ended by this call; the others were missing or had already been ended
+     */
+    Set<String> endAll(Collection<String> ids, LocalDateTime endTime);
+
     void deleteById(String id);
 
     boolean existsByResourceIdAndEndTimeIsNull(String resourceId);
 
+    Set<String> findActiveResourceIds(Collection<String> resourceIds);
+
     List<Allocation> findByUserId(String userId);
 
-    List<Allocation> findByResourceId(String resourceId);
+    List<Allocation> findActiveByUserIds(Collection<String> userIds);
+
+    List<Allocation> findActiveByUserId(String userId);
+
+    CursorPage<Allocation> findEndedByUserId(String userId, String before, int limit);
+
+    boolean existsByResourceId(String resourceId);
+
+    /**
+     * Drops the reservations a resource still holds although no allocation references it,
+     * e.g. after an insert that failed without a clear outcome.
+     *
+     * @return whether a stale reservation was released
+     */
+    boolean releaseStaleReservations(String resourceId);
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package pl.hardstyl3r.pas.appports;
+
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface ReactiveAllocationPort {
+    Mono<Allocation> findById(String id);
+
+    Mono<Allocation> insertActive(Allocation allocation);
+
+    Mono<Allocation> endActive(String id, LocalDateTime endTime);
+
+    Flux<Allocation> findActiveByUserId(String userId);
+
+    Mono<CursorPage<Allocation>> findEndedByUserId(String userId, String before, int limit);
+}
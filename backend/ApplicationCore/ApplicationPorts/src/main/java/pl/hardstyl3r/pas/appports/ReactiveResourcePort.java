@@ -0,0 +1,11 @@
+package pl.hardstyl3r.pas.appports;
+
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveResourcePort {
+    Flux<Resource> findAll();
+
+    Mono<Resource> findById(String id);
+}
@@ -0,0 +1,14 @@
+package pl.hardstyl3r.pas.appports;
+
+import pl.hardstyl3r.pas.v1.objects.User;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserPort {
+    Flux<UserSummary> findAll();
+
+    Mono<User> findById(String id);
+
+    Mono<User> findByUsername(String username);
+}
@@ -1,18 +1,26 @@
 package pl.hardstyl3r.pas.appports;
 
 import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.pas.v1.objects.resources.ResourceCatalog;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ResourcePort {
     List<Resource> findAll();
 
+    ResourceCatalog findCatalog();
+
     Optional<Resource> findById(String id);
 
+    List<Resource> findAllById(Collection<String> ids);
+
     Resource save(Resource resource);
 
     void deleteById(String id);
 
+    boolean deleteIfUnallocated(String id);
+
     boolean existsById(String id);
 }
\ No newline at end of file
@@ -0,0 +1,5 @@
+package pl.hardstyl3r.pas.appports;
+
+public interface UserChangePort {
+    void onUserChanged(String id);
+}
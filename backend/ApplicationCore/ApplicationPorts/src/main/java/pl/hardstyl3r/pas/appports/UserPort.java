@@ -1,15 +1,21 @@
 package pl.hardstyl3r.pas.appports;
 
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
 import pl.hardstyl3r.pas.v1.objects.User;
+import pl.hardstyl3r.pas.v1.objects.UserFilter;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserPort {
-    List<User> findAll();
+    List<UserSummary> findAll();
 
     Optional<User> findById(String id);
 
+    List<UserSummary> findAllById(Collection<String> ids);
+
     Optional<User> findByUsername(String username);
 
     boolean existsByUsername(String username);
@@ -20,5 +26,7 @@ public interface UserPort {
 
     void update(User user);
 
-    List<User> findByUsernameContaining(String search);
+    List<UserSummary> searchByUsername(String search, int limit);
+
+    CursorPage<UserSummary> findByFilter(UserFilter filter, String after, int limit);
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package pl.hardstyl3r.pas.v1.dto;
 
 import pl.hardstyl3r.pas.v1.objects.User; // Z DomainModel
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
 import java.util.List;
 
 public class UserConverter {
@@ -16,9 +17,14 @@ public class UserConverter {
         );
     }
 
-    public static List<UserDTO> dtoFromUsers(List<User> users) {
+    public static UserDTO dtoFromSummary(UserSummary user) {
+        if (user == null) return null;
+        return new UserDTO(user.id(), user.username(), user.name(), user.active(), user.role());
+    }
+
+    public static List<UserDTO> dtoFromUsers(List<UserSummary> users) {
         return users.stream()
-                .map(UserConverter::dtoFromUser)
+                .map(UserConverter::dtoFromSummary)
                 .toList();
     }
 }
\ No newline at end of file
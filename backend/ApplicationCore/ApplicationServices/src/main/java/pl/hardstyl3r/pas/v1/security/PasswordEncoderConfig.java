@@ -0,0 +1,66 @@
+package pl.hardstyl3r.pas.v1.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Map;
+
+/**
+ * The single {@link PasswordEncoder} shared by the REST and SOAP applications. New hashes are stored with the
+ * {@code {id}} prefix of {@code pas.security.password.encoder}; hashes without a prefix are the plain bcrypt hashes
+ * written before and are still matched. {@link PasswordEncoder#upgradeEncoding} reports a hash as outdated when its
+ * algorithm differs from the configured one or when its bcrypt strength or argon2 cost is lower than configured,
+ * which is what triggers the rehash on login.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String PBKDF2 = "pbkdf2";
+    public static final String ARGON2 = "argon2";
+
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+
+    @Value("${pas.security.password.encoder:bcrypt}")
+    private String encoder;
+
+    @Value("${pas.security.password.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${pas.security.password.pbkdf2.iterations:310000}")
+    private int pbkdf2Iterations;
+
+    @Value("${pas.security.password.argon2.memory-kb:16384}")
+    private int argon2MemoryKb;
+
+    @Value("${pas.security.password.argon2.iterations:2}")
+    private int argon2Iterations;
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return passwordEncoder(encoder, bcryptStrength, pbkdf2Iterations, argon2MemoryKb, argon2Iterations);
+    }
+
+    public static PasswordEncoder passwordEncoder(String idForEncode, int bcryptStrength, int pbkdf2Iterations,
+                                                  int argon2MemoryKb, int argon2Iterations) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                BCRYPT, bcrypt,
+                PBKDF2, new Pbkdf2PasswordEncoder("", SALT_LENGTH, pbkdf2Iterations,
+                        Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256),
+                ARGON2, new Argon2PasswordEncoder(SALT_LENGTH, HASH_LENGTH, 1, argon2MemoryKb, argon2Iterations));
+        if (!encoders.containsKey(idForEncode)) {
+            throw new IllegalArgumentException("Unknown password encoder: " + idForEncode);
+        }
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(idForEncode, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+}
@@ -0,0 +1,25 @@
+package pl.hardstyl3r.pas.v1.security;
+
+import java.util.Map;
+
+/**
+ * The {@code typ} claim shared by the servlet and reactive stacks, which verify tokens with the same
+ * {@code jwt.secret}. Refresh tokens are single-use and only accepted by the refresh endpoint, so every bearer token
+ * check has to go through {@link #isAccessToken}.
+ */
+public final class TokenTypes {
+
+    public static final String CLAIM = "typ";
+    public static final String REFRESH = "refresh";
+
+    private TokenTypes() {
+    }
+
+    public static boolean isAccessToken(Map<String, ?> claims) {
+        return !REFRESH.equals(claims.get(CLAIM));
+    }
+
+    public static boolean isRefreshToken(Map<String, ?> claims) {
+        return REFRESH.equals(claims.get(CLAIM));
+    }
+}
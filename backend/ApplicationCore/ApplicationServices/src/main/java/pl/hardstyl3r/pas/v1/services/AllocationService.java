@@ -6,17 +6,25 @@ import pl.hardstyl3r.pas.appports.ResourcePort;
 import pl.hardstyl3r.pas.appports.UserPort;
 import pl.hardstyl3r.pas.v1.exceptions.*;
 import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.AllocationBatchResult;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
 import pl.hardstyl3r.pas.v1.objects.User;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
 import pl.hardstyl3r.pas.v1.viewports.AllocationViewPort;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AllocationService implements AllocationViewPort {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_BATCH_SIZE = 1000;
+
     private final AllocationPort allocationPort;
     private final UserPort userPort;
     private final ResourcePort resourcePort;
@@ -32,6 +40,17 @@ public class AllocationService implements AllocationViewPort {
         return allocationPort.findAll();
     }
 
+    @Override
+    public CursorPage<Allocation> findPage(String after, int limit) {
+        validateLimit(limit);
+        return allocationPort.findPage(after, limit);
+    }
+
+    @Override
+    public Stream<Allocation> streamAll() {
+        return allocationPort.streamAll();
+    }
+
     @Override
     public Optional<Allocation> findById(String id) {
         return allocationPort.findById(id);
@@ -49,12 +68,45 @@ public class AllocationService implements AllocationViewPort {
         resourcePort.findById(resourceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Resource with id " + resourceId + " not found."));
 
-        if (allocationPort.existsByResourceIdAndEndTimeIsNull(resourceId)) {
-            throw new ResourceInUseException("Resource with id " + resourceId + " is already allocated.");
+        Allocation allocation = new Allocation(userId, resourceId);
+        return allocationPort.insertActive(allocation);
+    }
+
+    @Override
+    public List<AllocationBatchResult> createAllocations(List<Allocation> allocations) {
+        validateBatchSize(allocations.size());
+
+        Map<String, UserSummary> users = userPort.findAllById(collectIds(allocations, Allocation::getUserId)).stream()
+                .collect(Collectors.toMap(UserSummary::id, Function.identity()));
+        Set<String> resourceIds = resourcePort.findAllById(collectIds(allocations, Allocation::getResourceId)).stream()
+                .map(Resource::getId)
+                .collect(Collectors.toSet());
+        Set<String> allocatedResourceIds = resourceIds.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(allocationPort.findActiveResourceIds(resourceIds));
+
+        AllocationBatchResult[] results = new AllocationBatchResult[allocations.size()];
+        List<Allocation> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < allocations.size(); i++) {
+            Allocation requested = allocations.get(i);
+            String error = validateBatchItem(requested, users, resourceIds, allocatedResourceIds);
+            if (error != null) {
+                results[i] = AllocationBatchResult.failure(i, error);
+                continue;
+            }
+            allocatedResourceIds.add(requested.getResourceId());
+            accepted.add(new Allocation(requested.getUserId(), requested.getResourceId()));
+            acceptedIndexes.add(i);
         }
 
-        Allocation allocation = new Allocation(userId, resourceId);
-        return allocationPort.save(allocation);
+        if (!accepted.isEmpty()) {
+            for (AllocationBatchResult inserted : allocationPort.insertAllActive(accepted)) {
+                int index = acceptedIndexes.get(inserted.index());
+                results[index] = new AllocationBatchResult(index, inserted.allocation(), inserted.error());
+            }
+        }
+        return Arrays.asList(results);
     }
 
     @Override
@@ -70,6 +122,38 @@ public class AllocationService implements AllocationViewPort {
         return allocationPort.save(allocation);
     }
 
+    @Override
+    public List<AllocationBatchResult> endAllocations(List<String> ids) {
+        validateBatchSize(ids.size());
+
+        Map<String, Allocation> allocations = allocationPort.findAllById(collectIds(ids, Function.identity())).stream()
+                .collect(Collectors.toMap(Allocation::getId, Function.identity()));
+
+        LocalDateTime endTime = LocalDateTime.now();
+        Set<String> toEnd = allocations.values().stream()
+                .filter(allocation -> allocation.getEndTime() == null)
+                .map(Allocation::getId)
+                .collect(Collectors.toSet());
+        // Only what the port actually ended is reported as ended; the rest was ended concurrently.
+        Set<String> ended = toEnd.isEmpty() ? Set.of() : allocationPort.endAll(toEnd, endTime);
+
+        Set<String> reported = new HashSet<>();
+        List<AllocationBatchResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            Allocation allocation = allocations.get(id);
+            if (allocation == null) {
+                results.add(AllocationBatchResult.failure(i, "Allocation with id " + id + " not found."));
+            } else if (!ended.contains(id) || !reported.add(id)) {
+                results.add(AllocationBatchResult.failure(i, "Allocation with id " + id + " has already been ended."));
+            } else {
+                allocation.setEndTime(endTime);
+                results.add(AllocationBatchResult.success(i, allocation));
+            }
+        }
+        return results;
+    }
+
     @Override
     public void deleteById(String id) {
         Allocation allocation = allocationPort.findById(id)
@@ -83,15 +167,58 @@ public class AllocationService implements AllocationViewPort {
 
     @Override
     public List<Allocation> getCurrentAllocationsForUser(String userId) {
-        return allocationPort.findByUserId(userId).stream()
-                .filter(a -> a.getEndTime() == null)
-                .collect(Collectors.toList());
+        return allocationPort.findActiveByUserId(userId);
     }
 
     @Override
-    public List<Allocation> getPastAllocationsForUser(String userId) {
-        return allocationPort.findByUserId(userId).stream()
-                .filter(a -> a.getEndTime() != null)
-                .collect(Collectors.toList());
+    public List<Allocation> getCurrentAllocationsForUsers(Collection<String> userIds) {
+        return userIds.isEmpty() ? List.of() : allocationPort.findActiveByUserIds(userIds);
+    }
+
+    @Override
+    public CursorPage<Allocation> getPastAllocationsForUser(String userId, String before, int limit) {
+        validateLimit(limit);
+        return allocationPort.findEndedByUserId(userId, before, limit);
+    }
+
+    private void validateBatchSize(int size) {
+        if (size < 1 || size > MAX_BATCH_SIZE) {
+            throw new InputValidationException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " items.");
+        }
+    }
+
+    private static <T> Set<String> collectIds(List<T> items, Function<T, String> id) {
+        return items.stream()
+                .filter(Objects::nonNull)
+                .map(id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static String validateBatchItem(Allocation requested, Map<String, UserSummary> users,
+                                            Set<String> resourceIds, Set<String> allocatedResourceIds) {
+        if (requested == null || requested.getUserId() == null || requested.getResourceId() == null) {
+            return "User id and resource id are required.";
+        }
+        UserSummary user = users.get(requested.getUserId());
+        if (user == null) {
+            return "User with id " + requested.getUserId() + " not found.";
+        }
+        if (!user.active()) {
+            return "User with id " + requested.getUserId() + " is not active.";
+        }
+        if (!resourceIds.contains(requested.getResourceId())) {
+            return "Resource with id " + requested.getResourceId() + " not found.";
+        }
+        if (allocatedResourceIds.contains(requested.getResourceId())) {
+            return "Resource with id " + requested.getResourceId() + " is already allocated.";
+        }
+        return null;
+    }
+
+    private void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InputValidationException("Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
     }
 }
\ No newline at end of file
@@ -10,12 +10,14 @@ import pl.hardstyl3r.pas.v1.objects.resources.Book;
 import pl.hardstyl3r.pas.v1.objects.resources.Newspaper;
 import pl.hardstyl3r.pas.v1.objects.resources.Periodical;
 import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.pas.v1.objects.resources.ResourceCatalog;
 import pl.hardstyl3r.pas.v1.viewports.CreateResourceCommand;
 import pl.hardstyl3r.pas.v1.viewports.EditResourceCommand;
 import pl.hardstyl3r.pas.v1.viewports.ResourceViewPort;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,11 +36,21 @@ public class ResourceService implements ResourceViewPort {
         return resourcePort.findAll();
     }
 
+    @Override
+    public ResourceCatalog getCatalog() {
+        return resourcePort.findCatalog();
+    }
+
     @Override
     public Optional<Resource> findById(String id) {
         return resourcePort.findById(id);
     }
 
+    @Override
+    public List<Resource> findByIds(Collection<String> ids) {
+        return ids.isEmpty() ? List.of() : resourcePort.findAllById(ids);
+    }
+
     private boolean isValidIsbn(String isbn) {
         if (isbn == null) return false;
         String cleanedIsbn = isbn.replace("-", "");
@@ -85,13 +97,19 @@ public class ResourceService implements ResourceViewPort {
 
     @Override
     public void deleteById(String id) {
-        if (!resourcePort.existsById(id)) {
-            throw new ResourceNotFoundException("Resource with id " + id + " not found.");
+        if (resourcePort.deleteIfUnallocated(id)) {
+            return;
         }
-        if (!allocationPort.findByResourceId(id).isEmpty()) {
-            throw new ResourceInUseException("Cannot delete resource with id " + id + " because it is in use.");
+        if (!allocationPort.existsByResourceId(id)) {
+            if (!resourcePort.existsById(id)) {
+                throw new ResourceNotFoundException("Resource with id " + id + " not found.");
+            }
+            // The allocation counter claims a reference that does not exist; correct it and try once more.
+            if (allocationPort.releaseStaleReservations(id) && resourcePort.deleteIfUnallocated(id)) {
+                return;
+            }
         }
-        resourcePort.deleteById(id);
+        throw new ResourceInUseException("Cannot delete resource with id " + id + " because it is in use.");
     }
 
     @Override
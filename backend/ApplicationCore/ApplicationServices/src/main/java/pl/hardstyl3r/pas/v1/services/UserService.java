@@ -2,23 +2,37 @@ package pl.hardstyl3r.pas.v1.services;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import pl.hardstyl3r.pas.appports.UserChangePort;
 import pl.hardstyl3r.pas.appports.UserPort;
 import pl.hardstyl3r.pas.v1.exceptions.*;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
 import pl.hardstyl3r.pas.v1.objects.User;
+import pl.hardstyl3r.pas.v1.objects.UserFilter;
 import pl.hardstyl3r.pas.v1.objects.UserRole;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
 import pl.hardstyl3r.pas.v1.viewports.UserViewPort;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class UserService implements UserViewPort {
+    public static final int MAX_SEARCH_RESULTS = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final UserPort userPort;
     private final PasswordEncoder passwordEncoder;
+    private final List<UserChangePort> userChangePorts;
 
-    public UserService(UserPort userPort, PasswordEncoder passwordEncoder) {
+    public UserService(UserPort userPort, PasswordEncoder passwordEncoder, List<UserChangePort> userChangePorts) {
         this.userPort = userPort;
         this.passwordEncoder = passwordEncoder;
+        this.userChangePorts = userChangePorts;
+    }
+
+    private void notifyUserChanged(String id) {
+        userChangePorts.forEach(port -> port.onUserChanged(id));
     }
 
     @Override
@@ -35,6 +49,7 @@ public class UserService implements UserViewPort {
                 .orElseThrow(() -> new UserNotFoundException("User with id " + id + " not found"));
         user.setRole(newRole);
         userPort.update(user);
+        notifyUserChanged(id);
     }
 
     @Override
@@ -48,13 +63,19 @@ public class UserService implements UserViewPort {
     }
 
     @Override
-    public List<User> findAll() {
+    public List<UserSummary> findUsersByIds(Collection<String> ids) {
+        return ids.isEmpty() ? List.of() : userPort.findAllById(ids);
+    }
+
+    @Override
+    public List<UserSummary> findAll() {
         return userPort.findAll();
     }
 
     @Override
     public void deleteUserById(String id) {
         userPort.deleteById(id);
+        notifyUserChanged(id);
     }
 
     @Override
@@ -63,11 +84,26 @@ public class UserService implements UserViewPort {
                 .orElseThrow(() -> new UserNotFoundException("User with id " + id + " not found"));
         user.setActive(active);
         userPort.update(user);
+        notifyUserChanged(id);
+    }
+
+    @Override
+    public List<UserSummary> searchForUsersByUsername(String search, int limit) {
+        if (search == null || search.isBlank()) {
+            throw new InputValidationException("Search term must not be blank.");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new InputValidationException("Limit must be between 1 and " + MAX_SEARCH_RESULTS + ".");
+        }
+        return userPort.searchByUsername(search.trim(), limit);
     }
 
     @Override
-    public List<User> searchForUsersByUsername(String search) {
-        return userPort.findByUsernameContaining(search);
+    public CursorPage<UserSummary> findUsersByFilter(UserFilter filter, String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InputValidationException("Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        return userPort.findByFilter(filter, after, limit);
     }
 
     @Override
@@ -87,5 +123,14 @@ public class UserService implements UserViewPort {
         }
         user.setPassword(passwordEncoder.encode(newPassword));
         userPort.update(user);
+        notifyUserChanged(id);
+    }
+
+    @Override
+    public void upgradePasswordEncoding(String username, String encodedPassword) {
+        User user = userPort.findByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException("User " + username + " not found"));
+        user.setPassword(encodedPassword);
+        userPort.update(user);
     }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package pl.hardstyl3r.pas.v1.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordEncoderConfigUnitTest {
+
+    @Test
+    void shouldMatchUnprefixedBcryptHashesAndAskForUpgrade() {
+        PasswordEncoder encoder = PasswordEncoderConfig.passwordEncoder("bcrypt", 4, 1000, 1024, 1);
+        String legacy = new BCryptPasswordEncoder(4).encode("haslo123");
+
+        assertThat(encoder.matches("haslo123", legacy)).isTrue();
+        assertThat(encoder.matches("zlehaslo", legacy)).isFalse();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    void shouldUpgradeOnlyWhenAlgorithmOrCostIsBelowConfigured() {
+        PasswordEncoder weak = PasswordEncoderConfig.passwordEncoder("bcrypt", 4, 1000, 1024, 1);
+        PasswordEncoder strong = PasswordEncoderConfig.passwordEncoder("bcrypt", 5, 1000, 1024, 1);
+        PasswordEncoder argon2 = PasswordEncoderConfig.passwordEncoder("argon2", 5, 1000, 1024, 1);
+        String weakHash = weak.encode("haslo123");
+        String strongHash = strong.encode("haslo123");
+
+        assertThat(weakHash).startsWith("{bcrypt}");
+        assertThat(strong.matches("haslo123", weakHash)).isTrue();
+        assertThat(strong.upgradeEncoding(weakHash)).isTrue();
+        assertThat(strong.upgradeEncoding(strongHash)).isFalse();
+        assertThat(weak.upgradeEncoding(strongHash)).isFalse();
+        assertThat(argon2.upgradeEncoding(strongHash)).isTrue();
+    }
+
+    @Test
+    void shouldEncodeWithConfiguredAlgorithm() {
+        PasswordEncoder pbkdf2 = PasswordEncoderConfig.passwordEncoder("pbkdf2", 4, 1000, 1024, 1);
+        PasswordEncoder argon2 = PasswordEncoderConfig.passwordEncoder("argon2", 4, 1000, 1024, 1);
+        String pbkdf2Hash = pbkdf2.encode("haslo123");
+        String argon2Hash = argon2.encode("haslo123");
+
+        assertThat(pbkdf2Hash).startsWith("{pbkdf2}");
+        assertThat(argon2Hash).startsWith("{argon2}");
+        assertThat(argon2.matches("haslo123", pbkdf2Hash)).isTrue();
+        assertThat(pbkdf2.matches("haslo123", argon2Hash)).isTrue();
+        assertThat(argon2.upgradeEncoding(argon2Hash)).isFalse();
+    }
+
+    @Test
+    void shouldRejectUnknownEncoder() {
+        assertThatThrownBy(() -> PasswordEncoderConfig.passwordEncoder("md5", 10, 1000, 1024, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
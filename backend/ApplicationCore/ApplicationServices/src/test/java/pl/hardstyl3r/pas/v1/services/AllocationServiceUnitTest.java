@@ -0,0 +1,141 @@
+package pl.hardstyl3r.pas.v1.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.hardstyl3r.pas.appports.AllocationPort;
+import pl.hardstyl3r.pas.appports.ResourcePort;
+import pl.hardstyl3r.pas.appports.UserPort;
+import pl.hardstyl3r.pas.v1.exceptions.InputValidationException;
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.AllocationBatchResult;
+import pl.hardstyl3r.pas.v1.objects.UserRole;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
+import pl.hardstyl3r.pas.v1.objects.resources.Book;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AllocationServiceUnitTest {
+
+    @Mock
+    private AllocationPort allocationPort;
+
+    @Mock
+    private UserPort userPort;
+
+    @Mock
+    private ResourcePort resourcePort;
+
+    private AllocationService service;
+
+    @BeforeEach
+    void setup() {
+        service = new AllocationService(allocationPort, userPort, resourcePort);
+    }
+
+    @Test
+    void shouldCreateOnlyValidItemsAndKeepRequestOrder() {
+        when(userPort.findAllById(anyCollection())).thenReturn(List.of(
+                new UserSummary("u1", "active", "Active", true, UserRole.CLIENT),
+                new UserSummary("u2", "inactive", "Inactive", false, UserRole.CLIENT)));
+        when(resourcePort.findAllById(anyCollection())).thenReturn(List.of(
+                book("r1"), book("r2"), book("r3"), book("r4")));
+        when(allocationPort.findActiveResourceIds(anyCollection())).thenReturn(Set.of("r2"));
+        when(allocationPort.insertAllActive(any())).thenAnswer(invocation -> {
+            List<Allocation> accepted = invocation.getArgument(0);
+            return List.of(AllocationBatchResult.success(0, accepted.get(0)),
+                    AllocationBatchResult.failure(1, "Resource with id r4 is already allocated."));
+        });
+
+        List<AllocationBatchResult> results = service.createAllocations(List.of(
+                new Allocation("u1", "r1"),
+                new Allocation("u1", "r2"),
+                new Allocation("u2", "r3"),
+                new Allocation("u3", "r3"),
+                new Allocation("u1", "missing"),
+                new Allocation("u1", "r1"),
+                new Allocation("u1", "r4")));
+
+        assertThat(results).extracting(AllocationBatchResult::index).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(results.get(0).succeeded()).isTrue();
+        assertThat(results.get(0).allocation().getResourceId()).isEqualTo("r1");
+        assertThat(results.get(1).error()).isEqualTo("Resource with id r2 is already allocated.");
+        assertThat(results.get(2).error()).isEqualTo("User with id u2 is not active.");
+        assertThat(results.get(3).error()).isEqualTo("User with id u3 not found.");
+        assertThat(results.get(4).error()).isEqualTo("Resource with id missing not found.");
+        assertThat(results.get(5).error()).isEqualTo("Resource with id r1 is already allocated.");
+        assertThat(results.get(6).error()).isEqualTo("Resource with id r4 is already allocated.");
+        verify(allocationPort).insertAllActive(argThat(accepted -> accepted.size() == 2));
+    }
+
+    @Test
+    void shouldNotInsertWhenNoItemIsValid() {
+        when(userPort.findAllById(anyCollection())).thenReturn(List.of());
+        when(resourcePort.findAllById(anyCollection())).thenReturn(List.of());
+
+        List<AllocationBatchResult> results = service.createAllocations(List.of(new Allocation("u1", "r1")));
+
+        assertThat(results).singleElement().extracting(AllocationBatchResult::error)
+                .isEqualTo("User with id u1 not found.");
+        verify(allocationPort, never()).insertAllActive(any());
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() {
+        assertThatThrownBy(() -> service.createAllocations(List.of()))
+                .isInstanceOf(InputValidationException.class);
+        assertThatThrownBy(() -> service.endAllocations(List.of()))
+                .isInstanceOf(InputValidationException.class);
+    }
+
+    @Test
+    void shouldReportOnlyAllocationsEndedByThePort() {
+        when(allocationPort.findAllById(anyCollection())).thenReturn(List.of(
+                active("a1"), active("a2"),
+                new Allocation("a3", "u1", "r3", LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1))));
+        // a2 was ended by a concurrent request between the read and the update
+        when(allocationPort.endAll(eq(Set.of("a1", "a2")), any())).thenReturn(Set.of("a1"));
+
+        List<AllocationBatchResult> results = service.endAllocations(List.of("a1", "a2", "a3", "missing", "a1"));
+
+        assertThat(results.get(0).succeeded()).isTrue();
+        assertThat(results.get(0).allocation().getEndTime()).isNotNull();
+        assertThat(results.get(1).error()).isEqualTo("Allocation with id a2 has already been ended.");
+        assertThat(results.get(2).error()).isEqualTo("Allocation with id a3 has already been ended.");
+        assertThat(results.get(3).error()).isEqualTo("Allocation with id missing not found.");
+        assertThat(results.get(4).error()).isEqualTo("Allocation with id a1 has already been ended.");
+    }
+
+    @Test
+    void shouldNotCallPortWhenNothingIsActive() {
+        when(allocationPort.findAllById(anyCollection())).thenReturn(List.of());
+
+        List<AllocationBatchResult> results = service.endAllocations(List.of("missing"));
+
+        assertThat(results).singleElement().extracting(AllocationBatchResult::succeeded).isEqualTo(false);
+        verify(allocationPort, never()).endAll(anyCollection(), any());
+    }
+
+    private static Book book(String id) {
+        return new Book(id, "Book " + id, "Description", "Author", "9788327159779");
+    }
+
+    private static Allocation active(String id) {
+        return new Allocation(id, "u1", "r-" + id, LocalDateTime.now().minusDays(1), null);
+    }
+}
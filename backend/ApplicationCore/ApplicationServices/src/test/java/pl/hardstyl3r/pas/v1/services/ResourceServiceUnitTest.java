@@ -0,0 +1,62 @@
+package pl.hardstyl3r.pas.v1.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.hardstyl3r.pas.appports.AllocationPort;
+import pl.hardstyl3r.pas.appports.ResourcePort;
+import pl.hardstyl3r.pas.v1.exceptions.ResourceInUseException;
+import pl.hardstyl3r.pas.v1.exceptions.ResourceNotFoundException;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceServiceUnitTest {
+
+    @Mock
+    private ResourcePort resourcePort;
+
+    @Mock
+    private AllocationPort allocationPort;
+
+    private ResourceService service;
+
+    @BeforeEach
+    void setup() {
+        service = new ResourceService(resourcePort, allocationPort);
+    }
+
+    @Test
+    void shouldDeleteAfterReleasingStaleReservation() {
+        when(resourcePort.deleteIfUnallocated("r1")).thenReturn(false, true);
+        when(allocationPort.existsByResourceId("r1")).thenReturn(false);
+        when(resourcePort.existsById("r1")).thenReturn(true);
+        when(allocationPort.releaseStaleReservations("r1")).thenReturn(true);
+
+        assertThatCode(() -> service.deleteById("r1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldRejectDeleteWhileAllocationReferencesResource() {
+        when(resourcePort.deleteIfUnallocated("r1")).thenReturn(false);
+        when(allocationPort.existsByResourceId("r1")).thenReturn(true);
+
+        assertThatThrownBy(() -> service.deleteById("r1")).isInstanceOf(ResourceInUseException.class);
+        verify(allocationPort, never()).releaseStaleReservations("r1");
+    }
+
+    @Test
+    void shouldReportMissingResource() {
+        when(resourcePort.deleteIfUnallocated("r1")).thenReturn(false);
+        when(allocationPort.existsByResourceId("r1")).thenReturn(false);
+        when(resourcePort.existsById("r1")).thenReturn(false);
+
+        assertThatThrownBy(() -> service.deleteById("r1")).isInstanceOf(ResourceNotFoundException.class);
+    }
+}
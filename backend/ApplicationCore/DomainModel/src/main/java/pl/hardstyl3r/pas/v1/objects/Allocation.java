@@ -21,6 +21,14 @@ public class Allocation {
         this.endTime = null;
     }
 
+    public Allocation(String id, String userId, String resourceId, LocalDateTime startTime, LocalDateTime endTime) {
+        this.id = id;
+        this.userId = userId;
+        this.resourceId = resourceId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
     public String getId() {
         return id;
     }
@@ -0,0 +1,15 @@
+package pl.hardstyl3r.pas.v1.objects;
+
+public record AllocationBatchResult(int index, Allocation allocation, String error) {
+    public static AllocationBatchResult success(int index, Allocation allocation) {
+        return new AllocationBatchResult(index, allocation, null);
+    }
+
+    public static AllocationBatchResult failure(int index, String error) {
+        return new AllocationBatchResult(index, null, error);
+    }
+
+    public boolean succeeded() {
+        return error == null;
+    }
+}
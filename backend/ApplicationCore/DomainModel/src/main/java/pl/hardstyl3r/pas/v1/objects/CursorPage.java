@@ -0,0 +1,9 @@
+package pl.hardstyl3r.pas.v1.objects;
+
+import java.util.List;
+
+public record CursorPage<T>(List<T> items, String next) {
+    public boolean hasNext() {
+        return next != null;
+    }
+}
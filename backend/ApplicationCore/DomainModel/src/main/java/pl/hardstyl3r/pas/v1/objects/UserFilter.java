@@ -0,0 +1,4 @@
+package pl.hardstyl3r.pas.v1.objects;
+
+public record UserFilter(String username, String name, Boolean active, UserRole role) {
+}
@@ -0,0 +1,4 @@
+package pl.hardstyl3r.pas.v1.objects;
+
+public record UserSummary(String id, String username, String name, boolean active, UserRole role) {
+}
@@ -0,0 +1,21 @@
+package pl.hardstyl3r.pas.v1.objects.resources;
+
+import java.util.List;
+
+/**
+ * The full resource list together with the version of the snapshot it was read from.
+ * Two catalogs with the same non-negative version hold the same resources; {@link #UNVERSIONED}
+ * marks a catalog read straight from the store, which callers must not treat as reusable.
+ * The resources of a versioned catalog are shared with the cache and must not be modified.
+ */
+public record ResourceCatalog(long version, List<Resource> resources) {
+    public static final long UNVERSIONED = -1;
+
+    public static ResourceCatalog unversioned(List<Resource> resources) {
+        return new ResourceCatalog(UNVERSIONED, resources);
+    }
+
+    public boolean versioned() {
+        return version != UNVERSIONED;
+    }
+}
@@ -1,23 +1,37 @@
 package pl.hardstyl3r.pas.v1.viewports;
 
 import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.AllocationBatchResult;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AllocationViewPort {
     List<Allocation> findAll();
 
+    CursorPage<Allocation> findPage(String after, int limit);
+
+    Stream<Allocation> streamAll();
+
     Optional<Allocation> findById(String id);
 
     Allocation createAllocation(String userId, String resourceId);
 
+    List<AllocationBatchResult> createAllocations(List<Allocation> allocations);
+
     Allocation endAllocation(String id);
 
+    List<AllocationBatchResult> endAllocations(List<String> ids);
+
     void deleteById(String id);
 
     List<Allocation> getCurrentAllocationsForUser(String userId);
 
-    List<Allocation> getPastAllocationsForUser(String userId);
+    List<Allocation> getCurrentAllocationsForUsers(Collection<String> userIds);
+
+    CursorPage<Allocation> getPastAllocationsForUser(String userId, String before, int limit);
 }
 
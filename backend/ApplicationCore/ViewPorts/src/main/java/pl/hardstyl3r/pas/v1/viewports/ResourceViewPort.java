@@ -1,15 +1,21 @@
 package pl.hardstyl3r.pas.v1.viewports;
 
 import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.pas.v1.objects.resources.ResourceCatalog;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ResourceViewPort {
     List<Resource> findAll();
 
+    ResourceCatalog getCatalog();
+
     Optional<Resource> findById(String id);
 
+    List<Resource> findByIds(Collection<String> ids);
+
     Resource createResource(CreateResourceCommand command);
 
     Resource updateResource(String id, EditResourceCommand command);
@@ -1,8 +1,12 @@
 package pl.hardstyl3r.pas.v1.viewports;
 
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
 import pl.hardstyl3r.pas.v1.objects.User;
+import pl.hardstyl3r.pas.v1.objects.UserFilter;
 import pl.hardstyl3r.pas.v1.objects.UserRole;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,16 +19,22 @@ public interface UserViewPort {
 
     Optional<User> findUserByUsername(String username);
 
-    List<User> findAll();
+    List<UserSummary> findUsersByIds(Collection<String> ids);
+
+    List<UserSummary> findAll();
 
     void deleteUserById(String id);
 
     void userActivationById(String id, boolean active);
 
-    List<User> searchForUsersByUsername(String search);
+    List<UserSummary> searchForUsersByUsername(String search, int limit);
+
+    CursorPage<UserSummary> findUsersByFilter(UserFilter filter, String after, int limit);
 
     void renameUserById(String id, String newName);
 
     void changePassword(String id, String oldPassword, String newPassword);
+
+    void upgradePasswordEncoding(String username, String encodedPassword);
 }
 
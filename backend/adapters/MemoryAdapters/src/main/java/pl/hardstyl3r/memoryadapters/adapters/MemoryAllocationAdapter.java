@@ -0,0 +1,224 @@
+package pl.hardstyl3r.memoryadapters.adapters;
+
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import pl.hardstyl3r.memoryadapters.mappers.CopyMapper;
+import pl.hardstyl3r.pas.appports.AllocationPort;
+import pl.hardstyl3r.pas.v1.exceptions.InputValidationException;
+import pl.hardstyl3r.pas.v1.exceptions.ResourceInUseException;
+import pl.hardstyl3r.pas.v1.exceptions.ResourceNotFoundException;
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.AllocationBatchResult;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+@Profile("memory")
+public class MemoryAllocationAdapter implements AllocationPort {
+
+    private final MemoryStore store;
+
+    public MemoryAllocationAdapter(MemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Allocation> findAll() {
+        return store.allocations.values().stream()
+                .map(CopyMapper::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public CursorPage<Allocation> findPage(String after, int limit) {
+        if (after != null && !ObjectId.isValid(after)) {
+            throw new InputValidationException("Invalid cursor: " + after);
+        }
+        Collection<Allocation> candidates = after == null
+                ? store.allocations.values()
+                : store.allocations.tailMap(after, false).values();
+        return toPage(candidates.stream(), limit);
+    }
+
+    @Override
+    public Stream<Allocation> streamAll() {
+        return store.allocations.values().stream().map(CopyMapper::copy);
+    }
+
+    @Override
+    public Optional<Allocation> findById(String id) {
+        return Optional.ofNullable(id).map(store.allocations::get).map(CopyMapper::copy);
+    }
+
+    @Override
+    public List<Allocation> findAllById(Collection<String> ids) {
+        return copies(store.allocationsOf(ids.stream().filter(Objects::nonNull).distinct().toList()));
+    }
+
+    @Override
+    public Allocation save(Allocation allocation) {
+        if (allocation.getId() == null) {
+            allocation.setId(new ObjectId().toHexString());
+        }
+        String id = allocation.getId();
+        Allocation stored = CopyMapper.copy(allocation);
+        Allocation previous = store.allocations.get(id);
+        if (previous != null && !previous.getResourceId().equals(stored.getResourceId())) {
+            store.withResource(previous.getResourceId(), allocationIds -> store.removeAllocation(allocationIds, id));
+        }
+        store.withResource(stored.getResourceId(), allocationIds -> {
+            String active = store.activeAllocationIdsByResourceId.get(stored.getResourceId());
+            if (stored.getEndTime() == null && active != null && !active.equals(id)) {
+                throw new DuplicateKeyException("Resource with id " + stored.getResourceId() + " already has an active allocation.");
+            }
+            store.putAllocation(allocationIds, stored);
+            return null;
+        });
+        return allocation;
+    }
+
+    @Override
+    public Allocation insertActive(Allocation allocation) {
+        String id = allocation.getId() == null ? new ObjectId().toHexString() : allocation.getId();
+        String resourceId = allocation.getResourceId();
+        return store.withResource(resourceId, allocationIds -> {
+            if (!store.resources.containsKey(resourceId)) {
+                throw new ResourceNotFoundException("Resource with id " + resourceId + " not found.");
+            }
+            if (store.activeAllocationIdsByResourceId.containsKey(resourceId) || store.allocations.containsKey(id)) {
+                throw new ResourceInUseException("Resource with id " + resourceId + " is already allocated.");
+            }
+            Allocation stored = CopyMapper.copy(allocation, id, null);
+            store.putAllocation(allocationIds, stored);
+            return CopyMapper.copy(stored);
+        });
+    }
+
+    @Override
+    public List<AllocationBatchResult> insertAllActive(List<Allocation> allocations) {
+        List<AllocationBatchResult> results = new ArrayList<>(allocations.size());
+        for (int i = 0; i < allocations.size(); i++) {
+            try {
+                results.add(AllocationBatchResult.success(i, insertActive(allocations.get(i))));
+            } catch (ResourceNotFoundException | ResourceInUseException e) {
+                results.add(AllocationBatchResult.failure(i, e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public Set<String> endAll(Collection<String> ids, LocalDateTime endTime) {
+        Set<String> ended = new HashSet<>();
+        for (String id : ids) {
+            Allocation allocation = store.allocations.get(id);
+            if (allocation == null || allocation.getEndTime() != null) {
+                continue;
+            }
+            store.withResource(allocation.getResourceId(), allocationIds -> {
+                Allocation current = store.allocations.get(id);
+                if (current != null && current.getEndTime() == null) {
+                    store.putAllocation(allocationIds, CopyMapper.copy(current, id, endTime));
+                    ended.add(id);
+                }
+                return null;
+            });
+        }
+        return ended;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        Allocation allocation = id == null ? null : store.allocations.get(id);
+        if (allocation != null) {
+            store.withResource(allocation.getResourceId(), allocationIds -> store.removeAllocation(allocationIds, id));
+        }
+    }
+
+    @Override
+    public boolean existsByResourceIdAndEndTimeIsNull(String resourceId) {
+        return store.activeAllocationIdsByResourceId.containsKey(resourceId);
+    }
+
+    @Override
+    public Set<String> findActiveResourceIds(Collection<String> resourceIds) {
+        return resourceIds.stream()
+                .filter(store.activeAllocationIdsByResourceId::containsKey)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public List<Allocation> findByUserId(String userId) {
+        return copies(store.allocationsOf(allocationIdsOf(userId)));
+    }
+
+    @Override
+    public List<Allocation> findActiveByUserIds(Collection<String> userIds) {
+        return userIds.stream()
+                .distinct()
+                .flatMap(userId -> store.allocationsOf(allocationIdsOf(userId)).stream())
+                .filter(allocation -> allocation.getEndTime() == null)
+                .map(CopyMapper::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Allocation> findActiveByUserId(String userId) {
+        return store.allocationsOf(allocationIdsOf(userId)).stream()
+                .filter(allocation -> allocation.getEndTime() == null)
+                .map(CopyMapper::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public CursorPage<Allocation> findEndedByUserId(String userId, String before, int limit) {
+        if (before != null && !ObjectId.isValid(before)) {
+            throw new InputValidationException("Invalid cursor: " + before);
+        }
+        NavigableSet<String> ids = allocationIdsOf(userId).descendingSet();
+        if (before != null) {
+            ids = ids.tailSet(before, false);
+        }
+        return toPage(ids.stream()
+                .map(store.allocations::get)
+                .filter(allocation -> allocation != null && allocation.getEndTime() != null), limit);
+    }
+
+    @Override
+    public boolean existsByResourceId(String resourceId) {
+        Set<String> ids = store.allocationIdsByResourceId.get(resourceId);
+        return ids != null && !ids.isEmpty();
+    }
+
+    @Override
+    public boolean releaseStaleReservations(String resourceId) {
+        // The store tracks the allocations of each resource directly, so there is nothing to release.
+        return false;
+    }
+
+    private NavigableSet<String> allocationIdsOf(String userId) {
+        NavigableSet<String> ids = userId == null ? null : store.allocationIdsByUserId.get(userId);
+        return ids == null ? Collections.emptyNavigableSet() : ids;
+    }
+
+    private static List<Allocation> copies(List<Allocation> allocations) {
+        return allocations.stream()
+                .map(CopyMapper::copy)
+                .collect(Collectors.toList());
+    }
+
+    private static CursorPage<Allocation> toPage(Stream<Allocation> allocations, int limit) {
+        List<Allocation> page = allocations.limit(limit + 1L)
+                .map(CopyMapper::copy)
+                .collect(Collectors.toList());
+        boolean hasNext = page.size() > limit;
+        List<Allocation> items = hasNext ? page.subList(0, limit) : page;
+        return new CursorPage<>(items, hasNext ? items.getLast().getId() : null);
+    }
+}
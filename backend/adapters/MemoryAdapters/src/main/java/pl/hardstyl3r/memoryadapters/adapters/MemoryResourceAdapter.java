@@ -0,0 +1,82 @@
+package pl.hardstyl3r.memoryadapters.adapters;
+
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import pl.hardstyl3r.memoryadapters.mappers.CopyMapper;
+import pl.hardstyl3r.pas.appports.ResourcePort;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.pas.v1.objects.resources.ResourceCatalog;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Component
+@Profile("memory")
+public class MemoryResourceAdapter implements ResourcePort {
+
+    private final MemoryStore store;
+
+    public MemoryResourceAdapter(MemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Resource> findAll() {
+        return store.resources.values().stream()
+                .map(CopyMapper::copy)
+                .toList();
+    }
+
+    @Override
+    public ResourceCatalog findCatalog() {
+        return ResourceCatalog.unversioned(findAll());
+    }
+
+    @Override
+    public Optional<Resource> findById(String id) {
+        return Optional.ofNullable(id).map(store.resources::get).map(CopyMapper::copy);
+    }
+
+    @Override
+    public List<Resource> findAllById(Collection<String> ids) {
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(store.resources::get)
+                .filter(Objects::nonNull)
+                .map(CopyMapper::copy)
+                .toList();
+    }
+
+    @Override
+    public Resource save(Resource resource) {
+        if (resource.getId() == null) {
+            resource.setId(new ObjectId().toHexString());
+        }
+        store.resources.put(resource.getId(), CopyMapper.copy(resource));
+        return resource;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        if (id != null) {
+            store.resources.remove(id);
+        }
+    }
+
+    @Override
+    public boolean deleteIfUnallocated(String id) {
+        if (id == null) {
+            return false;
+        }
+        return store.withResource(id, allocationIds -> allocationIds.isEmpty() && store.resources.remove(id) != null);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return id != null && store.resources.containsKey(id);
+    }
+}
@@ -0,0 +1,97 @@
+package pl.hardstyl3r.memoryadapters.adapters;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Resource and allocation tables shared by the in-memory adapters. Tables keyed by id are sorted, so cursor
+ * pages follow the same {@code _id} order as in MongoDB.
+ * <p>
+ * Every write touching the allocations of a resource runs inside {@link #withResource}, which serializes it
+ * against other writers of that resource. That is what the unique active-allocation index and the allocation
+ * counter guarantee in the MongoDB adapters.
+ */
+@Component
+@Profile("memory")
+public class MemoryStore {
+
+    final ConcurrentNavigableMap<String, Resource> resources = new ConcurrentSkipListMap<>();
+    final ConcurrentNavigableMap<String, Allocation> allocations = new ConcurrentSkipListMap<>();
+    final ConcurrentMap<String, NavigableSet<String>> allocationIdsByUserId = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, Set<String>> allocationIdsByResourceId = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, String> activeAllocationIdsByResourceId = new ConcurrentHashMap<>();
+
+    /**
+     * Runs {@code action} with exclusive access to the allocation ids of the resource. Exceptions thrown by the
+     * action leave the indexes of that resource untouched as long as nothing was written before throwing.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T withResource(String resourceId, Function<Set<String>, T> action) {
+        Object[] result = new Object[1];
+        allocationIdsByResourceId.compute(resourceId, (key, ids) -> {
+            Set<String> current = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            result[0] = action.apply(current);
+            return current.isEmpty() ? null : current;
+        });
+        return (T) result[0];
+    }
+
+    /**
+     * Stores an allocation and updates its indexes. Must be called from {@link #withResource} of its resource.
+     */
+    void putAllocation(Set<String> resourceAllocationIds, Allocation allocation) {
+        String id = allocation.getId();
+        Allocation previous = allocations.put(id, allocation);
+        resourceAllocationIds.add(id);
+        if (previous != null && !previous.getUserId().equals(allocation.getUserId())) {
+            unindexUser(previous.getUserId(), id);
+        }
+        allocationIdsByUserId.compute(allocation.getUserId(), (key, ids) -> {
+            NavigableSet<String> current = ids == null ? new ConcurrentSkipListSet<>() : ids;
+            current.add(id);
+            return current;
+        });
+        if (allocation.getEndTime() == null) {
+            activeAllocationIdsByResourceId.put(allocation.getResourceId(), id);
+        } else {
+            activeAllocationIdsByResourceId.remove(allocation.getResourceId(), id);
+        }
+    }
+
+    /**
+     * Removes an allocation and its index entries. Must be called from {@link #withResource} of its resource.
+     */
+    Allocation removeAllocation(Set<String> resourceAllocationIds, String id) {
+        Allocation removed = allocations.remove(id);
+        if (removed != null) {
+            resourceAllocationIds.remove(id);
+            activeAllocationIdsByResourceId.remove(removed.getResourceId(), id);
+            unindexUser(removed.getUserId(), id);
+        }
+        return removed;
+    }
+
+    List<Allocation> allocationsOf(Collection<String> ids) {
+        List<Allocation> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Allocation allocation = allocations.get(id);
+            if (allocation != null) {
+                result.add(allocation);
+            }
+        }
+        return result;
+    }
+
+    private void unindexUser(String userId, String id) {
+        allocationIdsByUserId.computeIfPresent(userId, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
@@ -0,0 +1,163 @@
+package pl.hardstyl3r.memoryadapters.adapters;
+
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import pl.hardstyl3r.memoryadapters.mappers.CopyMapper;
+import pl.hardstyl3r.pas.appports.UserPort;
+import pl.hardstyl3r.pas.v1.exceptions.InputValidationException;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
+import pl.hardstyl3r.pas.v1.objects.User;
+import pl.hardstyl3r.pas.v1.objects.UserFilter;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+@Component
+@Profile("memory")
+public class MemoryUserAdapter implements UserPort {
+
+    private final ConcurrentNavigableMap<String, User> users = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, String> idsByUsername = new ConcurrentHashMap<>();
+    // Keyed by lower-cased username followed by the id, so equal names in different case do not collide.
+    private final ConcurrentNavigableMap<String, String> idsByUsernameLower = new ConcurrentSkipListMap<>();
+
+    @Override
+    public List<UserSummary> findAll() {
+        return users.values().stream()
+                .map(CopyMapper::toSummary)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<User> findById(String id) {
+        return Optional.ofNullable(id).map(users::get).map(CopyMapper::copy);
+    }
+
+    @Override
+    public List<UserSummary> findAllById(Collection<String> ids) {
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(CopyMapper::toSummary)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return Optional.ofNullable(username).map(idsByUsername::get).map(users::get).map(CopyMapper::copy);
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return username != null && idsByUsername.containsKey(username);
+    }
+
+    @Override
+    public User save(User user) {
+        if (user.getId() == null) {
+            user.setId(new ObjectId().toHexString());
+        }
+        String id = user.getId();
+        User stored = CopyMapper.copy(user);
+        User[] previous = new User[1];
+        idsByUsername.compute(stored.getUsername(), (username, owner) -> {
+            if (owner != null && !owner.equals(id)) {
+                throw new DuplicateKeyException("User with username " + username + " already exists.");
+            }
+            previous[0] = users.put(id, stored);
+            return id;
+        });
+        if (previous[0] != null) {
+            unindex(previous[0], stored.getUsername());
+        }
+        idsByUsernameLower.put(lowerKey(stored), id);
+        return user;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        User removed = id == null ? null : users.remove(id);
+        if (removed != null) {
+            unindex(removed, null);
+        }
+    }
+
+    @Override
+    public void update(User user) {
+        save(user);
+    }
+
+    @Override
+    public List<UserSummary> searchByUsername(String search, int limit) {
+        String normalized = normalize(search);
+        List<UserSummary> result = new ArrayList<>(idsByUsernameLower
+                .subMap(normalized, normalized + Character.MAX_VALUE).values().stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .limit(limit)
+                .map(CopyMapper::toSummary)
+                .toList());
+        if (result.size() < limit) {
+            Set<String> found = result.stream().map(UserSummary::id).collect(Collectors.toSet());
+            idsByUsernameLower.values().stream()
+                    .filter(id -> !found.contains(id))
+                    .map(users::get)
+                    .filter(user -> user != null && normalize(user.getUsername()).contains(normalized))
+                    .limit(limit - result.size())
+                    .map(CopyMapper::toSummary)
+                    .forEach(result::add);
+        }
+        return result;
+    }
+
+    @Override
+    public CursorPage<UserSummary> findByFilter(UserFilter filter, String after, int limit) {
+        if (after != null && !ObjectId.isValid(after)) {
+            throw new InputValidationException("Invalid cursor: " + after);
+        }
+        Collection<User> candidates = after == null ? users.values() : users.tailMap(after, false).values();
+        List<UserSummary> page = candidates.stream()
+                .filter(matches(filter))
+                .limit(limit + 1L)
+                .map(CopyMapper::toSummary)
+                .collect(Collectors.toList());
+        boolean hasNext = page.size() > limit;
+        List<UserSummary> items = hasNext ? page.subList(0, limit) : page;
+        return new CursorPage<>(items, hasNext ? items.getLast().id() : null);
+    }
+
+    private void unindex(User user, String currentUsername) {
+        if (!user.getUsername().equals(currentUsername)) {
+            idsByUsername.remove(user.getUsername(), user.getId());
+            idsByUsernameLower.remove(lowerKey(user));
+        }
+    }
+
+    private static Predicate<User> matches(UserFilter filter) {
+        if (filter == null) {
+            return user -> true;
+        }
+        return user -> (filter.role() == null || filter.role() == user.getRole())
+                && (filter.active() == null || filter.active() == user.isActive())
+                && (filter.username() == null || user.getUsername().contains(filter.username()))
+                && (filter.name() == null || (user.getName() != null && user.getName().contains(filter.name())));
+    }
+
+    private static String lowerKey(User user) {
+        return normalize(user.getUsername()) + '\u0000' + user.getId();
+    }
+
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
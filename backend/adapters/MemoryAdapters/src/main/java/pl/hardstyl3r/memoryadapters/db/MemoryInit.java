@@ -0,0 +1,84 @@
+package pl.hardstyl3r.memoryadapters.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import pl.hardstyl3r.pas.appports.AllocationPort;
+import pl.hardstyl3r.pas.appports.ResourcePort;
+import pl.hardstyl3r.pas.appports.UserPort;
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.User;
+import pl.hardstyl3r.pas.v1.objects.UserRole;
+import pl.hardstyl3r.pas.v1.objects.resources.Book;
+import pl.hardstyl3r.pas.v1.objects.resources.Newspaper;
+import pl.hardstyl3r.pas.v1.objects.resources.Periodical;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Seeds the in-memory store with the same fixtures as {@code MongoInit}, so the memory profile can be used
+ * with the same accounts and ids.
+ */
+@Component
+@Profile("memory")
+public class MemoryInit implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemoryInit.class);
+
+    private final UserPort userPort;
+    private final ResourcePort resourcePort;
+    private final AllocationPort allocationPort;
+    private final PasswordEncoder passwordEncoder;
+
+    public MemoryInit(UserPort userPort, ResourcePort resourcePort, AllocationPort allocationPort,
+                      PasswordEncoder passwordEncoder) {
+        this.userPort = userPort;
+        this.resourcePort = resourcePort;
+        this.allocationPort = allocationPort;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public void run(String... args) {
+        String password = passwordEncoder.encode("password");
+        List<User> users = List.of(
+                user("60c72b2f9b1e8a3f3c8e4b1a", "rwalczak", password, "Rafał Walczak", false, UserRole.CLIENT),
+                user("60c72b2f9b1e8a3f3c8e4b1b", "ewisniewska", password, "Edyta Wiśniewska", true, UserRole.CLIENT),
+                user("60c72b2f9b1e8a3f3c8e4b1c", "zchmielewska", password, "Zofia Chmielewska", true, UserRole.CLIENT),
+                user("60c72b2f9b1e8a3f3c8e4b1d", "ksawicka", password, "Kinga Sawicka", true, UserRole.CLIENT),
+                user("60c72b2f9b1e8a3f3c8e4b1e", "mzawadzki", password, "Mieczysław Zawadzki", false, UserRole.CLIENT),
+                user("60c72b2f9b1e8a3f3c8e4b1f", "admin", password, "Admin User", true, UserRole.ADMIN),
+                user("60c72b2f9b1e8a3f3c8e4b20", "resource", password, "Resource Manager", true, UserRole.RESOURCE_MANAGER)
+        );
+        users.forEach(userPort::save);
+
+        List<Resource> resources = List.of(
+                new Book("60c72b2f9b1e8a3f3c8e4b2a", "Morderstwo w Orient Expressie", "Herkules Poirot po rozwiązaniu sprawy kryminalnej w Azji wraca do Europy.", "Agatha Christie", "9788327159779"),
+                new Book("60c72b2f9b1e8a3f3c8e4b2b", "Poirot prowadzi śledztwo", "Herkules Poirot łapie przestępców, choć jego samego złapała grypa.", "Agatha Christie", "9788327157188"),
+                new Periodical("60c72b2f9b1e8a3f3c8e4b2c", "CD-Action", "Magazyn o grach komputerowych", 320),
+                new Newspaper("60c72b2f9b1e8a3f3c8e4b2d", "Gazeta Wyborcza", "Gazeta", "2025-11-17")
+        );
+        resources.forEach(resourcePort::save);
+
+        LocalDateTime now = LocalDateTime.now();
+        allocationPort.save(new Allocation("692c9fe56f86670cdd4f55f0", "60c72b2f9b1e8a3f3c8e4b1d",
+                "60c72b2f9b1e8a3f3c8e4b2c", now.minusDays(1), null));
+        allocationPort.save(new Allocation("692c9fe56f86670cdd4f55f1", "60c72b2f9b1e8a3f3c8e4b1a",
+                "60c72b2f9b1e8a3f3c8e4b2a", now.minusDays(10), now.minusDays(5)));
+
+        logger.info("In-memory store has been initialized with {} users, {} resources and 2 allocations.",
+                users.size(), resources.size());
+    }
+
+    private static User user(String id, String username, String password, String name, boolean active, UserRole role) {
+        User user = new User(username, password, name, active);
+        user.setId(id);
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,56 @@
+package pl.hardstyl3r.memoryadapters.mappers;
+
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.User;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
+import pl.hardstyl3r.pas.v1.objects.resources.Book;
+import pl.hardstyl3r.pas.v1.objects.resources.Newspaper;
+import pl.hardstyl3r.pas.v1.objects.resources.Periodical;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain objects are mutable, so the in-memory store keeps its own copies and hands out fresh ones,
+ * just like every MongoDB read returns a new object.
+ */
+public class CopyMapper {
+
+    public static User copy(User user) {
+        return copy(user, user.getId());
+    }
+
+    public static User copy(User user, String id) {
+        User copy = new User(user.getUsername(), user.getPassword(), user.getName(), user.isActive());
+        copy.setId(id);
+        copy.setRole(user.getRole());
+        return copy;
+    }
+
+    public static UserSummary toSummary(User user) {
+        return new UserSummary(user.getId(), user.getUsername(), user.getName(), user.isActive(), user.getRole());
+    }
+
+    public static Resource copy(Resource resource) {
+        return copy(resource, resource.getId());
+    }
+
+    public static Resource copy(Resource resource, String id) {
+        return switch (resource) {
+            case Book book -> new Book(id, book.getName(), book.getDescription(), book.getAuthor(), book.getIsbn());
+            case Periodical periodical ->
+                    new Periodical(id, periodical.getName(), periodical.getDescription(), periodical.getIssueNumber());
+            case Newspaper newspaper ->
+                    new Newspaper(id, newspaper.getName(), newspaper.getDescription(), newspaper.getReleaseDate());
+            default -> throw new IllegalArgumentException("Unknown resource type: " + resource.getClass().getName());
+        };
+    }
+
+    public static Allocation copy(Allocation allocation) {
+        return copy(allocation, allocation.getId(), allocation.getEndTime());
+    }
+
+    public static Allocation copy(Allocation allocation, String id, LocalDateTime endTime) {
+        return new Allocation(id, allocation.getUserId(), allocation.getResourceId(), allocation.getStartTime(), endTime);
+    }
+}
@@ -0,0 +1,155 @@
+package pl.hardstyl3r.memoryadapters.adapters;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.hardstyl3r.pas.v1.exceptions.InputValidationException;
+import pl.hardstyl3r.pas.v1.exceptions.ResourceInUseException;
+import pl.hardstyl3r.pas.v1.exceptions.ResourceNotFoundException;
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.AllocationBatchResult;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
+import pl.hardstyl3r.pas.v1.objects.resources.Book;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemoryAllocationAdapterUnitTest {
+
+    private static final String USER_ID = "60c72b2f9b1e8a3f3c8e4b1d";
+
+    private MemoryResourceAdapter resources;
+    private MemoryAllocationAdapter allocations;
+    private String resourceId;
+
+    @BeforeEach
+    void setup() {
+        MemoryStore store = new MemoryStore();
+        resources = new MemoryResourceAdapter(store);
+        allocations = new MemoryAllocationAdapter(store);
+        resourceId = resources.save(new Book("Book", "Desc", "Author", "9788327159779")).getId();
+    }
+
+    @Test
+    void shouldRejectSecondActiveAllocationOfResource() {
+        allocations.insertActive(new Allocation(USER_ID, resourceId));
+
+        assertThatThrownBy(() -> allocations.insertActive(new Allocation(USER_ID, resourceId)))
+                .isInstanceOf(ResourceInUseException.class);
+        assertThat(allocations.existsByResourceIdAndEndTimeIsNull(resourceId)).isTrue();
+    }
+
+    @Test
+    void shouldRejectAllocationOfMissingResource() {
+        String missing = new ObjectId().toHexString();
+
+        assertThatThrownBy(() -> allocations.insertActive(new Allocation(USER_ID, missing)))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(allocations.findByUserId(USER_ID)).isEmpty();
+    }
+
+    @Test
+    void shouldFreeResourceWhenAllocationEnds() {
+        Allocation first = allocations.insertActive(new Allocation(USER_ID, resourceId));
+
+        assertThat(allocations.endAll(List.of(first.getId()), LocalDateTime.now())).containsExactly(first.getId());
+        assertThat(allocations.endAll(List.of(first.getId()), LocalDateTime.now())).isEmpty();
+
+        assertThat(allocations.existsByResourceIdAndEndTimeIsNull(resourceId)).isFalse();
+        assertThat(allocations.findActiveByUserId(USER_ID)).isEmpty();
+        assertThat(allocations.insertActive(new Allocation(USER_ID, resourceId)).getId()).isNotEqualTo(first.getId());
+    }
+
+    @Test
+    void shouldKeepReferencedResourceUntilAllocationIsDeleted() {
+        Allocation allocation = allocations.insertActive(new Allocation(USER_ID, resourceId));
+
+        assertThat(resources.deleteIfUnallocated(resourceId)).isFalse();
+
+        allocations.deleteById(allocation.getId());
+
+        assertThat(allocations.existsByResourceId(resourceId)).isFalse();
+        assertThat(resources.deleteIfUnallocated(resourceId)).isTrue();
+        assertThat(resources.existsById(resourceId)).isFalse();
+    }
+
+    @Test
+    void shouldNotExposeStoredInstances() {
+        Allocation allocation = allocations.insertActive(new Allocation(USER_ID, resourceId));
+
+        allocations.findById(allocation.getId()).orElseThrow().setEndTime(LocalDateTime.now());
+
+        assertThat(allocations.findById(allocation.getId()).orElseThrow().getEndTime()).isNull();
+        assertThat(allocations.existsByResourceIdAndEndTimeIsNull(resourceId)).isTrue();
+    }
+
+    @Test
+    void shouldReportEachFailedItemOfBatch() {
+        String missing = new ObjectId().toHexString();
+
+        List<AllocationBatchResult> results = allocations.insertAllActive(List.of(
+                new Allocation(USER_ID, resourceId),
+                new Allocation(USER_ID, resourceId),
+                new Allocation(USER_ID, missing)));
+
+        assertThat(results).extracting(AllocationBatchResult::error).containsExactly(
+                null,
+                "Resource with id " + resourceId + " is already allocated.",
+                "Resource with id " + missing + " not found.");
+    }
+
+    @Test
+    void shouldPageEndedAllocationsNewestFirst() {
+        List<String> ended = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Allocation allocation = allocations.insertActive(new Allocation(USER_ID, resourceId));
+            allocations.endAll(List.of(allocation.getId()), LocalDateTime.now());
+            ended.addFirst(allocation.getId());
+        }
+        allocations.insertActive(new Allocation(USER_ID, resourceId));
+
+        CursorPage<Allocation> first = allocations.findEndedByUserId(USER_ID, null, 3);
+        CursorPage<Allocation> second = allocations.findEndedByUserId(USER_ID, first.next(), 3);
+
+        assertThat(first.items()).extracting(Allocation::getId).containsExactlyElementsOf(ended.subList(0, 3));
+        assertThat(second.items()).extracting(Allocation::getId).containsExactlyElementsOf(ended.subList(3, 5));
+        assertThat(second.next()).isNull();
+        assertThatThrownBy(() -> allocations.findEndedByUserId(USER_ID, "not-an-id", 3))
+                .isInstanceOf(InputValidationException.class);
+        assertThatThrownBy(() -> allocations.findPage("not-an-id", 3)).isInstanceOf(InputValidationException.class);
+    }
+
+    @Test
+    void shouldAllowOnlyOneConcurrentAllocationOfResource() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    allocations.insertActive(new Allocation(USER_ID, resourceId));
+                    succeeded.incrementAndGet();
+                } catch (ResourceInUseException ignored) {
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(succeeded).hasValue(1);
+        assertThat(allocations.findActiveByUserId(USER_ID)).hasSize(1);
+    }
+}
@@ -0,0 +1,79 @@
+package pl.hardstyl3r.memoryadapters.adapters;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import pl.hardstyl3r.pas.v1.exceptions.InputValidationException;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
+import pl.hardstyl3r.pas.v1.objects.User;
+import pl.hardstyl3r.pas.v1.objects.UserFilter;
+import pl.hardstyl3r.pas.v1.objects.UserRole;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemoryUserAdapterUnitTest {
+
+    private MemoryUserAdapter users;
+
+    @BeforeEach
+    void setup() {
+        users = new MemoryUserAdapter();
+    }
+
+    @Test
+    void shouldFindUserByUsernameAfterRename() {
+        User user = users.save(new User("ksawicka", "hash", "Kinga Sawicka", true));
+
+        user.setUsername("kinga");
+        users.update(user);
+
+        assertThat(users.findByUsername("ksawicka")).isEmpty();
+        assertThat(users.findByUsername("kinga")).map(User::getId).contains(user.getId());
+        assertThat(users.searchByUsername("ksa", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectDuplicateUsername() {
+        users.save(new User("admin", "hash", "Admin", true));
+
+        assertThatThrownBy(() -> users.save(new User("admin", "hash", "Other", true)))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThat(users.findAll()).hasSize(1);
+    }
+
+    @Test
+    void shouldReturnPrefixMatchesBeforeSubstringMatches() {
+        users.save(new User("bobak", "hash", "B", true));
+        users.save(new User("Abby", "hash", "A", true));
+        users.save(new User("abacki", "hash", "A", true));
+        users.save(new User("kabab", "hash", "K", true));
+
+        assertThat(users.searchByUsername("AB", 10)).extracting(UserSummary::username)
+                .containsExactly("abacki", "Abby", "kabab");
+        assertThat(users.searchByUsername("ab", 2)).extracting(UserSummary::username)
+                .containsExactly("abacki", "Abby");
+    }
+
+    @Test
+    void shouldPageFilteredUsersInIdOrder() {
+        for (int i = 0; i < 5; i++) {
+            User user = new User("client" + i, "hash", "Client " + i, i % 2 == 0);
+            users.save(user);
+        }
+        User manager = new User("manager", "hash", "Manager", true);
+        manager.setRole(UserRole.RESOURCE_MANAGER);
+        users.save(manager);
+        UserFilter filter = new UserFilter("client", null, true, UserRole.CLIENT);
+
+        CursorPage<UserSummary> first = users.findByFilter(filter, null, 2);
+        CursorPage<UserSummary> second = users.findByFilter(filter, first.next(), 2);
+
+        assertThat(first.items()).extracting(UserSummary::username).containsExactly("client0", "client2");
+        assertThat(second.items()).extracting(UserSummary::username).containsExactly("client4");
+        assertThat(second.next()).isNull();
+        assertThatThrownBy(() -> users.findByFilter(filter, "not-an-id", 2))
+                .isInstanceOf(InputValidationException.class);
+    }
+}
@@ -1,22 +1,38 @@
 package pl.hardstyl3r.repoadapters.adapters;
 
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Component;
 import pl.hardstyl3r.pas.appports.AllocationPort;
+import pl.hardstyl3r.pas.v1.exceptions.ResourceInUseException;
+import pl.hardstyl3r.pas.v1.exceptions.ResourceNotFoundException;
 import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.AllocationBatchResult;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
 import pl.hardstyl3r.repoadapters.mappers.AllocationMapper;
+import pl.hardstyl3r.repoadapters.objects.AllocationEnt;
 import pl.hardstyl3r.repoadapters.repositories.AllocationRepository;
+import pl.hardstyl3r.repoadapters.repositories.ResourceRepository;
 
-import java.util.List;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
+@Profile("!memory")
 public class AllocationAdapter implements AllocationPort {
 
     private final AllocationRepository allocationRepository;
+    private final ResourceRepository resourceRepository;
 
-    public AllocationAdapter(AllocationRepository allocationRepository) {
+    public AllocationAdapter(AllocationRepository allocationRepository, ResourceRepository resourceRepository) {
         this.allocationRepository = allocationRepository;
+        this.resourceRepository = resourceRepository;
     }
 
     @Override
@@ -26,19 +42,123 @@ public class AllocationAdapter implements AllocationPort {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPage<Allocation> findPage(String after, int limit) {
+        List<Allocation> allocations = allocationRepository.findPage(after, limit + 1);
+        boolean hasNext = allocations.size() > limit;
+        List<Allocation> items = hasNext ? allocations.subList(0, limit) : allocations;
+        return new CursorPage<>(items, hasNext ? items.getLast().getId() : null);
+    }
+
+    @Override
+    public Stream<Allocation> streamAll() {
+        return allocationRepository.streamAll().map(AllocationMapper::toDomain);
+    }
+
     @Override
     public Optional<Allocation> findById(String id) {
         return allocationRepository.findById(id).map(AllocationMapper::toDomain);
     }
 
+    @Override
+    public List<Allocation> findAllById(Collection<String> ids) {
+        return allocationRepository.findAllById(ids).stream()
+                .map(AllocationMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Allocation save(Allocation allocation) {
         return AllocationMapper.toDomain(allocationRepository.save(AllocationMapper.toEntity(allocation)));
     }
 
+    @Override
+    public Allocation insertActive(Allocation allocation) {
+        // The resource counter is raised before the insert, so a concurrent conditional delete of the
+        // resource either happens first (and the allocation is rejected) or sees the reference.
+        String resourceId = allocation.getResourceId();
+        if (!resourceRepository.incrementAllocationCount(resourceId, 1)) {
+            throw new ResourceNotFoundException("Resource with id " + resourceId + " not found.");
+        }
+        AllocationEnt entity = AllocationMapper.toEntity(allocation);
+        entity.setId(new ObjectId().toHexString());
+        try {
+            return AllocationMapper.toDomain(allocationRepository.insert(entity));
+        } catch (DataIntegrityViolationException e) {
+            // Rejected by the server, so nothing was written.
+            resourceRepository.incrementAllocationCount(resourceId, -1);
+            if (e instanceof DuplicateKeyException) {
+                throw new ResourceInUseException("Resource with id " + resourceId + " is already allocated.");
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            releaseUnwritten(List.of(entity), e);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<AllocationBatchResult> insertAllActive(List<Allocation> allocations) {
+        List<AllocationEnt> entities = allocations.stream()
+                .map(AllocationMapper::toEntity)
+                .collect(Collectors.toList());
+        entities.forEach(entity -> entity.setId(new ObjectId().toHexString()));
+
+        Map<String, Long> reserved = entities.stream()
+                .collect(Collectors.groupingBy(AllocationEnt::getResourceId, Collectors.counting()));
+        resourceRepository.incrementAllocationCounts(reserved);
+        Set<String> existingResourceIds;
+        List<AllocationEnt> toInsert;
+        List<BulkWriteError> failed;
+        try {
+            existingResourceIds = resourceRepository.findExistingIds(reserved.keySet());
+            toInsert = entities.stream()
+                    .filter(entity -> existingResourceIds.contains(entity.getResourceId()))
+                    .toList();
+            failed = toInsert.isEmpty() ? List.of() : allocationRepository.insertAll(toInsert);
+        } catch (RuntimeException e) {
+            releaseUnwritten(entities, e);
+            throw e;
+        }
+
+        Map<String, BulkWriteError> errors = new HashMap<>();
+        for (BulkWriteError error : failed) {
+            errors.put(toInsert.get(error.getIndex()).getId(), error);
+        }
+
+        Map<String, Long> released = new HashMap<>();
+        List<AllocationBatchResult> results = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            AllocationEnt entity = entities.get(i);
+            BulkWriteError error = errors.get(entity.getId());
+            if (!existingResourceIds.contains(entity.getResourceId())) {
+                results.add(AllocationBatchResult.failure(i, "Resource with id " + entity.getResourceId() + " not found."));
+                continue;
+            }
+            if (error == null) {
+                results.add(AllocationBatchResult.success(i, AllocationMapper.toDomain(entity)));
+                continue;
+            }
+            released.merge(entity.getResourceId(), -1L, Long::sum);
+            if (ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+                results.add(AllocationBatchResult.failure(i, "Resource with id " + entity.getResourceId() + " is already allocated."));
+            } else {
+                results.add(AllocationBatchResult.failure(i, error.getMessage()));
+            }
+        }
+        resourceRepository.incrementAllocationCounts(released);
+        return results;
+    }
+
+    @Override
+    public Set<String> endAll(Collection<String> ids, LocalDateTime endTime) {
+        return allocationRepository.endAll(ids, endTime);
+    }
+
     @Override
     public void deleteById(String id) {
-        allocationRepository.deleteById(id);
+        allocationRepository.deleteById(id)
+                .ifPresent(deleted -> resourceRepository.incrementAllocationCount(deleted.getResourceId(), -1));
     }
 
     @Override
@@ -46,6 +166,11 @@ public class AllocationAdapter implements AllocationPort {
         return allocationRepository.existsByResourceIdAndEndTimeIsNull(resourceId);
     }
 
+    @Override
+    public Set<String> findActiveResourceIds(Collection<String> resourceIds) {
+        return new HashSet<>(allocationRepository.findActiveResourceIds(resourceIds));
+    }
+
     @Override
     public List<Allocation> findByUserId(String userId) {
         return allocationRepository.findByUserId(userId).stream()
@@ -54,9 +179,65 @@ public class AllocationAdapter implements AllocationPort {
     }
 
     @Override
-    public List<Allocation> findByResourceId(String resourceId) {
-        return allocationRepository.findByResourceId(resourceId).stream()
+    public List<Allocation> findActiveByUserId(String userId) {
+        return allocationRepository.findActiveByUserId(userId).stream()
+                .map(AllocationMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public CursorPage<Allocation> findEndedByUserId(String userId, String before, int limit) {
+        return toPage(allocationRepository.findEndedByUserId(userId, before, limit + 1), limit);
+    }
+
+    @Override
+    public List<Allocation> findActiveByUserIds(Collection<String> userIds) {
+        return allocationRepository.findActiveByUserIds(userIds).stream()
+                .map(AllocationMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean existsByResourceId(String resourceId) {
+        return allocationRepository.existsByResourceId(resourceId);
+    }
+
+    @Override
+    public boolean releaseStaleReservations(String resourceId) {
+        // The counter is read before the allocations are checked, so a reservation taken in between
+        // changes the value and the conditional reset below leaves it alone.
+        OptionalLong count = resourceRepository.findAllocationCount(resourceId);
+        if (count.isEmpty() || count.getAsLong() <= 0 || allocationRepository.existsByResourceId(resourceId)) {
+            return false;
+        }
+        return resourceRepository.clearAllocationCount(resourceId, count.getAsLong());
+    }
+
+    // A write that failed without a per-document outcome (a timeout, a dropped connection) may have stored
+    // any of the allocations. Reservations are released for those confirmed missing; if even that cannot be
+    // checked they stay, and releaseStaleReservations corrects the counter when the resource is deleted.
+    private void releaseUnwritten(List<AllocationEnt> attempted, RuntimeException failure) {
+        try {
+            Set<String> written = allocationRepository.findAllById(attempted.stream().map(AllocationEnt::getId).toList())
+                    .stream()
+                    .map(AllocationEnt::getId)
+                    .collect(Collectors.toSet());
+            Map<String, Long> released = attempted.stream()
+                    .filter(entity -> !written.contains(entity.getId()))
+                    .collect(Collectors.groupingBy(AllocationEnt::getResourceId, Collectors.summingLong(entity -> -1L)));
+            resourceRepository.incrementAllocationCounts(released);
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static CursorPage<Allocation> toPage(List<AllocationEnt> entities, int limit) {
+        boolean hasNext = entities.size() > limit;
+        List<Allocation> items = entities.stream()
+                .limit(limit)
                 .map(AllocationMapper::toDomain)
                 .collect(Collectors.toList());
+        String next = hasNext ? items.getLast().getId() : null;
+        return new CursorPage<>(items, next);
     }
 }
\ No newline at end of file
@@ -0,0 +1,182 @@
+package pl.hardstyl3r.repoadapters.adapters;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import pl.hardstyl3r.pas.appports.ResourcePort;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.pas.v1.objects.resources.ResourceCatalog;
+import pl.hardstyl3r.repoadapters.mappers.ResourceMapper;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Primary
+@Component
+@Profile("!memory")
+public class CachingResourceAdapter implements ResourcePort {
+
+    private final ResourceAdapter delegate;
+    private final long ttlMs;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CachingResourceAdapter(ResourceAdapter delegate,
+                                  @Value("${pas.cache.resources.ttl-ms:60000}") long ttlMs) {
+        this.delegate = delegate;
+        this.ttlMs = ttlMs;
+    }
+
+    @Override
+    public List<Resource> findAll() {
+        return snapshot().all().stream().map(CachingResourceAdapter::copy).toList();
+    }
+
+    // Every load gets a new version, so a reader may keep whatever it derived from the catalog
+    // (such as the serialized response) for as long as the version stays the same.
+    @Override
+    public ResourceCatalog findCatalog() {
+        Snapshot current = snapshot();
+        return new ResourceCatalog(current.version(), current.all());
+    }
+
+    // Callers such as ResourceService.updateResource mutate the returned objects before saving,
+    // so cached instances are only handed out through the read-only catalog. Lookups by id use the catalog only while it is loaded
+    // and go to the database otherwise, so that a single miss does not read the whole collection.
+    @Override
+    public Optional<Resource> findById(String id) {
+        Snapshot current = loaded();
+        if (current == null) {
+            return delegate.findById(id);
+        }
+        return Optional.ofNullable(current.byId().get(id)).map(CachingResourceAdapter::copy);
+    }
+
+    @Override
+    public List<Resource> findAllById(Collection<String> ids) {
+        Snapshot current = loaded();
+        if (current == null) {
+            return delegate.findAllById(ids);
+        }
+        return ids.stream()
+                .distinct()
+                .map(current.byId()::get)
+                .filter(Objects::nonNull)
+                .map(CachingResourceAdapter::copy)
+                .toList();
+    }
+
+    @Override
+    public Resource save(Resource resource) {
+        try {
+            return delegate.save(resource);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @Override
+    public void deleteById(String id) {
+        try {
+            delegate.deleteById(id);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @Override
+    public boolean deleteIfUnallocated(String id) {
+        try {
+            return delegate.deleteIfUnallocated(id);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        Snapshot current = loaded();
+        return current == null ? delegate.existsById(id) : current.byId().containsKey(id);
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot.set(null);
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public int size() {
+        Snapshot current = snapshot.get();
+        return current == null ? 0 : current.all().size();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = fresh();
+        if (current != null) {
+            hits.incrementAndGet();
+            return current;
+        }
+        // One reload at a time; callers that queued behind it take the catalog it loaded.
+        reloadLock.lock();
+        try {
+            current = fresh();
+            if (current != null) {
+                hits.incrementAndGet();
+                return current;
+            }
+            misses.incrementAndGet();
+
+            long loadedAt = generation.get();
+            List<Resource> all = List.copyOf(delegate.findAll());
+            Map<String, Resource> byId = all.stream()
+                    .collect(Collectors.toUnmodifiableMap(Resource::getId, Function.identity()));
+            Snapshot loaded = new Snapshot(versions.incrementAndGet(), all, byId, System.currentTimeMillis() + ttlMs);
+
+            snapshot.set(loaded);
+            if (generation.get() != loadedAt) {
+                snapshot.compareAndSet(loaded, null);
+            }
+            return loaded;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Snapshot loaded() {
+        Snapshot current = fresh();
+        if (current == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return current;
+    }
+
+    private Snapshot fresh() {
+        Snapshot current = snapshot.get();
+        return current != null && current.expiresAt() > System.currentTimeMillis() ? current : null;
+    }
+
+    private static Resource copy(Resource resource) {
+        return ResourceMapper.toDomain(ResourceMapper.toEntity(resource));
+    }
+
+    private record Snapshot(long version, List<Resource> all, Map<String, Resource> byId, long expiresAt) {
+    }
+}
@@ -1,16 +1,20 @@
 package pl.hardstyl3r.repoadapters.adapters;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import pl.hardstyl3r.pas.appports.ResourcePort;
 import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.pas.v1.objects.resources.ResourceCatalog;
 import pl.hardstyl3r.repoadapters.mappers.ResourceMapper;
 import pl.hardstyl3r.repoadapters.repositories.ResourceRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
+@Profile("!memory")
 public class ResourceAdapter implements ResourcePort {
 
     private final ResourceRepository resourceRepository;
@@ -21,9 +25,12 @@ public class ResourceAdapter implements ResourcePort {
 
     @Override
     public List<Resource> findAll() {
-        return resourceRepository.findAll().stream()
-                .map(ResourceMapper::toDomain)
-                .collect(Collectors.toList());
+        return resourceRepository.findAll();
+    }
+
+    @Override
+    public ResourceCatalog findCatalog() {
+        return ResourceCatalog.unversioned(findAll());
     }
 
     @Override
@@ -31,6 +38,13 @@ public class ResourceAdapter implements ResourcePort {
         return resourceRepository.findById(id).map(ResourceMapper::toDomain);
     }
 
+    @Override
+    public List<Resource> findAllById(Collection<String> ids) {
+        return resourceRepository.findAllById(ids).stream()
+                .map(ResourceMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Resource save(Resource resource) {
         return ResourceMapper.toDomain(resourceRepository.save(ResourceMapper.toEntity(resource)));
@@ -41,6 +55,11 @@ public class ResourceAdapter implements ResourcePort {
         resourceRepository.deleteById(id);
     }
 
+    @Override
+    public boolean deleteIfUnallocated(String id) {
+        return resourceRepository.deleteIfUnallocated(id);
+    }
+
     @Override
     public boolean existsById(String id) {
         return resourceRepository.existsById(id);
@@ -1,16 +1,24 @@
 package pl.hardstyl3r.repoadapters.adapters;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import pl.hardstyl3r.pas.appports.UserPort;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
 import pl.hardstyl3r.pas.v1.objects.User;
+import pl.hardstyl3r.pas.v1.objects.UserFilter;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
+import pl.hardstyl3r.repoadapters.mappers.UserFilterMapper;
 import pl.hardstyl3r.repoadapters.mappers.UserMapper;
+import pl.hardstyl3r.repoadapters.objects.UserSummaryEnt;
 import pl.hardstyl3r.repoadapters.repositories.UserRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
+@Profile("!memory")
 public class UserAdapter implements UserPort {
 
     private final UserRepository userRepository;
@@ -20,10 +28,8 @@ public class UserAdapter implements UserPort {
     }
 
     @Override
-    public List<User> findAll() {
-        return userRepository.findAll().stream()
-                .map(UserMapper::toDomain)
-                .collect(Collectors.toList());
+    public List<UserSummary> findAll() {
+        return userRepository.findAll();
     }
 
     @Override
@@ -31,6 +37,13 @@ public class UserAdapter implements UserPort {
         return userRepository.findById(id).map(UserMapper::toDomain);
     }
 
+    @Override
+    public List<UserSummary> findAllById(Collection<String> ids) {
+        return userRepository.findAllById(ids).stream()
+                .map(UserMapper::toSummary)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username).map(UserMapper::toDomain);
@@ -57,9 +70,21 @@ public class UserAdapter implements UserPort {
     }
 
     @Override
-    public List<User> findByUsernameContaining(String search) {
-        return userRepository.findByUsernameContaining(search).stream()
-                .map(UserMapper::toDomain)
+    public List<UserSummary> searchByUsername(String search, int limit) {
+        return userRepository.searchByUsername(search, limit).stream()
+                .map(UserMapper::toSummary)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public CursorPage<UserSummary> findByFilter(UserFilter filter, String after, int limit) {
+        List<UserSummaryEnt> entities = userRepository.findPage(UserFilterMapper.toCriteria(filter), after, limit + 1);
+        boolean hasNext = entities.size() > limit;
+        List<UserSummary> items = entities.stream()
+                .limit(limit)
+                .map(UserMapper::toSummary)
                 .collect(Collectors.toList());
+        String next = hasNext ? items.getLast().id() : null;
+        return new CursorPage<>(items, next);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package pl.hardstyl3r.repoadapters.codecs;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+
+import java.time.LocalDateTime;
+
+public class AllocationCodec implements Codec<Allocation> {
+
+    @Override
+    public Allocation decode(BsonReader reader, DecoderContext decoderContext) {
+        String id = null;
+        String userId = null;
+        String resourceId = null;
+        LocalDateTime startTime = null;
+        LocalDateTime endTime = null;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id" -> id = ReadModelCodecs.readId(reader);
+                case "userId" -> userId = ReadModelCodecs.readString(reader);
+                case "resourceId" -> resourceId = ReadModelCodecs.readString(reader);
+                case "startTime" -> startTime = ReadModelCodecs.readDateTime(reader);
+                case "endTime" -> endTime = ReadModelCodecs.readDateTime(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return new Allocation(id, userId, resourceId, startTime, endTime);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Allocation value, EncoderContext encoderContext) {
+        throw new UnsupportedOperationException("Allocations are written through AllocationRepository.");
+    }
+
+    @Override
+    public Class<Allocation> getEncoderClass() {
+        return Allocation.class;
+    }
+}
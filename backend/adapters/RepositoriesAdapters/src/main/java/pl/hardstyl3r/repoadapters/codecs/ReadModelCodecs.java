@@ -0,0 +1,99 @@
+package pl.hardstyl3r.repoadapters.codecs;
+
+import com.mongodb.client.MongoCollection;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Read-only codecs for the large list endpoints. They decode BSON directly into the objects the API returns,
+ * skipping the entity classes and Spring Data's reflective mapping. They mirror the way {@code MappingMongoConverter}
+ * writes documents: ObjectId ids, enum names, and {@code LocalDateTime} stored as a date in the system zone.
+ */
+public final class ReadModelCodecs {
+
+    public static final CodecRegistry REGISTRY = CodecRegistries.fromCodecs(
+            new UserSummaryCodec(), new ResourceCodec(), new AllocationCodec());
+
+    private ReadModelCodecs() {
+    }
+
+    public static <T> MongoCollection<T> readModel(MongoCollection<Document> collection, Class<T> type) {
+        return collection.withCodecRegistry(CodecRegistries.fromRegistries(REGISTRY, collection.getCodecRegistry()))
+                .withDocumentClass(type);
+    }
+
+    static String readId(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case OBJECT_ID -> reader.readObjectId().toHexString();
+            case STRING -> reader.readString();
+            default -> {
+                reader.skipValue();
+                yield null;
+            }
+        };
+    }
+
+    static String readString(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.STRING) {
+            return reader.readString();
+        }
+        reader.skipValue();
+        return null;
+    }
+
+    static boolean readBoolean(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.BOOLEAN) {
+            return reader.readBoolean();
+        }
+        reader.skipValue();
+        return false;
+    }
+
+    /**
+     * Reads an enum stored by name. A null, a non-string value or a name the enum does not know reads as
+     * {@code fallback}, so that a single odd document does not fail the whole list.
+     */
+    static <E extends Enum<E>> E readEnum(BsonReader reader, Class<E> type, E fallback) {
+        String name = readString(reader);
+        if (name == null) {
+            return fallback;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Reads any numeric type, as {@code MappingMongoConverter} does for an {@code int} property, so that a value
+     * written as Int64 or Double by another client does not fail the whole list. Anything else reads as 0.
+     */
+    static int readInt(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> (int) reader.readInt64();
+            case DOUBLE -> (int) reader.readDouble();
+            case DECIMAL128 -> reader.readDecimal128().intValue();
+            default -> {
+                reader.skipValue();
+                yield 0;
+            }
+        };
+    }
+
+    static LocalDateTime readDateTime(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.DATE_TIME) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(reader.readDateTime()), ZoneId.systemDefault());
+        }
+        reader.skipValue();
+        return null;
+    }
+}
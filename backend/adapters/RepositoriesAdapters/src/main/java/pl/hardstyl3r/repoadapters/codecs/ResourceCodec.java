@@ -0,0 +1,72 @@
+package pl.hardstyl3r.repoadapters.codecs;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import pl.hardstyl3r.pas.v1.objects.resources.Book;
+import pl.hardstyl3r.pas.v1.objects.resources.Newspaper;
+import pl.hardstyl3r.pas.v1.objects.resources.Periodical;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.repoadapters.objects.resources.BookEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.NewspaperEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.PeriodicalEnt;
+
+/**
+ * Decodes resource documents written by Spring Data straight into domain resources, using the
+ * {@code _class} discriminator to pick the subtype. Documents without a known type decode to {@code null};
+ * {@link pl.hardstyl3r.repoadapters.repositories.ResourceRepository#findAll} skips and logs them.
+ */
+public class ResourceCodec implements Codec<Resource> {
+
+    @Override
+    public Resource decode(BsonReader reader, DecoderContext decoderContext) {
+        String type = null;
+        String id = null;
+        String name = null;
+        String description = null;
+        String author = null;
+        String isbn = null;
+        int issueNumber = 0;
+        String releaseDate = null;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_class" -> type = ReadModelCodecs.readString(reader);
+                case "_id" -> id = ReadModelCodecs.readId(reader);
+                case "name" -> name = ReadModelCodecs.readString(reader);
+                case "description" -> description = ReadModelCodecs.readString(reader);
+                case "author" -> author = ReadModelCodecs.readString(reader);
+                case "isbn" -> isbn = ReadModelCodecs.readString(reader);
+                case "issueNumber" -> issueNumber = ReadModelCodecs.readInt(reader);
+                case "releaseDate" -> releaseDate = ReadModelCodecs.readString(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        if (BookEnt.class.getName().equals(type)) {
+            return new Book(id, name, description, author, isbn);
+        }
+        if (PeriodicalEnt.class.getName().equals(type)) {
+            return new Periodical(id, name, description, issueNumber);
+        }
+        if (NewspaperEnt.class.getName().equals(type)) {
+            return new Newspaper(id, name, description, releaseDate);
+        }
+        return null;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Resource value, EncoderContext encoderContext) {
+        throw new UnsupportedOperationException("Resources are written through ResourceRepository.save.");
+    }
+
+    @Override
+    public Class<Resource> getEncoderClass() {
+        return Resource.class;
+    }
+}
@@ -0,0 +1,46 @@
+package pl.hardstyl3r.repoadapters.codecs;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import pl.hardstyl3r.pas.v1.objects.UserRole;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
+
+public class UserSummaryCodec implements Codec<UserSummary> {
+
+    @Override
+    public UserSummary decode(BsonReader reader, DecoderContext decoderContext) {
+        String id = null;
+        String username = null;
+        String name = null;
+        boolean active = false;
+        UserRole role = UserRole.CLIENT;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id" -> id = ReadModelCodecs.readId(reader);
+                case "username" -> username = ReadModelCodecs.readString(reader);
+                case "name" -> name = ReadModelCodecs.readString(reader);
+                case "active" -> active = ReadModelCodecs.readBoolean(reader);
+                case "role" -> role = ReadModelCodecs.readEnum(reader, UserRole.class, UserRole.CLIENT);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return new UserSummary(id, username, name, active, role);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, UserSummary value, EncoderContext encoderContext) {
+        throw new UnsupportedOperationException("UserSummary is a read model and cannot be written.");
+    }
+
+    @Override
+    public Class<UserSummary> getEncoderClass() {
+        return UserSummary.class;
+    }
+}
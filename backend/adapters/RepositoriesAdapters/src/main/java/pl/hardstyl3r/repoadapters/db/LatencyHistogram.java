@@ -0,0 +1,85 @@
+package pl.hardstyl3r.repoadapters.db;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with fixed millisecond buckets, cheap enough to record from driver event callbacks.
+ */
+public class LatencyHistogram {
+
+    static final long[] BUCKET_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_MILLIS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        buckets[bucketOf(nanos)].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    static int bucketOf(long nanos) {
+        for (int i = 0; i < BUCKET_MILLIS.length; i++) {
+            if (nanos <= TimeUnit.MILLISECONDS.toNanos(BUCKET_MILLIS[i])) {
+                return i;
+            }
+        }
+        return BUCKET_MILLIS.length;
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        Map<String, Long> cumulative = new LinkedHashMap<>();
+        long running = 0;
+        for (int i = 0; i < counts.length; i++) {
+            running += counts[i];
+            cumulative.put(i < BUCKET_MILLIS.length ? String.valueOf(BUCKET_MILLIS[i]) : "+Inf", running);
+        }
+        double meanMillis = total == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / total;
+        return new Snapshot(total, meanMillis, maxNanos.get() / 1_000_000.0,
+                percentile(counts, total, 0.5), percentile(counts, total, 0.99), cumulative);
+    }
+
+    /**
+     * Upper bound of the bucket holding the given quantile; -1 when it falls into the overflow bucket.
+     */
+    private static long percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        long running = 0;
+        for (int i = 0; i < BUCKET_MILLIS.length; i++) {
+            running += counts[i];
+            if (running >= rank) {
+                return BUCKET_MILLIS[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param buckets cumulative counts keyed by the bucket's upper bound in milliseconds
+     */
+    public record Snapshot(long count, double meanMillis, double maxMillis, long p50Millis, long p99Millis,
+                           Map<String, Long> buckets) {
+    }
+}
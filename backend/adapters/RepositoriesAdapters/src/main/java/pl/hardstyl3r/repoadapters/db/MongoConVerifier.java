@@ -12,7 +12,7 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 @Component
-@Profile("!test")
+@Profile("!test & !memory")
 public class MongoConVerifier implements ApplicationRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(MongoConVerifier.class);
@@ -1,13 +1,39 @@
 package pl.hardstyl3r.repoadapters.db;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import com.mongodb.connection.ConnectionPoolSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoDatabase;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.WriteConcernResolver;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import pl.hardstyl3r.repoadapters.objects.AllocationEnt;
+import pl.hardstyl3r.repoadapters.objects.UserEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.ResourceEnt;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The single {@link MongoClient} of the application. Spring Boot's auto-configuration backs off when this bean
+ * exists, so {@link MongoTemplate}, the repositories and {@link MongoDatabase} all share one connection pool.
+ * Settings from the connection string are applied first; a {@code pas.mongodb.pool.*} property overrides them only
+ * when it is set, otherwise the connection string or the driver default stays in effect.
+ */
 @Configuration
+@Profile("!memory")
 public class MongoConfig {
 
     @Value("${spring.data.mongodb.uri}")
@@ -16,9 +42,137 @@ public class MongoConfig {
     @Value("${spring.data.mongodb.database}")
     private String databaseName;
 
+    @Value("${pas.mongodb.pool.max-size:#{null}}")
+    private Integer maxSize;
+
+    @Value("${pas.mongodb.pool.min-size:#{null}}")
+    private Integer minSize;
+
+    @Value("${pas.mongodb.pool.max-wait-ms:#{null}}")
+    private Long maxWaitMs;
+
+    @Value("${pas.mongodb.pool.max-idle-ms:#{null}}")
+    private Long maxIdleMs;
+
+    @Value("${pas.mongodb.pool.connect-timeout-ms:#{null}}")
+    private Long connectTimeoutMs;
+
+    @Value("${pas.mongodb.pool.socket-timeout-ms:#{null}}")
+    private Long socketTimeoutMs;
+
+    @Value("${pas.mongodb.pool.read-preference:#{null}}")
+    private String readPreference;
+
+    @Value("${pas.mongodb.pool.write-concern.default:#{null}}")
+    private String defaultWriteConcern;
+
+    @Value("${pas.mongodb.pool.write-concern.users:${pas.mongodb.pool.write-concern.default:#{null}}}")
+    private String usersWriteConcern;
+
+    @Value("${pas.mongodb.pool.write-concern.resources:${pas.mongodb.pool.write-concern.default:#{null}}}")
+    private String resourcesWriteConcern;
+
+    @Value("${pas.mongodb.pool.write-concern.allocations:${pas.mongodb.pool.write-concern.default:#{null}}}")
+    private String allocationsWriteConcern;
+
+    @Bean
+    public MongoPoolMetrics mongoPoolMetrics() {
+        ConnectionPoolSettings.Builder pool = ConnectionPoolSettings.builder()
+                .applyConnectionString(new ConnectionString(connectionString));
+        applyPoolSettings(pool);
+        return new MongoPoolMetrics(pool.build().getMaxSize());
+    }
+
     @Bean
-    public MongoDatabase mongoDatabase() {
-        MongoClient mongoClient = MongoClients.create(connectionString);
+    public MongoClient mongoClient(MongoPoolMetrics mongoPoolMetrics, ObjectProvider<Tracer> tracer) {
+        return MongoClients.create(clientSettings(mongoPoolMetrics, tracer.getIfAvailable(() -> Tracer.NOOP)));
+    }
+
+    @Bean
+    public MongoDatabase mongoDatabase(MongoClient mongoClient) {
         return mongoClient.getDatabase(databaseName);
     }
+
+    @Bean
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory mongoDatabaseFactory, MongoConverter mongoConverter) {
+        MongoTemplate mongoTemplate = new MongoTemplate(mongoDatabaseFactory, mongoConverter);
+        Map<Class<?>, WriteConcern> concernsByEntity = new HashMap<>();
+        if (usersWriteConcern != null) {
+            concernsByEntity.put(UserEnt.class, writeConcern(usersWriteConcern));
+        }
+        if (resourcesWriteConcern != null) {
+            concernsByEntity.put(ResourceEnt.class, writeConcern(resourcesWriteConcern));
+        }
+        if (allocationsWriteConcern != null) {
+            concernsByEntity.put(AllocationEnt.class, writeConcern(allocationsWriteConcern));
+        }
+        mongoTemplate.setWriteConcernResolver(writeConcernResolver(
+                defaultWriteConcern == null ? null : writeConcern(defaultWriteConcern), concernsByEntity));
+        return mongoTemplate;
+    }
+
+    MongoClientSettings clientSettings(MongoPoolMetrics mongoPoolMetrics, Tracer tracer) {
+        MongoClientSettings.Builder settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(connectionString))
+                .applyToConnectionPoolSettings(pool -> {
+                    applyPoolSettings(pool);
+                    pool.addConnectionPoolListener(mongoPoolMetrics);
+                })
+                .applyToSocketSettings(socket -> {
+                    if (connectTimeoutMs != null) {
+                        socket.connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS);
+                    }
+                    if (socketTimeoutMs != null) {
+                        socket.readTimeout(socketTimeoutMs, TimeUnit.MILLISECONDS);
+                    }
+                })
+                .addCommandListener(mongoPoolMetrics)
+                .addCommandListener(new MongoTracingCommandListener(tracer));
+        if (readPreference != null) {
+            settings.readPreference(ReadPreference.valueOf(readPreference));
+        }
+        return settings.build();
+    }
+
+    private void applyPoolSettings(ConnectionPoolSettings.Builder pool) {
+        if (maxSize != null) {
+            pool.maxSize(maxSize);
+        }
+        if (minSize != null) {
+            pool.minSize(minSize);
+        }
+        if (maxWaitMs != null) {
+            pool.maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS);
+        }
+        if (maxIdleMs != null) {
+            pool.maxConnectionIdleTime(maxIdleMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    static WriteConcern writeConcern(String name) {
+        WriteConcern writeConcern = WriteConcern.valueOf(name);
+        if (writeConcern == null) {
+            throw new IllegalArgumentException("Unknown MongoDB write concern: " + name);
+        }
+        return writeConcern;
+    }
+
+    /**
+     * Picks the write concern by the entity being written; writes without a mapped entity use the default, and
+     * without a default the one of the collection, i.e. from the connection string.
+     */
+    static WriteConcernResolver writeConcernResolver(WriteConcern defaultConcern,
+                                                     Map<Class<?>, WriteConcern> concernsByEntity) {
+        return action -> {
+            Class<?> entityType = action.getEntityType();
+            if (entityType != null) {
+                for (Map.Entry<Class<?>, WriteConcern> entry : concernsByEntity.entrySet()) {
+                    if (entry.getKey().isAssignableFrom(entityType)) {
+                        return entry.getValue();
+                    }
+                }
+            }
+            return defaultConcern != null ? defaultConcern : action.getDefaultWriteConcern();
+        };
+    }
 }
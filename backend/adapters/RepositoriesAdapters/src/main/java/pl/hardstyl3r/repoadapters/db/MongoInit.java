@@ -1,12 +1,11 @@
 package pl.hardstyl3r.repoadapters.db;
 
 import com.mongodb.MongoCommandException;
-import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.CreateCollectionOptions;
-import com.mongodb.client.model.IndexOptions;
-import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.ValidationOptions;
+import com.mongodb.client.result.UpdateResult;
 import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,16 +21,14 @@ import pl.hardstyl3r.repoadapters.objects.resources.BookEnt;
 import pl.hardstyl3r.repoadapters.objects.resources.NewspaperEnt;
 import pl.hardstyl3r.repoadapters.objects.resources.PeriodicalEnt;
 import pl.hardstyl3r.repoadapters.objects.resources.ResourceEnt;
-import pl.hardstyl3r.repoadapters.repositories.AllocationRepository;
 import pl.hardstyl3r.repoadapters.repositories.ResourceRepository;
-import pl.hardstyl3r.repoadapters.repositories.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
 @Component
-@Profile("!test")
+@Profile("!test & !memory")
 public class MongoInit implements CommandLineRunner {
 
     private final MongoTemplate mongoTemplate;
@@ -39,28 +36,29 @@ public class MongoInit implements CommandLineRunner {
     private final String usersCollectionName;
     private final String resourcesCollectionName;
     private final String allocationsCollectionName;
-    private final UserRepository userRepository;
     private final ResourceRepository resourceRepository;
-    private final AllocationRepository allocationRepository;
     private final PasswordEncoder passwordEncoder;
+    private final SeedWriter seedWriter;
+    private final int seedScale;
+    private static final int SEED_BATCH_SIZE = 1000;
     private static final Logger logger = LoggerFactory.getLogger(MongoInit.class);
 
     @Autowired
     public MongoInit(MongoTemplate mongoTemplate,
                      MongoDatabase mongoDatabase,
-                     UserRepository userRepository,
                      ResourceRepository resourceRepository,
-                     AllocationRepository allocationRepository,
                      PasswordEncoder passwordEncoder,
+                     SeedWriter seedWriter,
+                     @Value("${seed-scale:0}") int seedScale,
                      @Value("${pas.mongodb.collection.resources}") String resourcesCollectionName,
                      @Value("${pas.mongodb.collection.users}") String usersCollectionName,
                      @Value("${pas.mongodb.collection.allocations}") String allocationsCollectionName) {
         this.mongoTemplate = mongoTemplate;
         this.mongoDatabase = mongoDatabase;
-        this.userRepository = userRepository;
         this.resourceRepository = resourceRepository;
-        this.allocationRepository = allocationRepository;
         this.passwordEncoder = passwordEncoder;
+        this.seedWriter = seedWriter;
+        this.seedScale = seedScale;
         this.resourcesCollectionName = resourcesCollectionName;
         this.usersCollectionName = usersCollectionName;
         this.allocationsCollectionName = allocationsCollectionName;
@@ -68,22 +66,91 @@ public class MongoInit implements CommandLineRunner {
 
     @Override
     public void run(String... args) {
+        long started = System.nanoTime();
         initUsers();
-        initResources();
-        initAllocations();
+        boolean inserted = initResources();
+        inserted |= initAllocations();
+        if (seedScale > 0) {
+            inserted |= seedScale(new SeedGenerator(seedScale, LocalDateTime.now()));
+        }
+        // Documents written by the seeder bypass the adapters, so the allocation counters are rebuilt.
+        if (inserted) {
+            resourceRepository.recountAllocations();
+        }
+        logger.info("Database initialization finished in {} ms.", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Creates the collection or, if it already exists, replaces its validator in place. Existing documents are kept.
+     */
+    private void ensureCollection(String collectionName, Document validator) {
+        if (!mongoTemplate.collectionExists(collectionName)) {
+            ValidationOptions validationOptions = new ValidationOptions().validator(validator);
+            try {
+                mongoDatabase.createCollection(collectionName, new CreateCollectionOptions().validationOptions(validationOptions));
+                return;
+            } catch (MongoCommandException e) {
+                if (e.getCode() != 48) throw e;
+            }
+        }
+        mongoDatabase.runCommand(new Document("collMod", collectionName).append("validator", validator));
+    }
+
+    /**
+     * Users written before {@code usernameLower} and {@code usernameTrigrams} existed are invisible to the username
+     * search. Touches only documents without the trigrams, so it is a no-op once migrated.
+     */
+    private void backfillUsernameKeys() {
+        Document starts = new Document("$range", List.of(0,
+                new Document("$max", List.of(0, new Document("$subtract",
+                        List.of(new Document("$strLenCP", "$usernameLower"), UserEnt.TRIGRAM - 1))))));
+        Document trigrams = new Document("$setUnion", List.of(new Document("$map", new Document("input", starts)
+                .append("as", "i")
+                .append("in", new Document("$substrCP", List.of("$usernameLower", "$$i", UserEnt.TRIGRAM))))));
+        UpdateResult result = mongoDatabase.getCollection(usersCollectionName).updateMany(
+                Filters.exists("usernameTrigrams", false),
+                List.of(new Document("$set", new Document("usernameLower", new Document("$toLower", "$username"))),
+                        new Document("$set", new Document("usernameTrigrams", trigrams))));
+        if (result.getModifiedCount() > 0) {
+            logger.info("Backfilled username search keys on {} users.", result.getModifiedCount());
+        }
+    }
+
+    private void encodePasswords(List<UserEnt> users) {
+        users.parallelStream().forEach(user -> user.setPassword(passwordEncoder.encode(user.getPassword())));
     }
 
-    private void createCollectionWithSchemaValidation(String collectionName, Document validator) {
-        if (mongoTemplate.collectionExists(collectionName)) {
-            mongoTemplate.dropCollection(collectionName);
+    private boolean seedScale(SeedGenerator generator) {
+        int scale = generator.scale();
+        int users = seedBatches(UserEnt.class, SeedGenerator.userId(scale - 1), scale, (from, to) -> {
+            List<UserEnt> missing = seedWriter.missing(UserEnt.class, generator.users(from, to), UserEnt::getId);
+            encodePasswords(missing);
+            return seedWriter.insertAll(UserEnt.class, missing);
+        });
+        int resources = seedBatches(ResourceEnt.class, SeedGenerator.resourceId(scale - 1), scale, (from, to) ->
+                seedWriter.insertAll(ResourceEnt.class,
+                        seedWriter.missing(ResourceEnt.class, generator.resources(from, to), ResourceEnt::getId)));
+        int allocations = seedBatches(AllocationEnt.class, SeedGenerator.allocationId(scale - 1), scale, (from, to) ->
+                seedWriter.insertAll(AllocationEnt.class,
+                        seedWriter.missing(AllocationEnt.class, generator.allocations(from, to), AllocationEnt::getId)));
+        logger.info("Seeded scale {}: inserted {} users, {} resources and {} allocations.", scale, users, resources, allocations);
+        return resources + allocations > 0;
+    }
+
+    private int seedBatches(Class<?> type, String lastId, int scale, BatchSeeder seeder) {
+        // Batches are written in order, so the last document existing means an earlier run completed.
+        if (seedWriter.exists(type, lastId)) {
+            return 0;
         }
-        ValidationOptions validationOptions = new ValidationOptions().validator(validator);
-        try {
-            mongoDatabase.createCollection(collectionName, new CreateCollectionOptions().validationOptions(validationOptions));
-        } catch (MongoCommandException e) {
-            if (e.getCode() == 48) logger.warn("Collection {} already exists. Skipping creation.", collectionName);
-            else throw e;
+        int inserted = 0;
+        for (int from = 0; from < scale; from += SEED_BATCH_SIZE) {
+            inserted += seeder.seed(from, Math.min(scale, from + SEED_BATCH_SIZE));
         }
+        return inserted;
+    }
+
+    private interface BatchSeeder {
+        int seed(int from, int to);
     }
 
     private void initUsers() {
@@ -98,45 +165,45 @@ public class MongoInit implements CommandLineRunner {
                                 .append("role", new Document("bsonType", "string").append("description", "must be a string and is required"))
                         )
         );
-        createCollectionWithSchemaValidation(usersCollectionName, userSchema);
-        MongoCollection<Document> usersCollection = mongoTemplate.getCollection(usersCollectionName);
-        usersCollection.createIndex(Indexes.ascending("username"), new IndexOptions().unique(true));
+        ensureCollection(usersCollectionName, userSchema);
+        backfillUsernameKeys();
 
-        UserEnt rwalczak = new UserEnt("rwalczak", passwordEncoder.encode("password"), "Rafał Walczak", false);
+        UserEnt rwalczak = new UserEnt("rwalczak", SeedGenerator.PASSWORD, "Rafał Walczak", false);
         rwalczak.setId("60c72b2f9b1e8a3f3c8e4b1a");
         rwalczak.setRole(UserEntRole.CLIENT);
 
-        UserEnt ewisniewska = new UserEnt("ewisniewska", passwordEncoder.encode("password"), "Edyta Wiśniewska", true);
+        UserEnt ewisniewska = new UserEnt("ewisniewska", SeedGenerator.PASSWORD, "Edyta Wiśniewska", true);
         ewisniewska.setId("60c72b2f9b1e8a3f3c8e4b1b");
         ewisniewska.setRole(UserEntRole.CLIENT);
 
-        UserEnt zchmielewska = new UserEnt("zchmielewska", passwordEncoder.encode("password"), "Zofia Chmielewska", true);
+        UserEnt zchmielewska = new UserEnt("zchmielewska", SeedGenerator.PASSWORD, "Zofia Chmielewska", true);
         zchmielewska.setId("60c72b2f9b1e8a3f3c8e4b1c");
         zchmielewska.setRole(UserEntRole.CLIENT);
 
-        UserEnt ksawicka = new UserEnt("ksawicka", passwordEncoder.encode("password"), "Kinga Sawicka", true);
+        UserEnt ksawicka = new UserEnt("ksawicka", SeedGenerator.PASSWORD, "Kinga Sawicka", true);
         ksawicka.setId("60c72b2f9b1e8a3f3c8e4b1d");
         ksawicka.setRole(UserEntRole.CLIENT);
 
-        UserEnt mzawadzki = new UserEnt("mzawadzki", passwordEncoder.encode("password"), "Mieczysław Zawadzki", false);
+        UserEnt mzawadzki = new UserEnt("mzawadzki", SeedGenerator.PASSWORD, "Mieczysław Zawadzki", false);
         mzawadzki.setId("60c72b2f9b1e8a3f3c8e4b1e");
         mzawadzki.setRole(UserEntRole.CLIENT);
 
-        UserEnt admin = new UserEnt("admin", passwordEncoder.encode("password"), "Admin User", true);
+        UserEnt admin = new UserEnt("admin", SeedGenerator.PASSWORD, "Admin User", true);
         admin.setId("60c72b2f9b1e8a3f3c8e4b1f");
         admin.setRole(UserEntRole.ADMIN);
 
-        UserEnt resourceManager = new UserEnt("resource", passwordEncoder.encode("password"), "Resource Manager", true);
+        UserEnt resourceManager = new UserEnt("resource", SeedGenerator.PASSWORD, "Resource Manager", true);
         resourceManager.setId("60c72b2f9b1e8a3f3c8e4b20");
         resourceManager.setRole(UserEntRole.RESOURCE_MANAGER);
 
         List<UserEnt> users = Arrays.asList(rwalczak, ewisniewska, zchmielewska, ksawicka, mzawadzki, admin, resourceManager);
 
-        users.forEach(userRepository::save);
-        logger.info("Database has been initialized with {} users.", users.size());
+        List<UserEnt> missing = seedWriter.missing(UserEnt.class, users, UserEnt::getId);
+        encodePasswords(missing);
+        logger.info("Inserted {} of {} fixture users.", seedWriter.insertAll(UserEnt.class, missing), users.size());
     }
 
-    private void initResources() {
+    private boolean initResources() {
         Document resourceSchema = new Document("$jsonSchema",
                 new Document("bsonType", "object")
                         .append("required", Arrays.asList("name", "description"))
@@ -145,7 +212,7 @@ public class MongoInit implements CommandLineRunner {
                                 .append("description", new Document("bsonType", "string").append("description", "must be a string and is required"))
                         )
         );
-        createCollectionWithSchemaValidation(resourcesCollectionName, resourceSchema);
+        ensureCollection(resourcesCollectionName, resourceSchema);
 
         List<ResourceEnt> resources = Arrays.asList(
                 new BookEnt("60c72b2f9b1e8a3f3c8e4b2a", "Morderstwo w Orient Expressie", "Herkules Poirot po rozwiązaniu sprawy kryminalnej w Azji wraca do Europy.", "Agatha Christie", "9788327159779"),
@@ -154,11 +221,12 @@ public class MongoInit implements CommandLineRunner {
                 new NewspaperEnt("60c72b2f9b1e8a3f3c8e4b2d", "Gazeta Wyborcza", "Gazeta", "2025-11-17")
         );
 
-        resources.forEach(resourceRepository::save);
-        logger.info("Database has been initialized with {} resources.", resources.size());
+        int inserted = seedWriter.insertAll(ResourceEnt.class, seedWriter.missing(ResourceEnt.class, resources, ResourceEnt::getId));
+        logger.info("Inserted {} of {} fixture resources.", inserted, resources.size());
+        return inserted > 0;
     }
 
-    private void initAllocations() {
+    private boolean initAllocations() {
         Document allocationSchema = new Document("$jsonSchema",
                 new Document("bsonType", "object")
                         .append("required", Arrays.asList("userId", "resourceId", "startTime"))
@@ -169,19 +237,20 @@ public class MongoInit implements CommandLineRunner {
                                 .append("endTime", new Document("bsonType", "date").append("description", "must be a date and is optional"))
                         )
         );
-        createCollectionWithSchemaValidation(allocationsCollectionName, allocationSchema);
+        ensureCollection(allocationsCollectionName, allocationSchema);
 
         AllocationEnt activeAllocation = new AllocationEnt("60c72b2f9b1e8a3f3c8e4b1d", "60c72b2f9b1e8a3f3c8e4b2c");
         activeAllocation.setId("692c9fe56f86670cdd4f55f0");
         activeAllocation.setStartTime(LocalDateTime.now().minusDays(1));
-        allocationRepository.save(activeAllocation);
 
         AllocationEnt pastAllocation = new AllocationEnt("60c72b2f9b1e8a3f3c8e4b1a", "60c72b2f9b1e8a3f3c8e4b2a");
         pastAllocation.setId("692c9fe56f86670cdd4f55f1");
         pastAllocation.setStartTime(LocalDateTime.now().minusDays(10));
         pastAllocation.setEndTime(LocalDateTime.now().minusDays(5));
-        allocationRepository.save(pastAllocation);
 
-        logger.info("Database has been initialized with 2 allocations.");
+        List<AllocationEnt> allocations = List.of(activeAllocation, pastAllocation);
+        int inserted = seedWriter.insertAll(AllocationEnt.class, seedWriter.missing(AllocationEnt.class, allocations, AllocationEnt::getId));
+        logger.info("Inserted {} of {} fixture allocations.", inserted, allocations.size());
+        return inserted > 0;
     }
 }
\ No newline at end of file
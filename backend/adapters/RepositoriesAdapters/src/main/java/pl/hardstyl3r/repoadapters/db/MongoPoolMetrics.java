@@ -0,0 +1,161 @@
+package pl.hardstyl3r.repoadapters.db;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects connection pool utilization, checkout wait times and per-command latencies of the shared
+ * {@code MongoClient}. Registered on the client by {@link MongoConfig}; as a {@link MeterBinder} it also publishes
+ * pool gauges and checkout/command timers to Micrometer.
+ */
+public class MongoPoolMetrics implements ConnectionPoolListener, CommandListener, MeterBinder {
+
+    private final int maxPoolSize;
+    private final AtomicInteger pools = new AtomicInteger();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicInteger checkedOut = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder checkOutFailures = new LongAdder();
+    private final LatencyHistogram checkOutWait = new LatencyHistogram();
+    private final Map<String, Command> commands = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    public MongoPoolMetrics(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("pas.mongodb.pool.size", openConnections, AtomicInteger::get).register(registry);
+        Gauge.builder("pas.mongodb.pool.checkedout", checkedOut, AtomicInteger::get).register(registry);
+        Gauge.builder("pas.mongodb.pool.waitqueuesize", waiting, AtomicInteger::get).register(registry);
+        Gauge.builder("pas.mongodb.pool.utilization", this, MongoPoolMetrics::utilization).register(registry);
+        FunctionCounter.builder("pas.mongodb.pool.checkout.failures", checkOutFailures, LongAdder::sum)
+                .register(registry);
+        meterRegistry = registry;
+    }
+
+    @Override
+    public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+        pools.incrementAndGet();
+    }
+
+    @Override
+    public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+        pools.decrementAndGet();
+    }
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        openConnections.incrementAndGet();
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        openConnections.decrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        waiting.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        waiting.decrementAndGet();
+        checkedOut.incrementAndGet();
+        recordCheckOutWait(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        waiting.decrementAndGet();
+        checkOutFailures.increment();
+        recordCheckOutWait(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void recordCheckOutWait(long nanos) {
+        checkOutWait.record(nanos);
+        publish("pas.mongodb.pool.checkout.wait", nanos);
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        checkedOut.decrementAndGet();
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        command(event.getCommandName()).latency.record(nanos);
+        publish("pas.mongodb.command", nanos, "command", event.getCommandName(), "outcome", "SUCCESS");
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        Command command = command(event.getCommandName());
+        command.latency.record(nanos);
+        command.failures.increment();
+        publish("pas.mongodb.command", nanos, "command", event.getCommandName(), "outcome", "FAILURE");
+    }
+
+    private void publish(String name, long nanos, String... tags) {
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            Timer.builder(name).tags(tags).register(registry).record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Command command(String name) {
+        return commands.computeIfAbsent(name, n -> new Command());
+    }
+
+    public double utilization() {
+        int capacity = maxPoolSize * Math.max(1, pools.get());
+        return capacity == 0 ? 0.0 : (double) checkedOut.get() / capacity;
+    }
+
+    public PoolStats snapshot() {
+        Map<String, CommandStats> commandStats = new TreeMap<>();
+        commands.forEach((name, command) ->
+                commandStats.put(name, new CommandStats(command.failures.sum(), command.latency.snapshot())));
+        return new PoolStats(maxPoolSize, openConnections.get(), checkedOut.get(), waiting.get(), utilization(),
+                checkOutFailures.sum(), checkOutWait.snapshot(), commandStats);
+    }
+
+    public record PoolStats(int maxSize, int openConnections, int checkedOut, int waitQueueSize, double utilization,
+                            long checkOutFailures, LatencyHistogram.Snapshot checkOutWait,
+                            Map<String, CommandStats> commands) {
+    }
+
+    public record CommandStats(long failures, LatencyHistogram.Snapshot latency) {
+    }
+
+    private static final class Command {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder failures = new LongAdder();
+    }
+}
@@ -0,0 +1,58 @@
+package pl.hardstyl3r.repoadapters.db;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opens a client span per MongoDB command. The synchronous driver reports {@code commandStarted} on the calling
+ * thread, so the span becomes a child of the port or service span currently in scope.
+ */
+public class MongoTracingCommandListener implements CommandListener {
+
+    private final Tracer tracer;
+    private final Map<Integer, Span> spans = new ConcurrentHashMap<>();
+
+    public MongoTracingCommandListener(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        Span.Builder builder = tracer.spanBuilder()
+                .name("mongodb " + event.getCommandName())
+                .kind(Span.Kind.CLIENT)
+                .tag("db.system", "mongodb")
+                .tag("db.name", event.getDatabaseName())
+                .tag("db.operation", event.getCommandName())
+                .remoteServiceName("mongodb");
+        Span parent = tracer.currentSpan();
+        if (parent != null) {
+            builder.setParent(parent.context());
+        }
+        spans.put(event.getRequestId(), builder.start());
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Span span = spans.remove(event.getRequestId());
+        if (span != null) {
+            span.end();
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        Span span = spans.remove(event.getRequestId());
+        if (span != null) {
+            span.error(event.getThrowable());
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package pl.hardstyl3r.repoadapters.db;
+
+import pl.hardstyl3r.repoadapters.objects.AllocationEnt;
+import pl.hardstyl3r.repoadapters.objects.UserEnt;
+import pl.hardstyl3r.repoadapters.objects.UserEntRole;
+import pl.hardstyl3r.repoadapters.objects.resources.BookEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.NewspaperEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.PeriodicalEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.ResourceEnt;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Generates the {@code --seed-scale=N} load-test data set: N users, N resources and N allocations.
+ * <p>
+ * Ids are derived from the position of the document, and every batch uses its own seeded random source,
+ * so a batch always produces the same documents and can be skipped when they already exist.
+ * Distributions: 1% admins, 4% resource managers, 85% active accounts; 60% books, 25% periodicals and
+ * 15% newspapers; allocations are skewed towards a small group of heavy users, the first 10% of resources
+ * have an active allocation and all other allocations ended within the last two years.
+ */
+public class SeedGenerator {
+
+    public static final String PASSWORD = "password";
+
+    private static final long SEED = 0x5EED_DA7AL;
+    // 2010-01-01, before every fixture id, so generated documents never collide with MongoInit fixtures.
+    private static final int ID_TIMESTAMP = 1262304000;
+
+    private static final String[] FIRST_NAMES = {"Anna", "Piotr", "Katarzyna", "Tomasz", "Maria", "Paweł",
+            "Agnieszka", "Michał", "Magdalena", "Krzysztof", "Joanna", "Marcin", "Ewa", "Jakub", "Zofia", "Adam"};
+    private static final String[] LAST_NAMES = {"Nowak", "Kowalski", "Wiśniewska", "Wójcik", "Kamińska",
+            "Lewandowski", "Zielińska", "Szymański", "Woźniak", "Dąbrowski", "Kozłowska", "Jankowski", "Mazur",
+            "Kwiatkowska", "Krawczyk", "Walczak"};
+    private static final String[] AUTHORS = {"Agatha Christie", "Stanisław Lem", "Olga Tokarczuk",
+            "Andrzej Sapkowski", "Wisława Szymborska", "Henryk Sienkiewicz", "Bolesław Prus", "Terry Pratchett"};
+    private static final String[] TITLE_WORDS = {"Cień", "Wiatr", "Miasto", "Noc", "Ogród", "Podróż", "Zamek",
+            "Rzeka", "Sekret", "Lato", "Gwiazda", "Las"};
+    private static final String[] PERIODICALS = {"CD-Action", "Wiedza i Życie", "National Geographic",
+            "Świat Nauki", "Focus", "Przekrój"};
+    private static final String[] NEWSPAPERS = {"Gazeta Wyborcza", "Rzeczpospolita", "Dziennik Łódzki",
+            "Gazeta Prawna", "Fakt"};
+
+    private final int scale;
+    private final LocalDateTime now;
+
+    public SeedGenerator(int scale, LocalDateTime now) {
+        this.scale = scale;
+        this.now = now;
+    }
+
+    public int scale() {
+        return scale;
+    }
+
+    public static String id(int kind, int index) {
+        return String.format("%08x%02x%014x", ID_TIMESTAMP, kind, index);
+    }
+
+    public static String userId(int index) {
+        return id(1, index);
+    }
+
+    public static String resourceId(int index) {
+        return id(2, index);
+    }
+
+    public static String allocationId(int index) {
+        return id(3, index);
+    }
+
+    /**
+     * Users in {@code [from, to)}. Passwords are plain text and have to be encoded before inserting.
+     */
+    public List<UserEnt> users(int from, int to) {
+        SplittableRandom random = random(1, from);
+        List<UserEnt> users = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            String firstName = pick(random, FIRST_NAMES);
+            String lastName = pick(random, LAST_NAMES);
+            String username = (firstName.charAt(0) + lastName).toLowerCase(Locale.ROOT) + i;
+            UserEnt user = new UserEnt(username, PASSWORD, firstName + " " + lastName, random.nextInt(100) < 85);
+            user.setId(userId(i));
+            int role = random.nextInt(100);
+            user.setRole(role == 0 ? UserEntRole.ADMIN : role < 5 ? UserEntRole.RESOURCE_MANAGER : UserEntRole.CLIENT);
+            users.add(user);
+        }
+        return users;
+    }
+
+    public List<ResourceEnt> resources(int from, int to) {
+        SplittableRandom random = random(2, from);
+        List<ResourceEnt> resources = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            int kind = random.nextInt(100);
+            String id = resourceId(i);
+            if (kind < 60) {
+                String title = pick(random, TITLE_WORDS) + " " + pick(random, TITLE_WORDS).toLowerCase(Locale.ROOT);
+                resources.add(new BookEnt(id, title, "Książka nr " + i, pick(random, AUTHORS), isbn(random)));
+            } else if (kind < 85) {
+                resources.add(new PeriodicalEnt(id, pick(random, PERIODICALS), "Czasopismo nr " + i,
+                        1 + random.nextInt(500)));
+            } else {
+                LocalDate released = now.toLocalDate().minusDays(random.nextInt(5 * 365));
+                resources.add(new NewspaperEnt(id, pick(random, NEWSPAPERS), "Gazeta nr " + i, released.toString()));
+            }
+        }
+        return resources;
+    }
+
+    public List<AllocationEnt> allocations(int from, int to) {
+        SplittableRandom random = random(3, from);
+        int activeCount = scale / 10;
+        List<AllocationEnt> allocations = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            // Squaring the uniform value piles most allocations onto a small group of users.
+            double skew = random.nextDouble();
+            int user = (int) (scale * skew * skew);
+            AllocationEnt allocation;
+            if (i < activeCount) {
+                allocation = new AllocationEnt(userId(user), resourceId(i));
+                allocation.setStartTime(now.minusHours(1 + random.nextInt(14 * 24)));
+            } else {
+                allocation = new AllocationEnt(userId(user), resourceId(random.nextInt(scale)));
+                LocalDateTime start = now.minusMinutes(60 + random.nextInt(2 * 365 * 24 * 60));
+                LocalDateTime end = start.plusHours(1 + random.nextInt(30 * 24));
+                allocation.setStartTime(start);
+                allocation.setEndTime(end.isBefore(now) ? end : now);
+            }
+            allocation.setId(allocationId(i));
+            allocations.add(allocation);
+        }
+        return allocations;
+    }
+
+    private static SplittableRandom random(int kind, int from) {
+        return new SplittableRandom(SEED * 31 + kind * 1_000_003L + from);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String isbn(SplittableRandom random) {
+        StringBuilder isbn = new StringBuilder("978");
+        for (int i = 0; i < 9; i++) {
+            isbn.append(random.nextInt(10));
+        }
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += (isbn.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return isbn.append((10 - sum % 10) % 10).toString();
+    }
+}
@@ -0,0 +1,81 @@
+package pl.hardstyl3r.repoadapters.db;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Insert-only writes used for seeding. Documents that already exist are never replaced, so seeding can run
+ * against a populated database any number of times.
+ */
+@Component
+@Profile("!test & !memory")
+public class SeedWriter {
+
+    private final MongoTemplate mongoTemplate;
+
+    public SeedWriter(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public <T> List<T> missing(Class<T> type, List<T> documents, Function<T, String> idOf) {
+        Set<String> existing = existingIds(type, documents.stream().map(idOf).toList());
+        return documents.stream()
+                .filter(document -> !existing.contains(idOf.apply(document)))
+                .toList();
+    }
+
+    public boolean exists(Class<?> type, String id) {
+        return !existingIds(type, List.of(id)).isEmpty();
+    }
+
+    /**
+     * Inserts the documents in one unordered bulk write. Duplicate key errors, e.g. from a concurrent seeding run,
+     * are ignored; any other write error is rethrown.
+     *
+     * @return number of inserted documents
+     */
+    public <T> int insertAll(Class<T> type, List<T> documents) {
+        if (documents.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+        bulkOps.insert(documents);
+        try {
+            return bulkOps.execute().getInsertedCount();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+            return e.getResult().getInsertedCount();
+        }
+    }
+
+    private Set<String> existingIds(Class<?> type, Collection<String> ids) {
+        List<ObjectId> objectIds = ids.stream().filter(ObjectId::isValid).map(ObjectId::new).toList();
+        if (objectIds.isEmpty()) {
+            return Set.of();
+        }
+        Query query = new Query(Criteria.where("_id").in(objectIds));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(type)).stream()
+                .map(document -> document.getObjectId("_id").toHexString())
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,103 @@
+package pl.hardstyl3r.repoadapters.indexes;
+
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ensures the indexes declared by every {@link IndexedRepository} once all singletons exist, i.e. before the web
+ * server accepts requests and before {@code MongoInit} seeds. Runs in every profile that uses MongoDB, including
+ * {@code test}.
+ */
+@Component
+@Lazy(false)
+@Profile("!memory")
+public class IndexRegistry implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexRegistry.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final List<IndexedRepository> repositories;
+
+    public IndexRegistry(MongoTemplate mongoTemplate, List<IndexedRepository> repositories) {
+        this.mongoTemplate = mongoTemplate;
+        this.repositories = repositories;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            ensureIndexes();
+        } catch (DataAccessResourceFailureException | MongoTimeoutException | MongoSocketException e) {
+            // Connectivity is checked by MongoConVerifier; integration tests skip themselves without a database.
+            // Anything else, e.g. a unique index that cannot be built over existing duplicates, fails startup.
+            logger.warn("Could not reach MongoDB to ensure indexes at startup: {}", e.getMessage());
+        }
+    }
+
+    public void ensureIndexes() {
+        int ensured = 0;
+        for (IndexedRepository repository : repositories) {
+            IndexOperations indexOps = mongoTemplate.indexOps(repository.entityType());
+            repository.indexes().forEach(indexOps::createIndex);
+            ensured += repository.indexes().size();
+        }
+        logger.info("Ensured {} MongoDB indexes declared by {} repositories.", ensured, repositories.size());
+    }
+
+    /**
+     * Explains every declared query shape and reports the stages of its winning plan, flagging collection scans and
+     * blocking in-memory {@code SORT} stages.
+     */
+    public List<QueryPlan> explain() {
+        List<QueryPlan> plans = new ArrayList<>();
+        for (IndexedRepository repository : repositories) {
+            String name = ClassUtils.getUserClass(repository).getSimpleName();
+            String collection = mongoTemplate.getCollectionName(repository.entityType());
+            for (QueryShape shape : repository.queryShapes()) {
+                Document explained = mongoTemplate.getCollection(collection)
+                        .find(shape.filter())
+                        .sort(shape.sort())
+                        .explain();
+                Document queryPlanner = explained.get("queryPlanner", Document.class);
+                List<String> stages = new ArrayList<>();
+                collectStages(queryPlanner == null ? null : queryPlanner.get("winningPlan"), stages);
+                boolean collectionScan = stages.contains("COLLSCAN");
+                boolean blockingSort = stages.contains("SORT");
+                if (collectionScan) {
+                    logger.warn("Query {}.{} scans the whole {} collection.", name, shape.name(), collection);
+                }
+                if (blockingSort) {
+                    logger.warn("Query {}.{} sorts its matches in memory instead of reading them in index order.",
+                            name, shape.name());
+                }
+                plans.add(new QueryPlan(name, shape.name(), collection, stages, collectionScan, blockingSort));
+            }
+        }
+        return plans;
+    }
+
+    static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            if (document.get("stage") instanceof String stage) {
+                stages.add(stage);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package pl.hardstyl3r.repoadapters.indexes;
+
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.util.List;
+
+/**
+ * Implemented by repositories to declare the indexes their queries rely on. {@link IndexRegistry} ensures them at
+ * startup and explains the declared query shapes to verify that none of them scans the whole collection or sorts in
+ * memory.
+ */
+public interface IndexedRepository {
+
+    Class<?> entityType();
+
+    List<Index> indexes();
+
+    List<QueryShape> queryShapes();
+}
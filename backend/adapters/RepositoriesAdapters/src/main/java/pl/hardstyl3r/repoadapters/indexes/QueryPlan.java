@@ -0,0 +1,7 @@
+package pl.hardstyl3r.repoadapters.indexes;
+
+import java.util.List;
+
+public record QueryPlan(String repository, String query, String collection, List<String> stages, boolean collectionScan,
+                        boolean blockingSort) {
+}
@@ -0,0 +1,13 @@
+package pl.hardstyl3r.repoadapters.indexes;
+
+import org.bson.Document;
+
+/**
+ * Filter and sort of a repository query, with sample values in place of the parameters.
+ */
+public record QueryShape(String name, Document filter, Document sort) {
+
+    public static QueryShape of(String name, Document filter) {
+        return new QueryShape(name, filter, new Document());
+    }
+}
@@ -0,0 +1,31 @@
+package pl.hardstyl3r.repoadapters.mappers;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+import pl.hardstyl3r.pas.v1.objects.UserFilter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class UserFilterMapper {
+
+    public static Criteria toCriteria(UserFilter filter) {
+        if (filter == null) {
+            return new Criteria();
+        }
+        List<Criteria> criteria = new ArrayList<>();
+        if (filter.role() != null) {
+            criteria.add(Criteria.where("role").is(filter.role().name()));
+        }
+        if (filter.active() != null) {
+            criteria.add(Criteria.where("active").is(filter.active()));
+        }
+        if (filter.username() != null) {
+            criteria.add(Criteria.where("username").regex(Pattern.quote(filter.username())));
+        }
+        if (filter.name() != null) {
+            criteria.add(Criteria.where("name").regex(Pattern.quote(filter.name())));
+        }
+        return criteria.isEmpty() ? new Criteria() : new Criteria().andOperator(criteria);
+    }
+}
@@ -2,8 +2,10 @@ package pl.hardstyl3r.repoadapters.mappers;
 
 import pl.hardstyl3r.pas.v1.objects.User;
 import pl.hardstyl3r.pas.v1.objects.UserRole;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
 import pl.hardstyl3r.repoadapters.objects.UserEnt;
 import pl.hardstyl3r.repoadapters.objects.UserEntRole;
+import pl.hardstyl3r.repoadapters.objects.UserSummaryEnt;
 
 public class UserMapper {
 
@@ -22,6 +24,12 @@ public class UserMapper {
         return user;
     }
 
+    public static UserSummary toSummary(UserSummaryEnt ent) {
+        if (ent == null) return null;
+        UserRole role = ent.role() != null ? UserRole.valueOf(ent.role().name()) : UserRole.CLIENT;
+        return new UserSummary(ent.id(), ent.username(), ent.name(), ent.active(), role);
+    }
+
     public static UserEnt toEntity(User domain) {
         if (domain == null) return null;
         UserEnt ent = new UserEnt(
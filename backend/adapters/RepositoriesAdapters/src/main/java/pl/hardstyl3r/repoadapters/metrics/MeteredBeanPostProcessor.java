@@ -0,0 +1,45 @@
+package pl.hardstyl3r.repoadapters.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Decorates every bean implementing one of the given interfaces with a timer per interface method. The operation
+ * tag is {@code <bean class>.<method>}, so stacked implementations, e.g. {@code CachingResourceAdapter} in front of
+ * {@code ResourceAdapter}, are reported separately. Class-based proxies keep injection by concrete type working.
+ */
+public class MeteredBeanPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    public MeteredBeanPostProcessor(String metric, List<Class<?>> interfaces, ObjectProvider<OperationMetrics> metrics) {
+        MethodInterceptor interceptor = invocation -> {
+            String operation = ClassUtils.getUserClass(invocation.getThis()).getSimpleName()
+                    + "." + invocation.getMethod().getName();
+            return metrics.getObject().record(metric, operation, invocation::proceed);
+        };
+        this.advisor = new DefaultPointcutAdvisor(new InterfaceMethodsPointcut(interfaces), interceptor);
+        setProxyTargetClass(true);
+    }
+
+    private static final class InterfaceMethodsPointcut extends StaticMethodMatcherPointcut {
+
+        private final List<Class<?>> interfaces;
+
+        private InterfaceMethodsPointcut(List<Class<?>> interfaces) {
+            this.interfaces = interfaces;
+            setClassFilter(type -> interfaces.stream().anyMatch(i -> i.isAssignableFrom(type)));
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return interfaces.stream().anyMatch(i -> i.isAssignableFrom(targetClass)
+                    && ClassUtils.hasMethod(i, method.getName(), method.getParameterTypes()));
+        }
+    }
+}
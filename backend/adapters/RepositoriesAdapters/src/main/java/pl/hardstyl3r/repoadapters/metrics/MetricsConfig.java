@@ -0,0 +1,20 @@
+package pl.hardstyl3r.repoadapters.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pl.hardstyl3r.pas.appports.AllocationPort;
+import pl.hardstyl3r.pas.appports.ResourcePort;
+import pl.hardstyl3r.pas.appports.UserPort;
+
+import java.util.List;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public static MeteredBeanPostProcessor portMetrics(ObjectProvider<OperationMetrics> metrics) {
+        return new MeteredBeanPostProcessor(OperationMetrics.PORT,
+                List.of(UserPort.class, ResourcePort.class, AllocationPort.class), metrics);
+    }
+}
@@ -0,0 +1,89 @@
+package pl.hardstyl3r.repoadapters.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records timers with the tag set shared by every instrumented layer: {@code operation}, {@code outcome} and
+ * {@code exception}, and runs the operation in a span of the same name. Only the domain exceptions mapped to HTTP
+ * statuses by the REST {@code advices} are reported by name; anything else is tagged {@code Other}, so the number of
+ * time series stays bounded.
+ */
+@Component
+public class OperationMetrics {
+
+    public static final String PORT = "pas.port";
+    public static final String VIEW_PORT = "pas.viewport";
+    public static final String JWT_FILTER = "pas.jwt.filter";
+    public static final String SOAP = "pas.soap";
+
+    static final String DOMAIN_EXCEPTIONS_PACKAGE = "pl.hardstyl3r.pas.v1.exceptions";
+
+    private final MeterRegistry meterRegistry;
+    private final Tracer tracer;
+
+    @Autowired
+    public OperationMetrics(MeterRegistry meterRegistry, ObjectProvider<Tracer> tracer) {
+        this(meterRegistry, tracer.getIfAvailable(() -> Tracer.NOOP));
+    }
+
+    public OperationMetrics(MeterRegistry meterRegistry, Tracer tracer) {
+        this.meterRegistry = meterRegistry;
+        this.tracer = tracer;
+    }
+
+    public <T, E extends Throwable> T record(String metric, String operation, Operation<T, E> body) throws E {
+        Span span = tracer.nextSpan().name(operation).tag("pas.layer", metric).start();
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return body.run();
+        } catch (Throwable e) {
+            failure = e;
+            span.error(e);
+            throw e;
+        } finally {
+            record(metric, operation, System.nanoTime() - start, failure);
+            span.end();
+        }
+    }
+
+    public void record(String metric, String operation, long nanos, Throwable failure) {
+        Timer.builder(metric)
+                .tag("operation", operation)
+                .tag("outcome", outcome(failure))
+                .tag("exception", exception(failure))
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    static String outcome(Throwable failure) {
+        if (failure == null) {
+            return "SUCCESS";
+        }
+        return isDomainException(failure) ? "CLIENT_ERROR" : "SERVER_ERROR";
+    }
+
+    static String exception(Throwable failure) {
+        if (failure == null) {
+            return "none";
+        }
+        return isDomainException(failure) ? failure.getClass().getSimpleName() : "Other";
+    }
+
+    private static boolean isDomainException(Throwable failure) {
+        return DOMAIN_EXCEPTIONS_PACKAGE.equals(failure.getClass().getPackageName());
+    }
+
+    @FunctionalInterface
+    public interface Operation<T, E extends Throwable> {
+        T run() throws E;
+    }
+}
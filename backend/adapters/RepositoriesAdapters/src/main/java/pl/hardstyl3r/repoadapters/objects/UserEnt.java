@@ -6,10 +6,16 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.Set;
 
 @Document(collection = "#{@environment.getProperty('pas.mongodb.collection.users')}")
 public class UserEnt {
+    public static final int TRIGRAM = 3;
+
     @Id
     private String id;
 
@@ -18,6 +24,13 @@ public class UserEnt {
     @Indexed(unique = true)
     private String username;
 
+    @Indexed
+    private String usernameLower;
+
+    // Distinct three-character substrings of usernameLower, so that substring search can use a multikey index.
+    @Indexed
+    private List<String> usernameTrigrams;
+
     @NotBlank(message = "Imię nie może być puste.")
     @Size(min = 3, max = 64, message = "Imię musi mieć od 3 do 64 znaków.")
     private String name;
@@ -33,7 +46,7 @@ public class UserEnt {
     }
 
     public UserEnt(String username, String password, String name, boolean active) {
-        this.username = username;
+        setUsername(username);
         this.password = password;
         this.name = name;
         this.active = active;
@@ -53,6 +66,35 @@ public class UserEnt {
 
     public void setUsername(String username) {
         this.username = username;
+        refreshUsernameKeys();
+    }
+
+    public String getUsernameLower() {
+        return usernameLower;
+    }
+
+    public List<String> getUsernameTrigrams() {
+        return usernameTrigrams;
+    }
+
+    /**
+     * Recomputes the derived search fields from {@code username}; documents read from an older schema may lack them.
+     */
+    public void refreshUsernameKeys() {
+        this.usernameLower = normalizeUsername(username);
+        this.usernameTrigrams = usernameLower == null ? List.of() : trigrams(usernameLower);
+    }
+
+    public static String normalizeUsername(String username) {
+        return username == null ? null : username.toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> trigrams(String value) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + TRIGRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + TRIGRAM));
+        }
+        return List.copyOf(grams);
     }
 
     public String getName() {
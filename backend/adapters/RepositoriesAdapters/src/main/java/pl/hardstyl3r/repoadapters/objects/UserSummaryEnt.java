@@ -0,0 +1,7 @@
+package pl.hardstyl3r.repoadapters.objects;
+
+/**
+ * Closed projection of {@link UserEnt}; Spring Data only fetches these fields, so list reads never load the password hash.
+ */
+public record UserSummaryEnt(String id, String username, String name, boolean active, UserEntRole role) {
+}
@@ -1,17 +1,46 @@
 package pl.hardstyl3r.repoadapters.repositories;
 
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
+import pl.hardstyl3r.pas.v1.exceptions.InputValidationException;
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.repoadapters.codecs.ReadModelCodecs;
+import pl.hardstyl3r.repoadapters.indexes.IndexedRepository;
+import pl.hardstyl3r.repoadapters.indexes.QueryShape;
 import pl.hardstyl3r.repoadapters.objects.AllocationEnt;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
-public class AllocationRepository {
+@Profile("!memory")
+public class AllocationRepository implements IndexedRepository {
+
+    public static final String ACTIVE_RESOURCE_INDEX = "resourceId_active_unique";
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final String SAMPLE_ID = "000000000000000000000000";
 
     private final MongoTemplate mongoTemplate;
 
@@ -19,10 +48,69 @@ public class AllocationRepository {
         this.mongoTemplate = mongoTemplate;
     }
 
+    @Override
+    public Class<?> entityType() {
+        return AllocationEnt.class;
+    }
+
+    @Override
+    public List<Index> indexes() {
+        return declaredIndexes();
+    }
+
+    /**
+     * Also created by ViewReactive, which writes allocations without this repository.
+     */
+    public static List<Index> declaredIndexes() {
+        return List.of(
+                new Index().on("userId", Sort.Direction.ASC).on("endTime", Sort.Direction.ASC),
+                new Index().on("userId", Sort.Direction.ASC).on("_id", Sort.Direction.DESC),
+                new Index().on("resourceId", Sort.Direction.ASC),
+                new Index()
+                        .on("resourceId", Sort.Direction.ASC)
+                        .unique()
+                        .partial(PartialIndexFilter.of(Criteria.where("endTime").is(null)))
+                        .named(ACTIVE_RESOURCE_INDEX));
+    }
+
+    @Override
+    public List<QueryShape> queryShapes() {
+        return List.of(
+                QueryShape.of("findByUserId", new Document("userId", SAMPLE_ID)),
+                QueryShape.of("findActiveByUserIds",
+                        new Document("userId", new Document("$in", List.of(SAMPLE_ID))).append("endTime", null)),
+                QueryShape.of("findActiveByUserId", new Document("userId", SAMPLE_ID).append("endTime", null)),
+                new QueryShape("findEndedByUserId",
+                        new Document("userId", SAMPLE_ID).append("endTime", new Document("$ne", null)),
+                        new Document("_id", -1)),
+                QueryShape.of("existsByResourceId", new Document("resourceId", SAMPLE_ID)),
+                QueryShape.of("existsByResourceIdAndEndTimeIsNull",
+                        new Document("resourceId", SAMPLE_ID).append("endTime", null)),
+                QueryShape.of("findActiveResourceIds",
+                        new Document("resourceId", new Document("$in", List.of(SAMPLE_ID))).append("endTime", null)));
+    }
+
     public List<AllocationEnt> findAll() {
         return mongoTemplate.findAll(AllocationEnt.class);
     }
 
+    public List<Allocation> findPage(String after, int limit) {
+        if (after != null && !ObjectId.isValid(after)) {
+            throw new InputValidationException("Invalid cursor: " + after);
+        }
+        Bson filter = after == null ? new Document() : Filters.gt("_id", new ObjectId(after));
+        return mongoTemplate.execute(AllocationEnt.class, collection -> ReadModelCodecs.readModel(collection, Allocation.class)
+                .find(filter)
+                .sort(Sorts.ascending("_id"))
+                .limit(limit)
+                .into(new ArrayList<>()));
+    }
+
+    public Stream<AllocationEnt> streamAll() {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, "_id")).cursorBatchSize(STREAM_BATCH_SIZE);
+        return mongoTemplate.stream(query, AllocationEnt.class);
+    }
+
     public Optional<AllocationEnt> findById(String id) {
         if (!ObjectId.isValid(id)) {
             return Optional.empty();
@@ -30,29 +118,107 @@ public class AllocationRepository {
         return Optional.ofNullable(mongoTemplate.findById(id, AllocationEnt.class));
     }
 
+    public List<AllocationEnt> findAllById(Collection<String> ids) {
+        List<String> validIds = ids.stream().filter(ObjectId::isValid).toList();
+        if (validIds.isEmpty()) {
+            return List.of();
+        }
+        Query query = new Query(Criteria.where("_id").in(validIds));
+        return mongoTemplate.find(query, AllocationEnt.class);
+    }
+
     public AllocationEnt save(AllocationEnt allocation) {
         return mongoTemplate.save(allocation);
     }
 
-    public void deleteById(String id) {
-        if (ObjectId.isValid(id)) {
-            Query query = new Query(Criteria.where("_id").is(id));
-            mongoTemplate.remove(query, AllocationEnt.class);
+    public AllocationEnt insert(AllocationEnt allocation) {
+        return mongoTemplate.insert(allocation);
+    }
+
+    public List<BulkWriteError> insertAll(List<AllocationEnt> allocations) {
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AllocationEnt.class);
+        bulkOps.insert(allocations);
+        try {
+            bulkOps.execute();
+            return List.of();
+        } catch (BulkOperationException e) {
+            return e.getErrors();
         }
     }
 
+    /**
+     * @return ids of the allocations this call ended. When every active one was modified that is all of them;
+     * otherwise some were ended concurrently, and the ones ended here are those carrying {@code endTime}.
+     */
+    public Set<String> endAll(Collection<String> ids, LocalDateTime endTime) {
+        Set<String> distinct = new HashSet<>(ids);
+        Query query = new Query(Criteria.where("_id").in(distinct).and("endTime").is(null));
+        long modified = mongoTemplate.updateMulti(query, new Update().set("endTime", endTime), AllocationEnt.class)
+                .getModifiedCount();
+        if (modified == 0) {
+            return Set.of();
+        }
+        if (modified == distinct.size()) {
+            return distinct;
+        }
+        Query ended = new Query(Criteria.where("_id").in(distinct).and("endTime").is(endTime));
+        ended.fields().include("_id");
+        return mongoTemplate.find(ended, AllocationEnt.class).stream()
+                .map(AllocationEnt::getId)
+                .collect(Collectors.toSet());
+    }
+
+    public Optional<AllocationEnt> deleteById(String id) {
+        if (!ObjectId.isValid(id)) {
+            return Optional.empty();
+        }
+        Query query = new Query(Criteria.where("_id").is(id));
+        return Optional.ofNullable(mongoTemplate.findAndRemove(query, AllocationEnt.class));
+    }
+
+    public boolean existsByResourceId(String resourceId) {
+        Query query = new Query(Criteria.where("resourceId").is(resourceId)).limit(1);
+        return mongoTemplate.exists(query, AllocationEnt.class);
+    }
+
     public boolean existsByResourceIdAndEndTimeIsNull(String resourceId) {
         Query query = new Query(Criteria.where("resourceId").is(resourceId).and("endTime").is(null));
         return mongoTemplate.exists(query, AllocationEnt.class);
     }
 
+    public List<String> findActiveResourceIds(Collection<String> resourceIds) {
+        Query query = new Query(Criteria.where("resourceId").in(resourceIds).and("endTime").is(null));
+        query.fields().include("resourceId");
+        return mongoTemplate.find(query, AllocationEnt.class).stream()
+                .map(AllocationEnt::getResourceId)
+                .toList();
+    }
+
     public List<AllocationEnt> findByUserId(String userId) {
         Query query = new Query(Criteria.where("userId").is(userId));
         return mongoTemplate.find(query, AllocationEnt.class);
     }
 
-    public List<AllocationEnt> findByResourceId(String resourceId) {
-        Query query = new Query(Criteria.where("resourceId").is(resourceId));
+    public List<AllocationEnt> findActiveByUserId(String userId) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("endTime").is(null));
+        return mongoTemplate.find(query, AllocationEnt.class);
+    }
+
+    public List<AllocationEnt> findEndedByUserId(String userId, String before, int limit) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("endTime").ne(null))
+                .with(Sort.by(Sort.Direction.DESC, "_id"))
+                .limit(limit);
+        if (before != null) {
+            if (!ObjectId.isValid(before)) {
+                throw new InputValidationException("Invalid cursor: " + before);
+            }
+            query.addCriteria(Criteria.where("_id").lt(new ObjectId(before)));
+        }
+        return mongoTemplate.find(query, AllocationEnt.class);
+    }
+
+    public List<AllocationEnt> findActiveByUserIds(Collection<String> userIds) {
+        Query query = new Query(Criteria.where("userId").in(userIds).and("endTime").is(null));
         return mongoTemplate.find(query, AllocationEnt.class);
     }
 }
@@ -1,17 +1,42 @@
 package pl.hardstyl3r.repoadapters.repositories;
 
+import org.bson.Document;
 import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.repoadapters.codecs.ReadModelCodecs;
+import pl.hardstyl3r.repoadapters.indexes.IndexedRepository;
+import pl.hardstyl3r.repoadapters.indexes.QueryShape;
+import pl.hardstyl3r.repoadapters.objects.AllocationEnt;
 import pl.hardstyl3r.repoadapters.objects.resources.ResourceEnt;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
-public class ResourceRepository {
+@Profile("!memory")
+public class ResourceRepository implements IndexedRepository {
+
+    /**
+     * Number of allocations (active or ended) referencing the resource. Kept on the resource document
+     * so that deleting an unallocated resource is a single conditional remove.
+     */
+    public static final String ALLOCATION_COUNT = "allocationCount";
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceRepository.class);
+    private static final int RECOUNT_BATCH_SIZE = 1000;
 
     private final MongoTemplate mongoTemplate;
 
@@ -19,8 +44,35 @@ public class ResourceRepository {
         this.mongoTemplate = mongoTemplate;
     }
 
-    public List<ResourceEnt> findAll() {
-        return mongoTemplate.findAll(ResourceEnt.class);
+    @Override
+    public Class<?> entityType() {
+        return ResourceEnt.class;
+    }
+
+    @Override
+    public List<Index> indexes() {
+        // Every query except the full catalog goes through _id.
+        return List.of();
+    }
+
+    @Override
+    public List<QueryShape> queryShapes() {
+        ObjectId sampleId = new ObjectId("000000000000000000000000");
+        return List.of(
+                QueryShape.of("findById", new Document("_id", sampleId)),
+                QueryShape.of("deleteIfUnallocated", new Document("_id", sampleId)
+                        .append(ALLOCATION_COUNT, new Document("$not", new Document("$gt", 0)))));
+    }
+
+    public List<Resource> findAll() {
+        List<Resource> resources = mongoTemplate.execute(ResourceEnt.class,
+                collection -> ReadModelCodecs.readModel(collection, Resource.class).find().into(new ArrayList<>()));
+        int total = resources.size();
+        resources.removeIf(Objects::isNull);
+        if (resources.size() < total) {
+            logger.warn("Skipped {} resource documents with a missing or unknown _class", total - resources.size());
+        }
+        return resources;
     }
 
     public Optional<ResourceEnt> findById(String id) {
@@ -31,8 +83,25 @@ public class ResourceRepository {
         return Optional.ofNullable(resource);
     }
 
+    public List<ResourceEnt> findAllById(Collection<String> ids) {
+        List<String> validIds = ids.stream().filter(ObjectId::isValid).toList();
+        if (validIds.isEmpty()) {
+            return List.of();
+        }
+        Query query = new Query(Criteria.where("_id").in(validIds));
+        return mongoTemplate.find(query, ResourceEnt.class);
+    }
+
     public ResourceEnt save(ResourceEnt resource) {
-        return mongoTemplate.save(resource);
+        if (resource.getId() == null) {
+            resource.setId(new ObjectId().toHexString());
+        }
+        // Replacing the whole document would reset the allocation counter, so only the mapped fields are set.
+        Document document = new Document();
+        mongoTemplate.getConverter().write(resource, document);
+        Update update = Update.fromDocument(document, "_id", ALLOCATION_COUNT).setOnInsert(ALLOCATION_COUNT, 0L);
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(resource.getId())), update, ResourceEnt.class);
+        return resource;
     }
 
     public void deleteById(String id) {
@@ -42,6 +111,99 @@ public class ResourceRepository {
         }
     }
 
+    public boolean deleteIfUnallocated(String id) {
+        if (!ObjectId.isValid(id)) {
+            return false;
+        }
+        Query query = new Query(Criteria.where("_id").is(id).and(ALLOCATION_COUNT).not().gt(0));
+        return mongoTemplate.remove(query, ResourceEnt.class).getDeletedCount() > 0;
+    }
+
+    public boolean incrementAllocationCount(String id, long delta) {
+        if (!ObjectId.isValid(id)) {
+            return false;
+        }
+        Query query = new Query(Criteria.where("_id").is(id));
+        return mongoTemplate.updateFirst(query, new Update().inc(ALLOCATION_COUNT, delta), ResourceEnt.class)
+                .getMatchedCount() > 0;
+    }
+
+    public void incrementAllocationCounts(Map<String, Long> deltas) {
+        updateEach(deltas, delta -> new Update().inc(ALLOCATION_COUNT, delta));
+    }
+
+    public OptionalLong findAllocationCount(String id) {
+        if (!ObjectId.isValid(id)) {
+            return OptionalLong.empty();
+        }
+        Query query = new Query(Criteria.where("_id").is(id));
+        query.fields().include(ALLOCATION_COUNT);
+        Document resource = mongoTemplate.findOne(query, Document.class,
+                mongoTemplate.getCollectionName(ResourceEnt.class));
+        if (resource == null) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(resource.get(ALLOCATION_COUNT) instanceof Number count ? count.longValue() : 0L);
+    }
+
+    /**
+     * Sets {@link #ALLOCATION_COUNT} to zero only while it still holds {@code expected}, so that a reservation
+     * taken after the value was read is kept.
+     */
+    public boolean clearAllocationCount(String id, long expected) {
+        if (!ObjectId.isValid(id)) {
+            return false;
+        }
+        Query query = new Query(Criteria.where("_id").is(id).and(ALLOCATION_COUNT).is(expected));
+        return mongoTemplate.updateFirst(query, new Update().set(ALLOCATION_COUNT, 0L), ResourceEnt.class)
+                .getModifiedCount() > 0;
+    }
+
+    public Set<String> findExistingIds(Collection<String> ids) {
+        List<ObjectId> validIds = ids.stream().filter(ObjectId::isValid).map(ObjectId::new).toList();
+        if (validIds.isEmpty()) {
+            return Set.of();
+        }
+        Query query = new Query(Criteria.where("_id").in(validIds));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(ResourceEnt.class)).stream()
+                .map(document -> document.getObjectId("_id").toHexString())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Rebuilds {@link #ALLOCATION_COUNT} on every resource from the allocations collection. Needed after
+     * allocations were written without going through the adapter, e.g. when seeding the database.
+     * Each resource is set straight to its count and only when the stored value differs, so a counter is never
+     * seen at zero while allocations still reference the resource.
+     */
+    public void recountAllocations() {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.group("resourceId").count().as("count"));
+        Map<String, Long> counts = new HashMap<>();
+        mongoTemplate.aggregate(aggregation, AllocationEnt.class, Document.class)
+                .forEach(result -> counts.put(result.getString("_id"), ((Number) result.get("count")).longValue()));
+
+        Query query = new Query();
+        query.fields().include("_id").include(ALLOCATION_COUNT);
+        Map<String, Long> changed = new HashMap<>();
+        try (Stream<Document> resources = mongoTemplate.stream(query, Document.class,
+                mongoTemplate.getCollectionName(ResourceEnt.class))) {
+            resources.forEach(resource -> {
+                String id = resource.getObjectId("_id").toHexString();
+                long count = counts.getOrDefault(id, 0L);
+                Object stored = resource.get(ALLOCATION_COUNT);
+                if (!(stored instanceof Number number) || number.longValue() != count) {
+                    changed.put(id, count);
+                }
+                if (changed.size() >= RECOUNT_BATCH_SIZE) {
+                    updateEach(changed, value -> new Update().set(ALLOCATION_COUNT, value));
+                    changed.clear();
+                }
+            });
+        }
+        updateEach(changed, value -> new Update().set(ALLOCATION_COUNT, value));
+    }
+
     public boolean existsById(String id) {
         if (!ObjectId.isValid(id)) {
             return false;
@@ -49,4 +211,18 @@ public class ResourceRepository {
         Query query = new Query(Criteria.where("_id").is(id));
         return mongoTemplate.exists(query, ResourceEnt.class);
     }
+
+    private void updateEach(Map<String, Long> values, Function<Long, Update> update) {
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ResourceEnt.class);
+        int operations = 0;
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            if (ObjectId.isValid(entry.getKey())) {
+                bulkOps.updateOne(new Query(Criteria.where("_id").is(entry.getKey())), update.apply(entry.getValue()));
+                operations++;
+            }
+        }
+        if (operations > 0) {
+            bulkOps.execute();
+        }
+    }
 }
@@ -1,18 +1,30 @@
 package pl.hardstyl3r.repoadapters.repositories;
 
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
 import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
+import pl.hardstyl3r.pas.v1.exceptions.InputValidationException;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
+import pl.hardstyl3r.repoadapters.codecs.ReadModelCodecs;
+import pl.hardstyl3r.repoadapters.indexes.IndexedRepository;
+import pl.hardstyl3r.repoadapters.indexes.QueryShape;
 import pl.hardstyl3r.repoadapters.objects.UserEnt;
+import pl.hardstyl3r.repoadapters.objects.UserEntRole;
+import pl.hardstyl3r.repoadapters.objects.UserSummaryEnt;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.regex.Pattern;
 
 @Repository
-public class UserRepository {
+@Profile("!memory")
+public class UserRepository implements IndexedRepository {
 
     private final MongoTemplate mongoTemplate;
 
@@ -20,8 +32,48 @@ public class UserRepository {
         this.mongoTemplate = mongoTemplate;
     }
 
-    public List<UserEnt> findAll() {
-        return mongoTemplate.findAll(UserEnt.class);
+    @Override
+    public Class<?> entityType() {
+        return UserEnt.class;
+    }
+
+    @Override
+    public List<Index> indexes() {
+        return declaredIndexes();
+    }
+
+    /**
+     * Also created by ViewReactive, which reads users without this repository.
+     */
+    public static List<Index> declaredIndexes() {
+        return List.of(
+                new Index().on("username", Sort.Direction.ASC).unique(),
+                new Index().on("usernameLower", Sort.Direction.ASC),
+                new Index().on("usernameTrigrams", Sort.Direction.ASC),
+                new Index().on("role", Sort.Direction.ASC),
+                new Index().on("active", Sort.Direction.ASC));
+    }
+
+    @Override
+    public List<QueryShape> queryShapes() {
+        return List.of(
+                QueryShape.of("findByUsername", new Document("username", "sample")),
+                new QueryShape("findByUsernamePrefix",
+                        new Document("usernameLower", new Document("$gte", "sample").append("$lt", "sample" + Character.MAX_VALUE)),
+                        new Document("usernameLower", 1)),
+                new QueryShape("searchByUsernameTrigrams",
+                        new Document("usernameTrigrams", new Document("$all", List.of("sam", "amp")))
+                                .append("usernameLower", new Document("$regex", "samp")),
+                        new Document("usernameLower", 1)),
+                new QueryShape("findPageByRole", new Document("role", UserEntRole.CLIENT.name()), new Document("_id", 1)),
+                new QueryShape("findPageByActive", new Document("active", true), new Document("_id", 1)));
+    }
+
+    public List<UserSummary> findAll() {
+        return mongoTemplate.execute(UserEnt.class, collection -> ReadModelCodecs.readModel(collection, UserSummary.class)
+                .find()
+                .projection(Projections.include("username", "name", "active", "role"))
+                .into(new ArrayList<>()));
     }
 
     public Optional<UserEnt> findById(String id) {
@@ -31,6 +83,14 @@ public class UserRepository {
         return Optional.ofNullable(mongoTemplate.findById(id, UserEnt.class));
     }
 
+    public List<UserSummaryEnt> findAllById(Collection<String> ids) {
+        List<String> validIds = ids.stream().filter(ObjectId::isValid).toList();
+        if (validIds.isEmpty()) {
+            return List.of();
+        }
+        return findSummaries(new Query(Criteria.where("_id").in(validIds)));
+    }
+
     public Optional<UserEnt> findByUsername(String username) {
         Query query = new Query(Criteria.where("username").is(username));
         return Optional.ofNullable(mongoTemplate.findOne(query, UserEnt.class));
@@ -42,6 +102,7 @@ public class UserRepository {
     }
 
     public UserEnt save(UserEnt user) {
+        user.refreshUsernameKeys();
         return mongoTemplate.save(user);
     }
 
@@ -53,12 +114,48 @@ public class UserRepository {
     }
 
     public void update(UserEnt user) {
-        mongoTemplate.save(user);
+        save(user);
+    }
+
+    public List<UserSummaryEnt> findPage(Criteria criteria, String after, int limit) {
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(limit);
+        if (after != null) {
+            if (!ObjectId.isValid(after)) {
+                throw new InputValidationException("Invalid cursor: " + after);
+            }
+            query.addCriteria(Criteria.where("_id").gt(new ObjectId(after)));
+        }
+        return findSummaries(query);
+    }
+
+    public List<UserSummaryEnt> findByUsernamePrefix(String prefix, int limit) {
+        String normalized = UserEnt.normalizeUsername(prefix);
+        Query query = new Query(Criteria.where("usernameLower").gte(normalized).lt(normalized + Character.MAX_VALUE))
+                .with(Sort.by(Sort.Direction.ASC, "usernameLower"))
+                .limit(limit);
+        return findSummaries(query);
+    }
+
+    public List<UserSummaryEnt> searchByUsername(String search, int limit) {
+        List<UserSummaryEnt> result = new ArrayList<>(findByUsernamePrefix(search, limit));
+        if (result.size() < limit) {
+            // Terms of at least three characters are narrowed by the trigram index before the substring check;
+            // shorter ones can only be matched against the usernameLower index keys.
+            String normalized = UserEnt.normalizeUsername(search);
+            Criteria criteria = Criteria.where("usernameLower").regex(Pattern.quote(normalized))
+                    .and("_id").nin(result.stream().map(user -> new ObjectId(user.id())).toList());
+            if (normalized.length() >= UserEnt.TRIGRAM) {
+                criteria.and("usernameTrigrams").all(UserEnt.trigrams(normalized));
+            }
+            Query query = new Query(criteria)
+                    .with(Sort.by(Sort.Direction.ASC, "usernameLower"))
+                    .limit(limit - result.size());
+            result.addAll(findSummaries(query));
+        }
+        return result;
     }
 
-    public List<UserEnt> findByUsernameContaining(String search) {
-        Pattern regex = Pattern.compile(search, Pattern.CASE_INSENSITIVE);
-        Query query = new Query(Criteria.where("username").regex(regex));
-        return mongoTemplate.find(query, UserEnt.class);
+    private List<UserSummaryEnt> findSummaries(Query query) {
+        return mongoTemplate.query(UserEnt.class).as(UserSummaryEnt.class).matching(query).all();
     }
 }
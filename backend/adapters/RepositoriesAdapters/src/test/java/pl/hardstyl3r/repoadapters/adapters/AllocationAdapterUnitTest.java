@@ -0,0 +1,114 @@
+package pl.hardstyl3r.repoadapters.adapters;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import pl.hardstyl3r.pas.v1.exceptions.ResourceInUseException;
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.repoadapters.objects.AllocationEnt;
+import pl.hardstyl3r.repoadapters.repositories.AllocationRepository;
+import pl.hardstyl3r.repoadapters.repositories.ResourceRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AllocationAdapterUnitTest {
+
+    @Mock
+    private AllocationRepository allocationRepository;
+
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    private AllocationAdapter adapter;
+
+    @BeforeEach
+    void setup() {
+        adapter = new AllocationAdapter(allocationRepository, resourceRepository);
+    }
+
+    @Test
+    void shouldReleaseCounterWhenInsertIsRejected() {
+        when(resourceRepository.incrementAllocationCount("r1", 1)).thenReturn(true);
+        when(allocationRepository.insert(any(AllocationEnt.class))).thenThrow(new DuplicateKeyException("dup"));
+
+        assertThatThrownBy(() -> adapter.insertActive(new Allocation("u1", "r1")))
+                .isInstanceOf(ResourceInUseException.class);
+        verify(resourceRepository).incrementAllocationCount("r1", -1);
+    }
+
+    @Test
+    void shouldReleaseCounterWhenFailedInsertWasNotWritten() {
+        when(resourceRepository.incrementAllocationCount("r1", 1)).thenReturn(true);
+        when(allocationRepository.insert(any(AllocationEnt.class)))
+                .thenThrow(new DataAccessResourceFailureException("timeout"));
+        when(allocationRepository.findAllById(anyCollection())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> adapter.insertActive(new Allocation("u1", "r1")))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        verify(resourceRepository).incrementAllocationCounts(Map.of("r1", -1L));
+    }
+
+    @Test
+    void shouldKeepCounterWhenFailedInsertWasWritten() {
+        when(resourceRepository.incrementAllocationCount("r1", 1)).thenReturn(true);
+        when(allocationRepository.insert(any(AllocationEnt.class)))
+                .thenThrow(new DataAccessResourceFailureException("timeout"));
+        when(allocationRepository.findAllById(anyCollection())).thenAnswer(invocation -> {
+            AllocationEnt written = new AllocationEnt("u1", "r1");
+            written.setId(invocation.<List<String>>getArgument(0).getFirst());
+            return List.of(written);
+        });
+
+        assertThatThrownBy(() -> adapter.insertActive(new Allocation("u1", "r1")))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        verify(resourceRepository, never()).incrementAllocationCounts(Map.of("r1", -1L));
+    }
+
+    @Test
+    void shouldReleaseBatchReservationsWhenBulkInsertFails() {
+        when(resourceRepository.findExistingIds(anyCollection())).thenReturn(Set.of("r1", "r2"));
+        when(allocationRepository.insertAll(anyList())).thenThrow(new DataAccessResourceFailureException("timeout"));
+        when(allocationRepository.findAllById(anyCollection())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> adapter.insertAllActive(List.of(
+                new Allocation("u1", "r1"), new Allocation("u1", "r2"), new Allocation("u2", "r2"))))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        verify(resourceRepository).incrementAllocationCounts(Map.of("r1", 1L, "r2", 2L));
+        verify(resourceRepository).incrementAllocationCounts(Map.of("r1", -1L, "r2", -2L));
+    }
+
+    @Test
+    void shouldReleaseStaleReservationWhenNoAllocationReferencesResource() {
+        when(resourceRepository.findAllocationCount("r1")).thenReturn(OptionalLong.of(2));
+        when(allocationRepository.existsByResourceId("r1")).thenReturn(false);
+        when(resourceRepository.clearAllocationCount("r1", 2)).thenReturn(true);
+
+        assertThat(adapter.releaseStaleReservations("r1")).isTrue();
+    }
+
+    @Test
+    void shouldKeepReservationWhileAllocationReferencesResource() {
+        when(resourceRepository.findAllocationCount("r1")).thenReturn(OptionalLong.of(1));
+        when(allocationRepository.existsByResourceId("r1")).thenReturn(true);
+
+        assertThat(adapter.releaseStaleReservations("r1")).isFalse();
+        verify(resourceRepository, never()).clearAllocationCount("r1", 1);
+    }
+}
@@ -0,0 +1,141 @@
+package pl.hardstyl3r.repoadapters.adapters;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.hardstyl3r.pas.v1.objects.resources.Book;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingResourceAdapterUnitTest {
+
+    @Mock
+    private ResourceAdapter delegate;
+
+    private CachingResourceAdapter cache;
+
+    private final Book book = new Book("r1", "Book 1", "Desc", "Author", "9788327159779");
+
+    @BeforeEach
+    void setup() {
+        cache = new CachingResourceAdapter(delegate, 60000);
+    }
+
+    @Test
+    void shouldLoadCatalogOnceWithinTtl() {
+        when(delegate.findAll()).thenReturn(List.of(book));
+
+        List<Resource> first = cache.findAll();
+        List<Resource> second = cache.findAll();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(cache.existsById("r1")).isTrue();
+        assertThat(cache.findAllById(List.of("r1", "missing"))).containsExactly(book);
+        verify(delegate, times(1)).findAll();
+        assertThat(cache.hits()).isEqualTo(3);
+        assertThat(cache.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReloadCatalogAfterSave() {
+        Book added = new Book("r2", "Book 2", "Desc", "Author", "9788327165596");
+        when(delegate.findAll()).thenReturn(List.of(book), List.of(book, added));
+        when(delegate.save(added)).thenReturn(added);
+
+        assertThat(cache.findAll()).hasSize(1);
+        cache.save(added);
+
+        assertThat(cache.findAll()).hasSize(2);
+        verify(delegate, times(2)).findAll();
+    }
+
+    @Test
+    void shouldReloadCatalogAfterDelete() {
+        when(delegate.findAll()).thenReturn(List.of(book), List.of());
+
+        cache.findAll();
+        assertThat(cache.existsById("r1")).isTrue();
+        cache.deleteById("r1");
+
+        assertThat(cache.findAll()).isEmpty();
+        assertThat(cache.existsById("r1")).isFalse();
+    }
+
+    @Test
+    void shouldReturnCopiesOfCachedResources() {
+        when(delegate.findAll()).thenReturn(List.of(book));
+        cache.findAll();
+
+        cache.findById("r1").orElseThrow().setName("Changed");
+        cache.findAll().getFirst().setName("Changed");
+        cache.findAllById(List.of("r1")).getFirst().setName("Changed");
+
+        assertThat(cache.findById("r1")).get().extracting(Resource::getName).isEqualTo("Book 1");
+        assertThat(cache.findAll()).extracting(Resource::getName).containsExactly("Book 1");
+        assertThat(cache.findById("missing")).isEmpty();
+    }
+
+    @Test
+    void shouldLookUpByIdWithoutLoadingCatalog() {
+        when(delegate.findById("r1")).thenReturn(Optional.of(book));
+        when(delegate.existsById("r1")).thenReturn(true);
+
+        assertThat(cache.findById("r1")).contains(book);
+        assertThat(cache.existsById("r1")).isTrue();
+        verify(delegate, never()).findAll();
+        assertThat(cache.misses()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReloadCatalogOnceForConcurrentMisses() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.findAll()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return List.of(book);
+        });
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<List<Resource>>> results = new ArrayList<>();
+            results.add(executor.submit(cache::findAll));
+            loading.await();
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(cache::findAll));
+            }
+            release.countDown();
+            for (Future<List<Resource>> result : results) {
+                assertThat(result.get()).containsExactly(book);
+            }
+        }
+        verify(delegate, times(1)).findAll();
+    }
+
+    @Test
+    void shouldNotKeepCatalogLoadedWhileInvalidated() {
+        when(delegate.findAll()).thenAnswer(invocation -> {
+            cache.invalidate();
+            return List.of(book);
+        });
+
+        cache.findAll();
+
+        assertThat(cache.size()).isZero();
+    }
+}
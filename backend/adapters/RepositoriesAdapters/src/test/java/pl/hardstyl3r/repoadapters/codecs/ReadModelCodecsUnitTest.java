@@ -0,0 +1,141 @@
+package pl.hardstyl3r.repoadapters.codecs;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.UserRole;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
+import pl.hardstyl3r.pas.v1.objects.resources.Periodical;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.repoadapters.mappers.AllocationMapper;
+import pl.hardstyl3r.repoadapters.mappers.ResourceMapper;
+import pl.hardstyl3r.repoadapters.objects.AllocationEnt;
+import pl.hardstyl3r.repoadapters.objects.UserEnt;
+import pl.hardstyl3r.repoadapters.objects.UserEntRole;
+import pl.hardstyl3r.repoadapters.objects.resources.BookEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.NewspaperEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.PeriodicalEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.ResourceEnt;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadModelCodecsUnitTest {
+
+    private final MappingMongoConverter converter = converter();
+
+    @Test
+    void shouldDecodeUserWrittenBySpringDataWithoutPassword() {
+        UserEnt user = new UserEnt("ewisniewska", "$2a$10$hash", "Edyta Wiśniewska", true);
+        user.setId(new ObjectId().toHexString());
+        user.setRole(UserEntRole.RESOURCE_MANAGER);
+
+        UserSummary decoded = decode(write(user), UserSummary.class);
+
+        assertThat(decoded).isEqualTo(new UserSummary(user.getId(), "ewisniewska", "Edyta Wiśniewska", true,
+                UserRole.RESOURCE_MANAGER));
+    }
+
+    @Test
+    void shouldDecodeUserWithNullRole() {
+        UserEnt user = new UserEnt("ewisniewska", "$2a$10$hash", "Edyta Wiśniewska", true);
+        user.setId(new ObjectId().toHexString());
+        user.setRole(null);
+        Document document = write(user);
+
+        assertThat(decode(document, UserSummary.class)).isEqualTo(new UserSummary(user.getId(), "ewisniewska",
+                "Edyta Wiśniewska", true, UserRole.CLIENT));
+        assertThat(decode(document.append("role", null).append("active", null), UserSummary.class))
+                .extracting(UserSummary::active, UserSummary::role).containsExactly(false, UserRole.CLIENT);
+        assertThat(decode(document.append("role", "SUPERUSER").append("active", "yes"), UserSummary.class))
+                .extracting(UserSummary::active, UserSummary::role).containsExactly(false, UserRole.CLIENT);
+    }
+
+    @Test
+    void shouldDecodeEveryResourceSubtypeLikeTheEntityMapper() {
+        String id = new ObjectId().toHexString();
+        for (ResourceEnt resource : new ResourceEnt[]{
+                new BookEnt(id, "Lalka", "Powieść", "Bolesław Prus", "9788327159779"),
+                new PeriodicalEnt(id, "Wiedza i Życie", "Miesięcznik", 7),
+                new NewspaperEnt(id, "Gazeta", "Dziennik", "2025-01-01")}) {
+            Document document = write(resource);
+
+            Resource decoded = decode(document, Resource.class);
+
+            Resource expected = ResourceMapper.toDomain(converter.read(ResourceEnt.class, document));
+            assertThat(decoded).isExactlyInstanceOf(expected.getClass()).usingRecursiveComparison().isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void shouldReadIssueNumberOfAnyNumericType() {
+        for (Object issueNumber : new Object[]{7, 7L, 7.0, new Decimal128(7)}) {
+            Document document = write(new PeriodicalEnt(new ObjectId().toHexString(), "Wiedza i Życie", "Miesięcznik", 0))
+                    .append("issueNumber", issueNumber);
+
+            assertThat(decode(document, Resource.class)).isInstanceOfSatisfying(Periodical.class,
+                    periodical -> assertThat(periodical.getIssueNumber()).isEqualTo(7));
+        }
+    }
+
+    @Test
+    void shouldDecodeResourceWithoutKnownTypeToNull() {
+        Document document = write(new BookEnt(new ObjectId().toHexString(), "Lalka", "Powieść", "Bolesław Prus",
+                "9788327159779"));
+
+        assertThat(decode(new Document(document).append("_class", "pl.example.Unknown"), Resource.class)).isNull();
+        document.remove("_class");
+        assertThat(decode(document, Resource.class)).isNull();
+    }
+
+    @Test
+    void shouldDecodeAllocationTimesLikeTheEntityMapper() {
+        AllocationEnt allocation = new AllocationEnt("u1", "r1");
+        allocation.setId(new ObjectId().toHexString());
+        allocation.setStartTime(LocalDateTime.of(2025, 3, 30, 1, 30, 15, 123_000_000));
+        allocation.setEndTime(null);
+        Document document = write(allocation);
+
+        Allocation decoded = decode(document, Allocation.class);
+
+        Allocation expected = AllocationMapper.toDomain(converter.read(AllocationEnt.class, document));
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(decoded.getStartTime()).isEqualTo(LocalDateTime.of(2025, 3, 30, 1, 30, 15, 123_000_000));
+        assertThat(decoded.getEndTime()).isNull();
+    }
+
+    private Document write(Object entity) {
+        Document document = new Document();
+        converter.write(entity, document);
+        return document;
+    }
+
+    private static <T> T decode(Document document, Class<T> type) {
+        BsonDocument bson = document.toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry());
+        Codec<T> codec = ReadModelCodecs.REGISTRY.get(type);
+        return codec.decode(new BsonDocumentReader(bson), DecoderContext.builder().build());
+    }
+
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
@@ -0,0 +1,102 @@
+package pl.hardstyl3r.repoadapters.db;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import io.micrometer.tracing.Tracer;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoAction;
+import org.springframework.data.mongodb.core.MongoActionOperation;
+import org.springframework.data.mongodb.core.WriteConcernResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+import pl.hardstyl3r.repoadapters.objects.AllocationEnt;
+import pl.hardstyl3r.repoadapters.objects.UserEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.BookEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.ResourceEnt;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MongoConfigUnitTest {
+
+    @Test
+    void shouldOverrideConnectionStringWithPoolProperties() {
+        MongoConfig config = new MongoConfig();
+        ReflectionTestUtils.setField(config, "connectionString",
+                "mongodb://localhost:27017/pas_db?maxPoolSize=7&serverSelectionTimeoutMS=4000");
+        ReflectionTestUtils.setField(config, "maxSize", 20);
+        ReflectionTestUtils.setField(config, "minSize", 2);
+        ReflectionTestUtils.setField(config, "maxWaitMs", 500L);
+        ReflectionTestUtils.setField(config, "maxIdleMs", 60_000L);
+        ReflectionTestUtils.setField(config, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(config, "socketTimeoutMs", 3000L);
+        ReflectionTestUtils.setField(config, "readPreference", "secondaryPreferred");
+        MongoPoolMetrics metrics = new MongoPoolMetrics(20);
+
+        MongoClientSettings settings = config.clientSettings(metrics, Tracer.NOOP);
+
+        assertThat(settings.getConnectionPoolSettings().getMaxSize()).isEqualTo(20);
+        assertThat(settings.getConnectionPoolSettings().getMinSize()).isEqualTo(2);
+        assertThat(settings.getConnectionPoolSettings().getMaxWaitTime(TimeUnit.MILLISECONDS)).isEqualTo(500);
+        assertThat(settings.getConnectionPoolSettings().getMaxConnectionIdleTime(TimeUnit.MILLISECONDS)).isEqualTo(60_000);
+        assertThat(settings.getConnectionPoolSettings().getConnectionPoolListeners()).containsExactly(metrics);
+        assertThat(settings.getSocketSettings().getConnectTimeout(TimeUnit.MILLISECONDS)).isEqualTo(1000);
+        assertThat(settings.getSocketSettings().getReadTimeout(TimeUnit.MILLISECONDS)).isEqualTo(3000);
+        assertThat(settings.getClusterSettings().getServerSelectionTimeout(TimeUnit.MILLISECONDS)).isEqualTo(4000);
+        assertThat(settings.getReadPreference()).isEqualTo(ReadPreference.secondaryPreferred());
+        assertThat(settings.getCommandListeners()).hasSize(2).startsWith(metrics)
+                .hasAtLeastOneElementOfType(MongoTracingCommandListener.class);
+    }
+
+    @Test
+    void shouldKeepConnectionStringSettingsWhenPoolPropertiesAreNotSet() {
+        MongoConfig config = new MongoConfig();
+        ReflectionTestUtils.setField(config, "connectionString",
+                "mongodb://localhost:27017/pas_db?maxPoolSize=7&socketTimeoutMS=0&readPreference=secondary");
+        ReflectionTestUtils.setField(config, "minSize", 2);
+
+        MongoClientSettings settings = config.clientSettings(config.mongoPoolMetrics(), Tracer.NOOP);
+
+        assertThat(settings.getConnectionPoolSettings().getMaxSize()).isEqualTo(7);
+        assertThat(settings.getConnectionPoolSettings().getMinSize()).isEqualTo(2);
+        assertThat(settings.getSocketSettings().getReadTimeout(TimeUnit.MILLISECONDS)).isZero();
+        assertThat(settings.getReadPreference()).isEqualTo(ReadPreference.secondary());
+        assertThat(config.mongoPoolMetrics().snapshot().maxSize()).isEqualTo(7);
+    }
+
+    @Test
+    void shouldResolveWriteConcernByEntity() {
+        WriteConcernResolver resolver = MongoConfig.writeConcernResolver(WriteConcern.W1, Map.of(
+                AllocationEnt.class, WriteConcern.MAJORITY,
+                ResourceEnt.class, WriteConcern.JOURNALED));
+
+        assertThat(resolver.resolve(action(AllocationEnt.class))).isEqualTo(WriteConcern.MAJORITY);
+        assertThat(resolver.resolve(action(BookEnt.class))).isEqualTo(WriteConcern.JOURNALED);
+        assertThat(resolver.resolve(action(UserEnt.class))).isEqualTo(WriteConcern.W1);
+        assertThat(resolver.resolve(action(null))).isEqualTo(WriteConcern.W1);
+    }
+
+    @Test
+    void shouldFallBackToCollectionWriteConcernWithoutDefault() {
+        WriteConcernResolver resolver = MongoConfig.writeConcernResolver(null, Map.of(
+                AllocationEnt.class, WriteConcern.MAJORITY));
+
+        assertThat(resolver.resolve(action(AllocationEnt.class))).isEqualTo(WriteConcern.MAJORITY);
+        assertThat(resolver.resolve(action(UserEnt.class))).isEqualTo(WriteConcern.ACKNOWLEDGED);
+    }
+
+    @Test
+    void shouldRejectUnknownWriteConcern() {
+        assertThat(MongoConfig.writeConcern("majority")).isEqualTo(WriteConcern.MAJORITY);
+        assertThatThrownBy(() -> MongoConfig.writeConcern("most")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static MongoAction action(Class<?> entityType) {
+        return new MongoAction(WriteConcern.ACKNOWLEDGED, MongoActionOperation.INSERT, "collection", entityType,
+                new Document(), null);
+    }
+}
@@ -0,0 +1,86 @@
+package pl.hardstyl3r.repoadapters.db;
+
+import com.mongodb.RequestContext;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ConnectionPoolSettings;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class MongoPoolMetricsUnitTest {
+
+    private static final ServerId SERVER = new ServerId(new ClusterId(), new ServerAddress());
+    private static final ConnectionId CONNECTION = new ConnectionId(SERVER);
+
+    private final MongoPoolMetrics metrics = new MongoPoolMetrics(4);
+
+    @Test
+    void shouldTrackPoolUtilizationAndCheckoutWait() {
+        metrics.connectionPoolCreated(new ConnectionPoolCreatedEvent(SERVER, ConnectionPoolSettings.builder().build()));
+        metrics.connectionCreated(new ConnectionCreatedEvent(CONNECTION));
+        metrics.connectionCreated(new ConnectionCreatedEvent(CONNECTION));
+        for (int i = 0; i < 3; i++) {
+            metrics.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(SERVER, i));
+        }
+        metrics.connectionCheckedOut(new ConnectionCheckedOutEvent(CONNECTION, 0, TimeUnit.MICROSECONDS.toNanos(300)));
+        metrics.connectionCheckedOut(new ConnectionCheckedOutEvent(CONNECTION, 1, TimeUnit.MILLISECONDS.toNanos(40)));
+
+        MongoPoolMetrics.PoolStats stats = metrics.snapshot();
+        assertThat(stats.openConnections()).isEqualTo(2);
+        assertThat(stats.checkedOut()).isEqualTo(2);
+        assertThat(stats.waitQueueSize()).isEqualTo(1);
+        assertThat(stats.utilization()).isEqualTo(0.5);
+        assertThat(stats.checkOutWait().count()).isEqualTo(2);
+        assertThat(stats.checkOutWait().buckets()).containsEntry("1", 1L).containsEntry("50", 2L);
+
+        metrics.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(SERVER, 2,
+                ConnectionCheckOutFailedEvent.Reason.TIMEOUT, TimeUnit.SECONDS.toNanos(2)));
+        metrics.connectionCheckedIn(new ConnectionCheckedInEvent(CONNECTION, 0));
+
+        stats = metrics.snapshot();
+        assertThat(stats.checkedOut()).isEqualTo(1);
+        assertThat(stats.waitQueueSize()).isZero();
+        assertThat(stats.checkOutFailures()).isEqualTo(1);
+        assertThat(stats.checkOutWait().maxMillis()).isEqualTo(2000.0);
+    }
+
+    @Test
+    void shouldRecordLatencyPerCommand() {
+        ConnectionDescription description = new ConnectionDescription(SERVER);
+        RequestContext context = mock(RequestContext.class);
+        for (int i = 0; i < 99; i++) {
+            metrics.commandSucceeded(new CommandSucceededEvent(context, i, i, description, "pas_db", "find",
+                    new BsonDocument(), TimeUnit.MILLISECONDS.toNanos(3)));
+        }
+        metrics.commandSucceeded(new CommandSucceededEvent(context, 99, 99, description, "pas_db", "find",
+                new BsonDocument(), TimeUnit.MILLISECONDS.toNanos(400)));
+        metrics.commandFailed(new CommandFailedEvent(context, 100, 100, description, "pas_db", "insert",
+                TimeUnit.MILLISECONDS.toNanos(1), new IllegalStateException()));
+
+        MongoPoolMetrics.PoolStats stats = metrics.snapshot();
+        assertThat(stats.commands()).containsOnlyKeys("find", "insert");
+        LatencyHistogram.Snapshot find = stats.commands().get("find").latency();
+        assertThat(find.count()).isEqualTo(100);
+        assertThat(find.p50Millis()).isEqualTo(5);
+        assertThat(find.p99Millis()).isEqualTo(5);
+        assertThat(find.buckets()).containsEntry("500", 100L).containsEntry("+Inf", 100L);
+        assertThat(stats.commands().get("insert").failures()).isEqualTo(1);
+        assertThat(stats.commands().get("find").failures()).isZero();
+    }
+}
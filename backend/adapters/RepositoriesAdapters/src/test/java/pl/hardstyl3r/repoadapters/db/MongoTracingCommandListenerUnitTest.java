@@ -0,0 +1,57 @@
+package pl.hardstyl3r.repoadapters.db;
+
+import com.mongodb.RequestContext;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.test.simple.SimpleSpan;
+import io.micrometer.tracing.test.simple.SimpleTracer;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class MongoTracingCommandListenerUnitTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private final SimpleTracer tracer = new SimpleTracer();
+    private final MongoTracingCommandListener listener = new MongoTracingCommandListener(tracer);
+    private final RequestContext context = mock(RequestContext.class);
+
+    @Test
+    void shouldOpenCommandSpanUnderCurrentSpan() {
+        SimpleSpan port = tracer.nextSpan().name("AllocationAdapter.insertActive").start();
+
+        try (Tracer.SpanInScope ignored = tracer.withSpan(port)) {
+            listener.commandStarted(new CommandStartedEvent(context, 1, 7, CONNECTION, "pas_db", "insert",
+                    new BsonDocument()));
+        }
+        listener.commandSucceeded(new CommandSucceededEvent(context, 1, 7, CONNECTION, "pas_db", "insert",
+                new BsonDocument(), 1_000_000));
+
+        SimpleSpan command = tracer.lastSpan();
+        assertThat(command.getName()).isEqualTo("mongodb insert");
+        assertThat(command.getParentId()).isEqualTo(port.context().spanId());
+        assertThat(command.getTags()).containsEntry("db.operation", "insert").containsEntry("db.name", "pas_db");
+        assertThat(command.getEndTimestamp()).isNotNull();
+    }
+
+    @Test
+    void shouldMarkFailedCommands() {
+        IllegalStateException failure = new IllegalStateException("timeout");
+        listener.commandStarted(new CommandStartedEvent(context, 1, 8, CONNECTION, "pas_db", "find",
+                new BsonDocument()));
+        listener.commandFailed(new CommandFailedEvent(context, 1, 8, CONNECTION, "pas_db", "find", 1_000_000,
+                failure));
+
+        assertThat(tracer.onlySpan().getError()).isSameAs(failure);
+    }
+}
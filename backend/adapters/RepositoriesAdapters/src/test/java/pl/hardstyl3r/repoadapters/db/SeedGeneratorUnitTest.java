@@ -0,0 +1,92 @@
+package pl.hardstyl3r.repoadapters.db;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import pl.hardstyl3r.repoadapters.objects.AllocationEnt;
+import pl.hardstyl3r.repoadapters.objects.UserEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.BookEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.ResourceEnt;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeedGeneratorUnitTest {
+
+    private static final int SCALE = 10_000;
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final SeedGenerator generator = new SeedGenerator(SCALE, NOW);
+
+    @Test
+    void shouldGenerateSameBatchOnEveryRun() {
+        List<UserEnt> first = generator.users(2000, 3000);
+        List<UserEnt> second = new SeedGenerator(SCALE, NOW.plusDays(1)).users(2000, 3000);
+
+        assertThat(second).usingRecursiveFieldByFieldElementComparator().isEqualTo(first);
+        assertThat(first.getFirst().getId()).isEqualTo(SeedGenerator.userId(2000));
+    }
+
+    @Test
+    void shouldGenerateValidAndUniqueIds() {
+        List<String> ids = List.of(SeedGenerator.userId(0), SeedGenerator.resourceId(0), SeedGenerator.allocationId(0),
+                SeedGenerator.userId(SCALE - 1));
+
+        assertThat(ids).allMatch(ObjectId::isValid).doesNotHaveDuplicates();
+        assertThat(generator.users(0, SCALE)).extracting(UserEnt::getUsername).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldAllocateEachResourceActivelyAtMostOnce() {
+        List<AllocationEnt> allocations = generator.allocations(0, SCALE);
+
+        List<String> active = allocations.stream()
+                .filter(allocation -> allocation.getEndTime() == null)
+                .map(AllocationEnt::getResourceId)
+                .toList();
+        assertThat(active).hasSize(SCALE / 10).doesNotHaveDuplicates();
+        assertThat(allocations).allMatch(allocation -> !allocation.getStartTime().isAfter(NOW)
+                && (allocation.getEndTime() == null || !allocation.getEndTime().isAfter(NOW)));
+    }
+
+    @Test
+    void shouldSkewAllocationsTowardsFewUsers() {
+        Map<String, Long> perUser = generator.allocations(0, SCALE).stream()
+                .collect(Collectors.groupingBy(AllocationEnt::getUserId, Collectors.counting()));
+
+        long topTenPercent = perUser.values().stream()
+                .sorted((a, b) -> Long.compare(b, a))
+                .limit(SCALE / 10)
+                .mapToLong(Long::longValue)
+                .sum();
+        assertThat(topTenPercent).isGreaterThan(SCALE / 4);
+    }
+
+    @Test
+    void shouldMixResourceTypesWithValidIsbns() {
+        List<ResourceEnt> resources = generator.resources(0, SCALE);
+
+        Map<Class<?>, Long> types = resources.stream()
+                .collect(Collectors.groupingBy(Object::getClass, Collectors.counting()));
+        assertThat(types.get(BookEnt.class)).isBetween(5500L, 6500L);
+        assertThat(resources.stream().filter(BookEnt.class::isInstance).map(BookEnt.class::cast))
+                .allMatch(book -> isValidIsbn13(book.getIsbn()));
+        Set<String> ids = resources.stream().map(ResourceEnt::getId).collect(Collectors.toCollection(HashSet::new));
+        assertThat(ids).hasSize(SCALE);
+        assertThat(generator.allocations(0, SCALE)).extracting(AllocationEnt::getResourceId)
+                .allMatch(ids::contains);
+    }
+
+    private static boolean isValidIsbn13(String isbn) {
+        int sum = 0;
+        for (int i = 0; i < 13; i++) {
+            sum += (isbn.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return isbn.length() == 13 && sum % 10 == 0;
+    }
+}
@@ -0,0 +1,110 @@
+package pl.hardstyl3r.repoadapters.indexes;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IndexRegistryUnitTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+    @Test
+    void shouldEnsureEveryDeclaredIndex() {
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(Document.class)).thenReturn(indexOps);
+        IndexRegistry registry = new IndexRegistry(mongoTemplate, List.of(repository(List.of())));
+
+        registry.afterSingletonsInstantiated();
+
+        verify(indexOps, times(2)).createIndex(any(Index.class));
+    }
+
+    @Test
+    void shouldNotFailStartupWithoutDatabase() {
+        when(mongoTemplate.indexOps(Document.class)).thenThrow(new DataAccessResourceFailureException("no server"));
+        IndexRegistry registry = new IndexRegistry(mongoTemplate, List.of(repository(List.of())));
+
+        registry.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void shouldFailStartupWhenIndexCannotBeBuilt() {
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(Document.class)).thenReturn(indexOps);
+        when(indexOps.createIndex(any(Index.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+        IndexRegistry registry = new IndexRegistry(mongoTemplate, List.of(repository(List.of())));
+
+        assertThatThrownBy(registry::afterSingletonsInstantiated).isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void shouldFlagCollectionScansAndBlockingSorts() {
+        Document indexed = plan(new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "IXSCAN").append("indexName", "userId_1_endTime_1")));
+        Document scanned = plan(new Document("stage", "COLLSCAN"));
+        Document sorted = plan(new Document("stage", "SORT")
+                .append("inputStage", new Document("stage", "FETCH")
+                        .append("inputStage", new Document("stage", "IXSCAN"))));
+        IndexRegistry registry = new IndexRegistry(mongoTemplate, List.of(repository(List.of(
+                QueryShape.of("indexed", new Document("userId", "u")),
+                QueryShape.of("scanned", new Document("name", "n")),
+                new QueryShape("sorted", new Document("userId", "u"), new Document("_id", -1))))));
+        when(mongoTemplate.getCollectionName(Document.class)).thenReturn("allocations");
+        mockExplain(List.of(indexed, scanned, sorted));
+
+        List<QueryPlan> plans = registry.explain();
+
+        assertThat(plans).extracting(QueryPlan::query, QueryPlan::collectionScan, QueryPlan::blockingSort)
+                .containsExactly(tuple("indexed", false, false), tuple("scanned", true, false),
+                        tuple("sorted", false, true));
+        assertThat(plans.getFirst().stages()).containsExactly("FETCH", "IXSCAN");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockExplain(List<Document> results) {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        FindIterable<Document> iterable = mock(FindIterable.class);
+        when(mongoTemplate.getCollection("allocations")).thenReturn(collection);
+        when(collection.find(any(Document.class))).thenReturn(iterable);
+        when(iterable.sort(any())).thenReturn(iterable);
+        when(iterable.explain()).thenReturn(results.get(0), results.subList(1, results.size()).toArray(Document[]::new));
+    }
+
+    private static Document plan(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+
+    private static IndexedRepository repository(List<QueryShape> shapes) {
+        return new IndexedRepository() {
+            @Override
+            public Class<?> entityType() {
+                return Document.class;
+            }
+
+            @Override
+            public List<Index> indexes() {
+                return List.of(new Index().on("userId", Sort.Direction.ASC), new Index().on("resourceId", Sort.Direction.ASC));
+            }
+
+            @Override
+            public List<QueryShape> queryShapes() {
+                return shapes;
+            }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package pl.hardstyl3r.repoadapters.mappers;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import pl.hardstyl3r.pas.v1.objects.UserFilter;
+import pl.hardstyl3r.pas.v1.objects.UserRole;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserFilterMapperUnitTest {
+
+    @Test
+    void shouldMatchEverythingWithoutFilter() {
+        assertThat(UserFilterMapper.toCriteria(null).getCriteriaObject()).isEmpty();
+        assertThat(UserFilterMapper.toCriteria(new UserFilter(null, null, null, null)).getCriteriaObject()).isEmpty();
+    }
+
+    @Test
+    void shouldTranslateEqualityFields() {
+        Document criteria = UserFilterMapper.toCriteria(new UserFilter(null, null, true, UserRole.ADMIN)).getCriteriaObject();
+
+        assertThat(criteria.getList("$and", Document.class)).containsExactly(
+                new Document("role", "ADMIN"),
+                new Document("active", true));
+    }
+
+    @Test
+    void shouldQuoteSubstringFilters() {
+        Document criteria = UserFilterMapper.toCriteria(new UserFilter("a.*", null, null, null)).getCriteriaObject();
+
+        List<Document> and = criteria.getList("$and", Document.class);
+        Pattern pattern = (Pattern) and.getFirst().get("username");
+        assertThat(pattern.matcher("xa.*y").find()).isTrue();
+        assertThat(pattern.matcher("abc").find()).isFalse();
+    }
+}
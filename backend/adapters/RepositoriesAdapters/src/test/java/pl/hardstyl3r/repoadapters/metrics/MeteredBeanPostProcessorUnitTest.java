@@ -0,0 +1,140 @@
+package pl.hardstyl3r.repoadapters.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.test.simple.SimpleSpan;
+import io.micrometer.tracing.test.simple.SimpleTracer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import pl.hardstyl3r.pas.appports.ResourcePort;
+import pl.hardstyl3r.pas.v1.exceptions.ResourceNotFoundException;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.pas.v1.objects.resources.ResourceCatalog;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MeteredBeanPostProcessorUnitTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SimpleTracer tracer = new SimpleTracer();
+    private final MeteredBeanPostProcessor postProcessor = new MeteredBeanPostProcessor(OperationMetrics.PORT,
+            List.of(ResourcePort.class),
+            new StaticListableBeanFactory(Map.of("metrics", new OperationMetrics(registry, tracer)))
+                    .getBeanProvider(OperationMetrics.class));
+
+    @Test
+    void shouldTimePortMethodsAndKeepConcreteType() {
+        Object bean = postProcessor.postProcessAfterInitialization(new StubResourcePort(), "stub");
+
+        assertThat(bean).isInstanceOf(StubResourcePort.class);
+        StubResourcePort port = (StubResourcePort) bean;
+        port.findAll();
+        port.findAll();
+        port.calls();
+
+        assertThat(registry.get(OperationMetrics.PORT)
+                .tag("operation", "StubResourcePort.findAll")
+                .tag("outcome", "SUCCESS")
+                .tag("exception", "none")
+                .timer().count()).isEqualTo(2);
+        assertThat(registry.find(OperationMetrics.PORT).tag("operation", "StubResourcePort.calls").timer()).isNull();
+    }
+
+    @Test
+    void shouldTagOnlyDomainExceptionsByName() {
+        ResourcePort port = (ResourcePort) postProcessor.postProcessAfterInitialization(new StubResourcePort(), "stub");
+
+        assertThatThrownBy(() -> port.findById("missing")).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> port.deleteById("r1")).isInstanceOf(IllegalStateException.class);
+
+        assertThat(registry.get(OperationMetrics.PORT)
+                .tags("operation", "StubResourcePort.findById", "outcome", "CLIENT_ERROR",
+                        "exception", "ResourceNotFoundException")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get(OperationMetrics.PORT)
+                .tags("operation", "StubResourcePort.deleteById", "outcome", "SERVER_ERROR", "exception", "Other")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRunPortMethodsInChildSpans() {
+        ResourcePort port = (ResourcePort) postProcessor.postProcessAfterInitialization(new StubResourcePort(), "stub");
+        SimpleSpan request = tracer.nextSpan().name("http get /api/v1/resources").start();
+
+        try (Tracer.SpanInScope ignored = tracer.withSpan(request)) {
+            port.findAll();
+        }
+        assertThatThrownBy(() -> port.findById("missing")).isInstanceOf(ResourceNotFoundException.class);
+
+        SimpleSpan findAll = tracer.getSpans().stream()
+                .filter(span -> span.getName().equals("StubResourcePort.findAll"))
+                .findFirst().orElseThrow();
+        assertThat(findAll.getParentId()).isEqualTo(request.context().spanId());
+        assertThat(findAll.getTags()).containsEntry("pas.layer", OperationMetrics.PORT);
+        assertThat(tracer.lastSpan().getName()).isEqualTo("StubResourcePort.findById");
+        assertThat(tracer.lastSpan().getError()).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void shouldLeaveOtherBeansUntouched() {
+        Object bean = new Object();
+
+        assertThat(postProcessor.postProcessAfterInitialization(bean, "other")).isSameAs(bean);
+    }
+
+    static class StubResourcePort implements ResourcePort {
+
+        private int calls;
+
+        int calls() {
+            return calls;
+        }
+
+        @Override
+        public List<Resource> findAll() {
+            calls++;
+            return List.of();
+        }
+
+        @Override
+        public ResourceCatalog findCatalog() {
+            return ResourceCatalog.unversioned(findAll());
+        }
+
+        @Override
+        public Optional<Resource> findById(String id) {
+            throw new ResourceNotFoundException("Resource " + id + " not found");
+        }
+
+        @Override
+        public List<Resource> findAllById(Collection<String> ids) {
+            return List.of();
+        }
+
+        @Override
+        public Resource save(Resource resource) {
+            return resource;
+        }
+
+        @Override
+        public void deleteById(String id) {
+            throw new IllegalStateException("database unavailable");
+        }
+
+        @Override
+        public boolean deleteIfUnallocated(String id) {
+            return false;
+        }
+
+        @Override
+        public boolean existsById(String id) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package pl.hardstyl3r.repoadapters.repositories;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.mock.env.MockEnvironment;
+import pl.hardstyl3r.pas.v1.exceptions.InputValidationException;
+import pl.hardstyl3r.repoadapters.objects.UserEnt;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserRepositoryUnitTest {
+
+    private final FindIterable<Document> findIterable = mock(FindIterable.class, RETURNS_SELF);
+    private final MongoCollection<Document> collection = mock(MongoCollection.class);
+    private UserRepository repository;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(findIterable.iterator()).thenReturn(cursor);
+        when(collection.find(any(Bson.class), eq(Document.class))).thenReturn(findIterable);
+        MongoDatabase database = mock(MongoDatabase.class);
+        when(database.getCollection(anyString(), eq(Document.class))).thenReturn(collection);
+        MongoDatabaseFactory factory = mock(MongoDatabaseFactory.class);
+        when(factory.getMongoDatabase()).thenReturn(database);
+        when(factory.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.setEnvironment(new MockEnvironment().withProperty("pas.mongodb.collection.users", "users"));
+        context.refresh();
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setApplicationContext(context);
+        MappingMongoConverter converter = new MappingMongoConverter(new DefaultDbRefResolver(factory), mappingContext);
+        converter.afterPropertiesSet();
+
+        repository = new UserRepository(new MongoTemplate(factory, converter));
+    }
+
+    @Test
+    void shouldFetchOnlySummaryFieldsForListings() {
+        repository.findAllById(List.of("64b7f0c2a1b2c3d4e5f60718"));
+        repository.findByUsernamePrefix("anna", 10);
+
+        ArgumentCaptor<Document> projections = ArgumentCaptor.forClass(Document.class);
+        verify(findIterable, times(2)).projection(projections.capture());
+        assertThat(projections.getAllValues()).allSatisfy(projection -> {
+            assertThat(projection.keySet()).contains("username", "name", "active", "role");
+            assertThat(projection.keySet()).doesNotContain("password", "usernameLower", "usernameTrigrams");
+        });
+    }
+
+    @Test
+    void shouldNarrowSubstringSearchByStoredTrigrams() {
+        repository.searchByUsername("Beef", 5);
+
+        ArgumentCaptor<Bson> filters = ArgumentCaptor.forClass(Bson.class);
+        verify(collection, times(2)).find(filters.capture(), eq(Document.class));
+        Document substring = (Document) filters.getAllValues().get(1);
+        assertThat(substring.get("usernameTrigrams", Document.class).getList("$all", String.class))
+                .containsExactly("bee", "eef");
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> repository.findPage(new Criteria(), "not-an-id", 10))
+                .isInstanceOf(InputValidationException.class);
+    }
+
+    @Test
+    void shouldDeriveDistinctTrigramsFromUsername() {
+        UserEnt user = new UserEnt("AbcAbc", "password", "Name", true);
+
+        assertThat(user.getUsernameTrigrams()).containsExactly("abc", "bca", "cab");
+        assertThat(new UserEnt("ab", "password", "Name", true).getUsernameTrigrams()).isEmpty();
+    }
+}
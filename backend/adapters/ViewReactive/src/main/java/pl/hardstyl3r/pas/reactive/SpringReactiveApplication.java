@@ -0,0 +1,34 @@
+package pl.hardstyl3r.pas.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+
+/**
+ * Non-blocking variant of the REST API. RepositoriesAdapters is only used for its entities and mappers,
+ * so the blocking Mongo client it brings in is not configured here.
+ * <p>
+ * Only the read paths and allocation lifecycle are served: resource listing and lookup, user lookup and listing,
+ * and allocation lookup, create, end, and the current and past allocations of a user. Not implemented here, and
+ * still served only by ViewRest:
+ * <ul>
+ *     <li>resource create, update and delete</li>
+ *     <li>user management: rename, role change, activation, deactivation, delete, password change and search</li>
+ *     <li>allocation batches, paging over all allocations and delete</li>
+ *     <li>authentication: register, login, refresh and logout. Tokens issued by ViewRest are accepted here because
+ *     both share {@code jwt.secret}.</li>
+ *     <li>diagnostics and GraphQL</li>
+ * </ul>
+ * <p>
+ * Allocation create relies on the partial unique index {@code resourceId_active_unique} to reject a second active
+ * allocation of a resource. {@code ReactiveIndexInitializer} creates it, together with the other allocation and user
+ * indexes, at startup; startup fails if an index cannot be built, e.g. over existing duplicate active allocations.
+ */
+@SpringBootApplication(exclude = {MongoAutoConfiguration.class, MongoDataAutoConfiguration.class})
+public class SpringReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(SpringReactiveApplication.class, args);
+    }
+}
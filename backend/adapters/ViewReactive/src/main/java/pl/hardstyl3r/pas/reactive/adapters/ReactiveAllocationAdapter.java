@@ -0,0 +1,113 @@
+package pl.hardstyl3r.pas.reactive.adapters;
+
+import org.bson.types.ObjectId;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import pl.hardstyl3r.pas.appports.ReactiveAllocationPort;
+import pl.hardstyl3r.pas.v1.exceptions.InputValidationException;
+import pl.hardstyl3r.pas.v1.exceptions.ResourceInUseException;
+import pl.hardstyl3r.pas.v1.exceptions.ResourceNotFoundException;
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
+import pl.hardstyl3r.repoadapters.mappers.AllocationMapper;
+import pl.hardstyl3r.repoadapters.objects.AllocationEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.ResourceEnt;
+import pl.hardstyl3r.repoadapters.repositories.ResourceRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+public class ReactiveAllocationAdapter implements ReactiveAllocationPort {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveAllocationAdapter(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Allocation> findById(String id) {
+        if (!ObjectId.isValid(id)) {
+            return Mono.empty();
+        }
+        return mongoTemplate.findById(id, AllocationEnt.class).map(AllocationMapper::toDomain);
+    }
+
+    @Override
+    public Mono<Allocation> insertActive(Allocation allocation) {
+        // Same protocol as the blocking AllocationAdapter: the resource counter is raised first,
+        // so a conditional resource delete cannot race with this insert.
+        String resourceId = allocation.getResourceId();
+        return adjustAllocationCount(resourceId, 1)
+                .flatMap(matched -> matched
+                        ? mongoTemplate.insert(AllocationMapper.toEntity(allocation))
+                        : Mono.error(new ResourceNotFoundException("Resource with id " + resourceId + " not found.")))
+                // Only a write the server rejected is released; see AllocationAdapter#insertActive.
+                .onErrorResume(DataIntegrityViolationException.class, e -> adjustAllocationCount(resourceId, -1)
+                        .then(Mono.error(e instanceof DuplicateKeyException
+                                ? new ResourceInUseException("Resource with id " + resourceId + " is already allocated.")
+                                : e)))
+                .map(AllocationMapper::toDomain);
+    }
+
+    @Override
+    public Mono<Allocation> endActive(String id, LocalDateTime endTime) {
+        if (!ObjectId.isValid(id)) {
+            return Mono.empty();
+        }
+        Query query = new Query(Criteria.where("_id").is(id).and("endTime").is(null));
+        return mongoTemplate.findAndModify(query, new Update().set("endTime", endTime),
+                        FindAndModifyOptions.options().returnNew(true), AllocationEnt.class)
+                .map(AllocationMapper::toDomain);
+    }
+
+    @Override
+    public Flux<Allocation> findActiveByUserId(String userId) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("endTime").is(null));
+        return mongoTemplate.find(query, AllocationEnt.class).map(AllocationMapper::toDomain);
+    }
+
+    @Override
+    public Mono<CursorPage<Allocation>> findEndedByUserId(String userId, String before, int limit) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("endTime").ne(null))
+                .with(Sort.by(Sort.Direction.DESC, "_id"))
+                .limit(limit + 1);
+        if (before != null) {
+            if (!ObjectId.isValid(before)) {
+                return Mono.error(new InputValidationException("Invalid cursor: " + before));
+            }
+            query.addCriteria(Criteria.where("_id").lt(new ObjectId(before)));
+        }
+        return mongoTemplate.find(query, AllocationEnt.class)
+                .map(AllocationMapper::toDomain)
+                .collectList()
+                .map(items -> toPage(items, limit));
+    }
+
+    private Mono<Boolean> adjustAllocationCount(String resourceId, long delta) {
+        if (!ObjectId.isValid(resourceId)) {
+            return Mono.just(false);
+        }
+        Query query = new Query(Criteria.where("_id").is(resourceId));
+        return mongoTemplate.updateFirst(query, new Update().inc(ResourceRepository.ALLOCATION_COUNT, delta), ResourceEnt.class)
+                .map(result -> result.getMatchedCount() > 0);
+    }
+
+    private static CursorPage<Allocation> toPage(List<Allocation> items, int limit) {
+        if (items.size() <= limit) {
+            return new CursorPage<>(items, null);
+        }
+        List<Allocation> page = items.subList(0, limit);
+        return new CursorPage<>(page, page.getLast().getId());
+    }
+}
@@ -0,0 +1,34 @@
+package pl.hardstyl3r.pas.reactive.adapters;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import pl.hardstyl3r.pas.appports.ReactiveResourcePort;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.repoadapters.mappers.ResourceMapper;
+import pl.hardstyl3r.repoadapters.objects.resources.ResourceEnt;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Component
+public class ReactiveResourceAdapter implements ReactiveResourcePort {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveResourceAdapter(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Flux<Resource> findAll() {
+        return mongoTemplate.findAll(ResourceEnt.class).map(ResourceMapper::toDomain);
+    }
+
+    @Override
+    public Mono<Resource> findById(String id) {
+        if (!ObjectId.isValid(id)) {
+            return Mono.empty();
+        }
+        return mongoTemplate.findById(id, ResourceEnt.class).map(ResourceMapper::toDomain);
+    }
+}
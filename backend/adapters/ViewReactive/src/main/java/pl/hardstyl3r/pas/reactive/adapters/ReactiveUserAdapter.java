@@ -0,0 +1,44 @@
+package pl.hardstyl3r.pas.reactive.adapters;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import pl.hardstyl3r.pas.appports.ReactiveUserPort;
+import pl.hardstyl3r.pas.v1.objects.User;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
+import pl.hardstyl3r.repoadapters.mappers.UserMapper;
+import pl.hardstyl3r.repoadapters.objects.UserEnt;
+import pl.hardstyl3r.repoadapters.objects.UserSummaryEnt;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Component
+public class ReactiveUserAdapter implements ReactiveUserPort {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveUserAdapter(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Flux<UserSummary> findAll() {
+        return mongoTemplate.query(UserEnt.class).as(UserSummaryEnt.class).all().map(UserMapper::toSummary);
+    }
+
+    @Override
+    public Mono<User> findById(String id) {
+        if (!ObjectId.isValid(id)) {
+            return Mono.empty();
+        }
+        return mongoTemplate.findById(id, UserEnt.class).map(UserMapper::toDomain);
+    }
+
+    @Override
+    public Mono<User> findByUsername(String username) {
+        Query query = new Query(Criteria.where("username").is(username));
+        return mongoTemplate.findOne(query, UserEnt.class).map(UserMapper::toDomain);
+    }
+}
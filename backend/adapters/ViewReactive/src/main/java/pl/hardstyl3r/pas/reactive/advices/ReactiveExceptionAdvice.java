@@ -0,0 +1,32 @@
+package pl.hardstyl3r.pas.reactive.advices;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import pl.hardstyl3r.pas.v1.exceptions.*;
+
+/**
+ * Same status mapping as the per-exception advices in ViewRest.
+ */
+@RestControllerAdvice
+public class ReactiveExceptionAdvice {
+
+    @ExceptionHandler({ResourceNotFoundException.class, UserNotFoundException.class})
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    String notFoundHandler(RuntimeException ex) {
+        return ex.getMessage();
+    }
+
+    @ExceptionHandler({ResourceInUseException.class, AllocationException.class, UserNotActiveException.class})
+    @ResponseStatus(HttpStatus.CONFLICT)
+    String conflictHandler(RuntimeException ex) {
+        return ex.getMessage();
+    }
+
+    @ExceptionHandler({InputValidationException.class, UserValidationException.class, ResourceValidationException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    String badRequestHandler(RuntimeException ex) {
+        return ex.getMessage();
+    }
+}
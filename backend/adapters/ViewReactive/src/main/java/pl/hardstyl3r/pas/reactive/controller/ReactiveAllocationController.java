@@ -0,0 +1,117 @@
+package pl.hardstyl3r.pas.reactive.controller;
+
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import pl.hardstyl3r.pas.reactive.security.ReactivePrincipal;
+import pl.hardstyl3r.pas.reactive.services.ReactiveAllocationService;
+import pl.hardstyl3r.pas.reactive.services.ReactiveUserService;
+import pl.hardstyl3r.pas.v1.dto.AllocationRequest;
+import pl.hardstyl3r.pas.v1.exceptions.ResourceNotFoundException;
+import pl.hardstyl3r.pas.v1.exceptions.UserNotFoundException;
+import pl.hardstyl3r.pas.v1.exceptions.UserValidationException;
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
+import pl.hardstyl3r.pas.v1.objects.User;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/allocations")
+@CrossOrigin(origins = "http://localhost:5173", exposedHeaders = ReactiveAllocationController.NEXT_CURSOR_HEADER)
+public class ReactiveAllocationController {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final ReactiveAllocationService allocationService;
+    private final ReactiveUserService userService;
+
+    public ReactiveAllocationController(ReactiveAllocationService allocationService, ReactiveUserService userService) {
+        this.allocationService = allocationService;
+        this.userService = userService;
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RESOURCE_MANAGER')")
+    public Mono<Allocation> getAllocationById(@PathVariable String id) {
+        return allocationService.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Allocation with id " + id + " not found.")));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'RESOURCE_MANAGER', 'CLIENT')")
+    public Mono<Allocation> createAllocation(@Valid @RequestBody AllocationRequest allocationRequest, Authentication auth) {
+        Mono<String> targetUserId;
+        if (isClient(auth)) {
+            targetUserId = currentUserId(auth);
+        } else if (allocationRequest.userId() == null || allocationRequest.userId().isBlank()) {
+            return Mono.error(new UserValidationException("Admin/Manager musi podać ID użytkownika docelowego."));
+        } else {
+            targetUserId = Mono.just(allocationRequest.userId());
+        }
+        return targetUserId.flatMap(userId -> allocationService.createAllocation(userId, allocationRequest.resourceId()));
+    }
+
+    @PostMapping("/{id}/end")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RESOURCE_MANAGER')")
+    public Mono<Allocation> endAllocation(@PathVariable String id) {
+        return allocationService.endAllocation(id);
+    }
+
+    @GetMapping("/user/{userId}/current")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RESOURCE_MANAGER', 'CLIENT')")
+    public Flux<Allocation> getCurrentAllocationsForUser(@PathVariable String userId, Authentication auth) {
+        return validateAccessToUserData(userId, auth)
+                .thenMany(allocationService.getCurrentAllocationsForUser(userId));
+    }
+
+    @GetMapping("/user/{userId}/past")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RESOURCE_MANAGER', 'CLIENT')")
+    public Mono<ResponseEntity<List<Allocation>>> getPastAllocationsForUser(
+            @PathVariable String userId,
+            @RequestParam(value = "before", required = false) String before,
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            Authentication auth) {
+        return validateAccessToUserData(userId, auth)
+                .then(allocationService.getPastAllocationsForUser(userId, before, limit))
+                .map(ReactiveAllocationController::withNextCursor);
+    }
+
+    private static ResponseEntity<List<Allocation>> withNextCursor(CursorPage<Allocation> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.next());
+        }
+        return response.body(page.items());
+    }
+
+    private Mono<Void> validateAccessToUserData(String requestedUserId, Authentication auth) {
+        if (!isClient(auth)) {
+            return Mono.empty();
+        }
+        return currentUserId(auth)
+                .filter(requestedUserId::equals)
+                .switchIfEmpty(Mono.error(() -> new AccessDeniedException(
+                        "Nie masz uprawnień do przeglądania alokacji innego użytkownika.")))
+                .then();
+    }
+
+    private static boolean isClient(Authentication auth) {
+        return auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_CLIENT"));
+    }
+
+    private Mono<String> currentUserId(Authentication auth) {
+        if (auth.getPrincipal() instanceof ReactivePrincipal principal) {
+            return Mono.just(principal.id());
+        }
+        return userService.findUserByUsername(auth.getName())
+                .map(User::getId)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("Nie znaleziono zalogowanego użytkownika.")));
+    }
+}
@@ -0,0 +1,31 @@
+package pl.hardstyl3r.pas.reactive.controller;
+
+import org.springframework.web.bind.annotation.*;
+import pl.hardstyl3r.pas.reactive.services.ReactiveResourceService;
+import pl.hardstyl3r.pas.v1.exceptions.ResourceNotFoundException;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/resources")
+@CrossOrigin(origins = "http://localhost:5173")
+public class ReactiveResourceController {
+
+    private final ReactiveResourceService resourceService;
+
+    public ReactiveResourceController(ReactiveResourceService resourceService) {
+        this.resourceService = resourceService;
+    }
+
+    @GetMapping
+    public Flux<Resource> getAllResources() {
+        return resourceService.findAll();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Resource> getResourceById(@PathVariable String id) {
+        return resourceService.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Resource with id " + id + " not found.")));
+    }
+}
@@ -0,0 +1,40 @@
+package pl.hardstyl3r.pas.reactive.controller;
+
+import org.springframework.web.bind.annotation.*;
+import pl.hardstyl3r.pas.reactive.services.ReactiveUserService;
+import pl.hardstyl3r.pas.v1.dto.UserConverter;
+import pl.hardstyl3r.pas.v1.dto.UserDTO;
+import pl.hardstyl3r.pas.v1.exceptions.UserNotFoundException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1")
+@CrossOrigin(origins = "http://localhost:5173")
+public class ReactiveUserController {
+
+    private final ReactiveUserService userService;
+
+    public ReactiveUserController(ReactiveUserService userService) {
+        this.userService = userService;
+    }
+
+    @GetMapping("/user/id/{id}")
+    public Mono<UserDTO> getUserById(@PathVariable String id) {
+        return userService.findUserById(id)
+                .map(UserConverter::dtoFromUser)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User with id " + id + " not found")));
+    }
+
+    @GetMapping("/user/username/{username}")
+    public Mono<UserDTO> getUserByName(@PathVariable String username) {
+        return userService.findUserByUsername(username)
+                .map(UserConverter::dtoFromUser)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User with username " + username + " not found")));
+    }
+
+    @GetMapping("/users")
+    public Flux<UserDTO> getUsers() {
+        return userService.findAll().map(UserConverter::dtoFromSummary);
+    }
+}
@@ -0,0 +1,59 @@
+package pl.hardstyl3r.pas.reactive.indexes;
+
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+import pl.hardstyl3r.repoadapters.objects.AllocationEnt;
+import pl.hardstyl3r.repoadapters.objects.UserEnt;
+import pl.hardstyl3r.repoadapters.repositories.AllocationRepository;
+import pl.hardstyl3r.repoadapters.repositories.UserRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the indexes this application depends on before it accepts requests, in particular
+ * {@link AllocationRepository#ACTIVE_RESOURCE_INDEX}, without which two concurrent allocations of the same resource
+ * would both be inserted. The definitions are the ones the blocking repositories declare, so both applications
+ * build identical indexes.
+ */
+@Component
+public class ReactiveIndexInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveIndexInitializer.class);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveIndexInitializer(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            ensureIndexes().block();
+        } catch (DataAccessResourceFailureException | MongoTimeoutException | MongoSocketException e) {
+            // Same policy as IndexRegistry: an unreachable database is reported, anything else fails startup.
+            logger.warn("Could not reach MongoDB to ensure indexes at startup: {}", e.getMessage());
+        }
+    }
+
+    public Mono<Long> ensureIndexes() {
+        Map<Class<?>, List<Index>> declared = Map.of(
+                AllocationEnt.class, AllocationRepository.declaredIndexes(),
+                UserEnt.class, UserRepository.declaredIndexes());
+        return Flux.fromIterable(declared.entrySet())
+                .concatMap(entry -> Flux.fromIterable(entry.getValue())
+                        .concatMap(index -> mongoTemplate.indexOps(entry.getKey()).createIndex(index)))
+                .count()
+                .doOnNext(ensured -> logger.info("Ensured {} MongoDB indexes.", ensured));
+    }
+}
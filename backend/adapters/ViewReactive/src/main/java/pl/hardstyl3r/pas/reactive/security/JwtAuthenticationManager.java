@@ -0,0 +1,54 @@
+package pl.hardstyl3r.pas.reactive.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import pl.hardstyl3r.pas.appports.ReactiveUserPort;
+import pl.hardstyl3r.pas.v1.objects.User;
+import pl.hardstyl3r.pas.v1.security.TokenTypes;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Verifies access tokens issued by the servlet stack (same {@code jwt.secret}) and resolves the user
+ * without blocking. Invalid tokens and refresh tokens leave the exchange unauthenticated, like {@code JwtRequestFilter}.
+ */
+@Component
+public class JwtAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final JwtParser parser;
+    private final ReactiveUserPort userPort;
+
+    public JwtAuthenticationManager(@Value("${jwt.secret}") String secret, ReactiveUserPort userPort) {
+        this.parser = Jwts.parser().verifyWith(Keys.hmacShaKeyFor(secret.getBytes())).build();
+        this.userPort = userPort;
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims((String) authentication.getCredentials()).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Mono.empty();
+        }
+        if (!TokenTypes.isAccessToken(claims)) {
+            return Mono.empty();
+        }
+        String username = claims.getSubject();
+        return userPort.findByUsername(username)
+                .filter(User::isActive)
+                .map(user -> UsernamePasswordAuthenticationToken.authenticated(
+                        ReactivePrincipal.fromUser(user), null,
+                        List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))));
+    }
+}
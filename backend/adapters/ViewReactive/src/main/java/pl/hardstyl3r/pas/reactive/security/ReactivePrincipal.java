@@ -0,0 +1,18 @@
+package pl.hardstyl3r.pas.reactive.security;
+
+import pl.hardstyl3r.pas.v1.objects.User;
+import pl.hardstyl3r.pas.v1.objects.UserRole;
+
+import java.security.Principal;
+
+public record ReactivePrincipal(String id, String username, UserRole role) implements Principal {
+
+    public static ReactivePrincipal fromUser(User user) {
+        return new ReactivePrincipal(user.getId(), user.getUsername(), user.getRole());
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,61 @@
+package pl.hardstyl3r.pas.reactive.services;
+
+import org.springframework.stereotype.Service;
+import pl.hardstyl3r.pas.appports.ReactiveAllocationPort;
+import pl.hardstyl3r.pas.appports.ReactiveResourcePort;
+import pl.hardstyl3r.pas.appports.ReactiveUserPort;
+import pl.hardstyl3r.pas.v1.exceptions.*;
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
+import pl.hardstyl3r.pas.v1.objects.User;
+import pl.hardstyl3r.pas.v1.services.AllocationService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Service
+public class ReactiveAllocationService {
+
+    private final ReactiveAllocationPort allocationPort;
+    private final ReactiveUserPort userPort;
+    private final ReactiveResourcePort resourcePort;
+
+    public ReactiveAllocationService(ReactiveAllocationPort allocationPort, ReactiveUserPort userPort, ReactiveResourcePort resourcePort) {
+        this.allocationPort = allocationPort;
+        this.userPort = userPort;
+        this.resourcePort = resourcePort;
+    }
+
+    public Mono<Allocation> findById(String id) {
+        return allocationPort.findById(id);
+    }
+
+    public Mono<Allocation> createAllocation(String userId, String resourceId) {
+        return userPort.findById(userId)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User with id " + userId + " not found.")))
+                .filter(User::isActive)
+                .switchIfEmpty(Mono.error(() -> new UserNotActiveException("User with id " + userId + " is not active.")))
+                .then(resourcePort.findById(resourceId))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Resource with id " + resourceId + " not found.")))
+                .then(Mono.defer(() -> allocationPort.insertActive(new Allocation(userId, resourceId))));
+    }
+
+    public Mono<Allocation> endAllocation(String id) {
+        return allocationPort.endActive(id, LocalDateTime.now())
+                .switchIfEmpty(Mono.defer(() -> allocationPort.findById(id)
+                        .flatMap(existing -> Mono.<Allocation>error(new AllocationException("Allocation with id " + id + " has already been ended.")))
+                        .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Allocation with id " + id + " not found.")))));
+    }
+
+    public Flux<Allocation> getCurrentAllocationsForUser(String userId) {
+        return allocationPort.findActiveByUserId(userId);
+    }
+
+    public Mono<CursorPage<Allocation>> getPastAllocationsForUser(String userId, String before, int limit) {
+        if (limit < 1 || limit > AllocationService.MAX_PAGE_SIZE) {
+            return Mono.error(new InputValidationException("Limit must be between 1 and " + AllocationService.MAX_PAGE_SIZE + "."));
+        }
+        return allocationPort.findEndedByUserId(userId, before, limit);
+    }
+}
@@ -0,0 +1,25 @@
+package pl.hardstyl3r.pas.reactive.services;
+
+import org.springframework.stereotype.Service;
+import pl.hardstyl3r.pas.appports.ReactiveResourcePort;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class ReactiveResourceService {
+
+    private final ReactiveResourcePort resourcePort;
+
+    public ReactiveResourceService(ReactiveResourcePort resourcePort) {
+        this.resourcePort = resourcePort;
+    }
+
+    public Flux<Resource> findAll() {
+        return resourcePort.findAll();
+    }
+
+    public Mono<Resource> findById(String id) {
+        return resourcePort.findById(id);
+    }
+}
@@ -0,0 +1,30 @@
+package pl.hardstyl3r.pas.reactive.services;
+
+import org.springframework.stereotype.Service;
+import pl.hardstyl3r.pas.appports.ReactiveUserPort;
+import pl.hardstyl3r.pas.v1.objects.User;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class ReactiveUserService {
+
+    private final ReactiveUserPort userPort;
+
+    public ReactiveUserService(ReactiveUserPort userPort) {
+        this.userPort = userPort;
+    }
+
+    public Flux<UserSummary> findAll() {
+        return userPort.findAll();
+    }
+
+    public Mono<User> findUserById(String id) {
+        return userPort.findById(id);
+    }
+
+    public Mono<User> findUserByUsername(String username) {
+        return userPort.findByUsername(username);
+    }
+}
@@ -0,0 +1,124 @@
+package pl.hardstyl3r.pas.reactive;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.bson.Document;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import pl.hardstyl3r.pas.v1.dto.AllocationRequest;
+import pl.hardstyl3r.pas.v1.objects.UserRole;
+import pl.hardstyl3r.repoadapters.repositories.ResourceRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Date;
+
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReactiveApiIntegrationTest {
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+    @Autowired
+    private WebTestClient client;
+
+    @Value("${pas.mongodb.collection.users}")
+    private String usersCollectionName;
+    @Value("${pas.mongodb.collection.resources}")
+    private String resourcesCollectionName;
+    @Value("${pas.mongodb.collection.allocations}")
+    private String allocationsCollectionName;
+    @Value("${jwt.secret}")
+    private String secret;
+
+    private String userId;
+    private String resourceId;
+
+    @BeforeAll
+    void checkDatabaseConnection() {
+        try {
+            mongoTemplate.executeCommand("{ ping: 1 }").block(Duration.ofSeconds(5));
+        } catch (Exception e) {
+            Assumptions.abort("Could not connect to MongoDB. Skipping integration tests.");
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate.dropCollection(usersCollectionName).block();
+        mongoTemplate.dropCollection(resourcesCollectionName).block();
+        mongoTemplate.dropCollection(allocationsCollectionName).block();
+
+        Document user = new Document("username", "client").append("name", "Client User").append("active", true).append("password", "x").append("role", UserRole.CLIENT.name());
+        mongoTemplate.getCollection(usersCollectionName).flatMap(users -> Mono.from(users.insertOne(user))).block();
+        userId = user.getObjectId("_id").toHexString();
+
+        Document resource = new Document("_class", "pl.hardstyl3r.repoadapters.objects.resources.BookEnt").append("name", "Reactive Book").append("description", "Desc");
+        mongoTemplate.getCollection(resourcesCollectionName).flatMap(resources -> Mono.from(resources.insertOne(resource))).block();
+        resourceId = resource.getObjectId("_id").toHexString();
+    }
+
+    @Test
+    void shouldServePublicResourceCatalog() {
+        client.get().uri("/api/v1/resources")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(resourceId);
+    }
+
+    @Test
+    void shouldCreateAndListAllocationForClient() {
+        String token = token("client");
+
+        client.post().uri("/api/v1/allocations")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .bodyValue(new AllocationRequest(userId, resourceId))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.resourceId").isEqualTo(resourceId);
+
+        client.post().uri("/api/v1/allocations")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .bodyValue(new AllocationRequest(userId, resourceId))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        client.get().uri("/api/v1/allocations/user/{id}/current", userId)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+
+        Document stored = mongoTemplate.getCollection(resourcesCollectionName)
+                .flatMap(resources -> Mono.from(resources.find(new Document()).first()))
+                .block();
+        Assertions.assertEquals(1L, ((Number) stored.get(ResourceRepository.ALLOCATION_COUNT)).longValue());
+    }
+
+    @Test
+    void shouldRejectAllocationWithoutToken() {
+        client.post().uri("/api/v1/allocations")
+                .bodyValue(new AllocationRequest(userId, resourceId))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private String token(String username) {
+        return Jwts.builder()
+                .subject(username)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes()))
+                .compact();
+    }
+}
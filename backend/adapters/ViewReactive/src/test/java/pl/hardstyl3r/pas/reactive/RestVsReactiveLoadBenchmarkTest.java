@@ -0,0 +1,122 @@
+package pl.hardstyl3r.pas.reactive;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Porównuje ViewRest (servlet) i ViewReactive (WebFlux) przy dużej liczbie równoległych i bezczynnych połączeń.
+ * Oba serwery muszą działać na tej samej bazie z danymi z MongoInit. Uruchamiany tylko na żądanie:
+ * {@code mvn test -Dtest=RestVsReactiveLoadBenchmarkTest -Dpas.benchmarks=true
+ * -Dpas.benchmark.rest-url=http://localhost:8080 -Dpas.benchmark.reactive-url=http://localhost:8082}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "pas.benchmarks", matches = "true")
+class RestVsReactiveLoadBenchmarkTest {
+
+    private static final String REST_URL = System.getProperty("pas.benchmark.rest-url", "http://localhost:8080");
+    private static final String REACTIVE_URL = System.getProperty("pas.benchmark.reactive-url", "http://localhost:8082");
+    private static final int IDLE_CONNECTIONS = Integer.getInteger("pas.benchmark.idle-connections", 5_000);
+    private static final int CONCURRENCY = Integer.getInteger("pas.benchmark.concurrency", 1_000);
+    private static final int REQUESTS = Integer.getInteger("pas.benchmark.requests", 50_000);
+
+    private WebClient client;
+    private String token;
+    private String userId;
+
+    @BeforeAll
+    void setup() {
+        ConnectionProvider provider = ConnectionProvider.builder("benchmark")
+                .maxConnections(CONCURRENCY)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        client = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(provider)))
+                .build();
+        try {
+            Map<?, ?> login = client.post().uri(REST_URL + "/api/v1/auth/login")
+                    .bodyValue(Map.of("username", "admin", "password", "password"))
+                    .retrieve().bodyToMono(Map.class).block(Duration.ofSeconds(10));
+            token = (String) login.get("token");
+            Map<?, ?> user = client.get().uri(REACTIVE_URL + "/api/v1/user/username/ksawicka")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .retrieve().bodyToMono(Map.class).block(Duration.ofSeconds(10));
+            userId = (String) user.get("id");
+        } catch (Exception e) {
+            Assumptions.abort("Both servers must be running: " + REST_URL + ", " + REACTIVE_URL);
+        }
+    }
+
+    @Test
+    void compareServletAndReactiveStacks() throws IOException {
+        for (String baseUrl : List.of(REST_URL, REACTIVE_URL)) {
+            List<SocketChannel> idle = openIdleConnections(baseUrl);
+            try {
+                measure(baseUrl, "/api/v1/resources");
+                measure(baseUrl, "/api/v1/allocations/user/" + userId + "/current");
+            } finally {
+                for (SocketChannel channel : idle) {
+                    channel.close();
+                }
+            }
+        }
+    }
+
+    private void measure(String baseUrl, String path) {
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[REQUESTS];
+        AtomicInteger index = new AtomicInteger();
+
+        long start = System.nanoTime();
+        Flux.range(0, REQUESTS)
+                .flatMap(i -> {
+                    long requestStart = System.nanoTime();
+                    return client.get().uri(baseUrl + path)
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                            .retrieve().toBodilessEntity()
+                            .doOnSuccess(response -> latencies[index.getAndIncrement()] = System.nanoTime() - requestStart)
+                            .onErrorResume(e -> {
+                                errors.incrementAndGet();
+                                return Mono.empty();
+                            });
+                }, CONCURRENCY)
+                .blockLast();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] completed = Arrays.copyOf(latencies, index.get());
+        Arrays.sort(completed);
+        long p99Millis = completed.length == 0 ? 0
+                : completed[Math.max(0, (int) Math.ceil(completed.length * 0.99) - 1)] / 1_000_000;
+        System.out.printf("%-24s %-50s %,8.0f req/s  p99 %,5d ms  errors %d  (%d idle, %d concurrent)%n",
+                baseUrl, path, completed.length / seconds, p99Millis, errors.get(), IDLE_CONNECTIONS, CONCURRENCY);
+    }
+
+    private List<SocketChannel> openIdleConnections(String baseUrl) throws IOException {
+        URI uri = URI.create(baseUrl);
+        List<SocketChannel> channels = new ArrayList<>(IDLE_CONNECTIONS);
+        for (int i = 0; i < IDLE_CONNECTIONS; i++) {
+            channels.add(SocketChannel.open(new InetSocketAddress(uri.getHost(), uri.getPort())));
+        }
+        return channels;
+    }
+}
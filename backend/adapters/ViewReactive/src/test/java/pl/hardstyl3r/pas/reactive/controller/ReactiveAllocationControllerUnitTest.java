@@ -0,0 +1,97 @@
+package pl.hardstyl3r.pas.reactive.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.server.context.SecurityContextServerWebExchangeWebFilter;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import pl.hardstyl3r.pas.reactive.advices.ReactiveExceptionAdvice;
+import pl.hardstyl3r.pas.reactive.security.ReactivePrincipal;
+import pl.hardstyl3r.pas.reactive.services.ReactiveAllocationService;
+import pl.hardstyl3r.pas.reactive.services.ReactiveUserService;
+import pl.hardstyl3r.pas.v1.dto.AllocationRequest;
+import pl.hardstyl3r.pas.v1.exceptions.AllocationException;
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
+import pl.hardstyl3r.pas.v1.objects.UserRole;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockAuthentication;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.springSecurity;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveAllocationControllerUnitTest {
+
+    private WebTestClient client;
+
+    @Mock
+    private ReactiveAllocationService allocationService;
+
+    @Mock
+    private ReactiveUserService userService;
+
+    @BeforeEach
+    void setup() {
+        client = WebTestClient.bindToController(new ReactiveAllocationController(allocationService, userService))
+                .controllerAdvice(new ReactiveExceptionAdvice())
+                .webFilter(new SecurityContextServerWebExchangeWebFilter())
+                .apply(springSecurity())
+                .configureClient()
+                .build();
+    }
+
+    @Test
+    void shouldCreateAllocationForAuthenticatedClient() {
+        Allocation created = new Allocation("u1", "r1");
+        created.setId("a1");
+        when(allocationService.createAllocation("u1", "r1")).thenReturn(Mono.just(created));
+
+        client.mutateWith(mockAuthentication(authentication(new ReactivePrincipal("u1", "anna", UserRole.CLIENT))))
+                .post().uri("/api/v1/allocations")
+                .bodyValue(new AllocationRequest("someone-else", "r1"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("a1")
+                .jsonPath("$.userId").isEqualTo("u1");
+    }
+
+    @Test
+    void shouldReturnNextCursorForPastAllocations() {
+        Allocation ended = new Allocation("u1", "r1");
+        ended.setId("a2");
+        when(allocationService.getPastAllocationsForUser("u1", null, 1))
+                .thenReturn(Mono.just(new CursorPage<>(List.of(ended), "a2")));
+
+        client.mutateWith(mockAuthentication(authentication(new ReactivePrincipal("admin", "admin", UserRole.ADMIN))))
+                .get().uri("/api/v1/allocations/user/u1/past?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(ReactiveAllocationController.NEXT_CURSOR_HEADER, "a2")
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo("a2");
+    }
+
+    @Test
+    void shouldReturnConflictWhenAllocationAlreadyEnded() {
+        when(allocationService.endAllocation("a1"))
+                .thenReturn(Mono.error(new AllocationException("Allocation with id a1 has already been ended.")));
+
+        client.mutateWith(mockAuthentication(authentication(new ReactivePrincipal("admin", "admin", UserRole.ADMIN))))
+                .post().uri("/api/v1/allocations/a1/end")
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication(ReactivePrincipal principal) {
+        return UsernamePasswordAuthenticationToken.authenticated(principal, null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + principal.role().name())));
+    }
+}
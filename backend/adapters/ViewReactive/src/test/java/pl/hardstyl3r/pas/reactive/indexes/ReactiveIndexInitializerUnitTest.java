@@ -0,0 +1,45 @@
+package pl.hardstyl3r.pas.reactive.indexes;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import pl.hardstyl3r.repoadapters.objects.AllocationEnt;
+import pl.hardstyl3r.repoadapters.objects.UserEnt;
+import pl.hardstyl3r.repoadapters.repositories.AllocationRepository;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveIndexInitializerUnitTest {
+
+    private final ReactiveMongoTemplate mongoTemplate = mock(ReactiveMongoTemplate.class);
+    private final ReactiveIndexOperations allocationIndexes = mock(ReactiveIndexOperations.class);
+    private final ReactiveIndexOperations userIndexes = mock(ReactiveIndexOperations.class);
+
+    @Test
+    void shouldCreateActiveResourceIndexBeforeServing() {
+        when(mongoTemplate.indexOps(AllocationEnt.class)).thenReturn(allocationIndexes);
+        when(mongoTemplate.indexOps(UserEnt.class)).thenReturn(userIndexes);
+        when(allocationIndexes.createIndex(any())).thenReturn(Mono.just("created"));
+        when(userIndexes.createIndex(any())).thenReturn(Mono.just("created"));
+
+        StepVerifier.create(new ReactiveIndexInitializer(mongoTemplate).ensureIndexes())
+                .expectNextMatches(ensured -> ensured > 0)
+                .verifyComplete();
+
+        ArgumentCaptor<Index> created = ArgumentCaptor.forClass(Index.class);
+        verify(allocationIndexes, atLeastOnce()).createIndex(created.capture());
+        assertThat(created.getAllValues()).anySatisfy(index -> {
+            assertThat(index.getIndexOptions().getString("name")).isEqualTo(AllocationRepository.ACTIVE_RESOURCE_INDEX);
+            assertThat(index.getIndexOptions().getBoolean("unique")).isTrue();
+        });
+    }
+}
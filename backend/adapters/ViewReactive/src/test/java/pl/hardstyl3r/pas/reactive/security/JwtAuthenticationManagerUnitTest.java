@@ -0,0 +1,54 @@
+package pl.hardstyl3r.pas.reactive.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import pl.hardstyl3r.pas.appports.ReactiveUserPort;
+import pl.hardstyl3r.pas.v1.objects.User;
+import pl.hardstyl3r.pas.v1.objects.UserRole;
+import pl.hardstyl3r.pas.v1.security.TokenTypes;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationManagerUnitTest {
+
+    private static final String SECRET = "PodstawyAplikacjiSieciowychMegaTrudneIDlugieHaslo";
+    private final SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+    private final ReactiveUserPort userPort = mock(ReactiveUserPort.class);
+    private final JwtAuthenticationManager manager = new JwtAuthenticationManager(SECRET, userPort);
+
+    @Test
+    void shouldAuthenticateAccessTokenAndIgnoreRefreshToken() {
+        User anna = new User("anna", "encoded", "Anna", true);
+        anna.setId("u1");
+        anna.setRole(UserRole.CLIENT);
+        when(userPort.findByUsername("anna")).thenReturn(Mono.just(anna));
+
+        StepVerifier.create(manager.authenticate(bearer(token(false))))
+                .expectNextMatches(auth -> ((ReactivePrincipal) auth.getPrincipal()).id().equals("u1"))
+                .verifyComplete();
+        StepVerifier.create(manager.authenticate(bearer(token(true))))
+                .verifyComplete();
+    }
+
+    private String token(boolean refresh) {
+        var builder = Jwts.builder()
+                .subject("anna")
+                .expiration(new Date(System.currentTimeMillis() + 60000));
+        if (refresh) {
+            builder.id("4d1c9a6e-7f0a-4d6b-9b1e-3c2f5a8e9d10").claim(TokenTypes.CLAIM, TokenTypes.REFRESH);
+        }
+        return builder.signWith(key).compact();
+    }
+
+    private static UsernamePasswordAuthenticationToken bearer(String token) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(token, token);
+    }
+}
@@ -1,38 +1,66 @@
 package pl.hardstyl3r.pas.v1.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import pl.hardstyl3r.pas.v1.dto.AllocationRequest;
 import pl.hardstyl3r.pas.v1.exceptions.ResourceNotFoundException;
 import pl.hardstyl3r.pas.v1.exceptions.UserNotFoundException;
 import pl.hardstyl3r.pas.v1.exceptions.UserValidationException;
 import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.AllocationBatchResult;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
 import pl.hardstyl3r.pas.v1.objects.User;
+import pl.hardstyl3r.pas.v1.security.UserPrincipal;
 import pl.hardstyl3r.pas.v1.viewports.AllocationViewPort;
 import pl.hardstyl3r.pas.v1.viewports.UserViewPort;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/v1/allocations")
-@CrossOrigin(origins = "http://localhost:5173")
+@CrossOrigin(origins = "http://localhost:5173", exposedHeaders = AllocationController.NEXT_CURSOR_HEADER)
 public class AllocationController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final AllocationViewPort allocationViewPort;
     private final UserViewPort userViewPort;
+    private final ObjectMapper objectMapper;
 
-    public AllocationController(AllocationViewPort allocationViewPort, UserViewPort userViewPort) {
+    public AllocationController(AllocationViewPort allocationViewPort, UserViewPort userViewPort, ObjectMapper objectMapper) {
         this.allocationViewPort = allocationViewPort;
         this.userViewPort = userViewPort;
+        this.objectMapper = objectMapper;
     }
 
-    @GetMapping
-    public List<Allocation> getAllAllocations() {
-        return allocationViewPort.findAll();
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<Allocation>> getAllAllocations(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return withNextCursor(allocationViewPort.findPage(after, limit));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllocations() {
+        StreamingResponseBody body = out -> {
+            try (Stream<Allocation> allocations = allocationViewPort.streamAll()) {
+                Iterator<Allocation> iterator = allocations.iterator();
+                while (iterator.hasNext()) {
+                    out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    out.write('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
@@ -46,7 +74,6 @@ public class AllocationController {
     @PreAuthorize("hasAnyRole('ADMIN', 'RESOURCE_MANAGER', 'CLIENT')")
     public ResponseEntity<Allocation> createAllocation(@Valid @RequestBody AllocationRequest allocationRequest) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String currentUsername = auth.getName();
 
         boolean isClient = auth.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_CLIENT"));
@@ -54,9 +81,7 @@ public class AllocationController {
         String targetUserId;
 
         if (isClient) {
-            User currentUser = userViewPort.findUserByUsername(currentUsername)
-                    .orElseThrow(() -> new UserNotFoundException("Nie znaleziono zalogowanego użytkownika."));
-            targetUserId = currentUser.getId();
+            targetUserId = currentUserId(auth);
         } else {
             if (allocationRequest.userId() == null || allocationRequest.userId().isBlank()) {
                 throw new UserValidationException("Admin/Manager musi podać ID użytkownika docelowego.");
@@ -68,6 +93,21 @@ public class AllocationController {
         return ResponseEntity.ok(createdAllocation);
     }
 
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RESOURCE_MANAGER')")
+    public List<AllocationBatchResult> createAllocations(@RequestBody List<AllocationRequest> allocationRequests) {
+        List<Allocation> allocations = allocationRequests.stream()
+                .map(request -> request == null ? null : new Allocation(request.userId(), request.resourceId()))
+                .toList();
+        return allocationViewPort.createAllocations(allocations);
+    }
+
+    @PostMapping("/batch/end")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RESOURCE_MANAGER')")
+    public List<AllocationBatchResult> endAllocations(@RequestBody List<String> ids) {
+        return allocationViewPort.endAllocations(ids);
+    }
+
     @PostMapping("/{id}/end")
     @PreAuthorize("hasAnyRole('ADMIN', 'RESOURCE_MANAGER')")
     public ResponseEntity<Allocation> endAllocation(@PathVariable String id) {
@@ -91,9 +131,20 @@ public class AllocationController {
 
     @GetMapping("/user/{userId}/past")
     @PreAuthorize("hasAnyRole('ADMIN', 'RESOURCE_MANAGER', 'CLIENT')")
-    public List<Allocation> getPastAllocationsForUser(@PathVariable String userId) {
+    public ResponseEntity<List<Allocation>> getPastAllocationsForUser(
+            @PathVariable String userId,
+            @RequestParam(value = "before", required = false) String before,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
         validateAccessToUserData(userId);
-        return allocationViewPort.getPastAllocationsForUser(userId);
+        return withNextCursor(allocationViewPort.getPastAllocationsForUser(userId, before, limit));
+    }
+
+    private ResponseEntity<List<Allocation>> withNextCursor(CursorPage<Allocation> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.next());
+        }
+        return response.body(page.items());
     }
 
     private void validateAccessToUserData(String requestedUserId) {
@@ -103,15 +154,20 @@ public class AllocationController {
                 .anyMatch(a -> a.getAuthority().equals("ROLE_CLIENT"));
 
         if (isClient) {
-            String currentUsername = auth.getName();
-            User currentUser = userViewPort.findUserByUsername(currentUsername)
-                    .orElseThrow(() -> new UserNotFoundException("Nie znaleziono zalogowanego użytkownika."));
-
-            if (!currentUser.getId().equals(requestedUserId)) {
+            if (!currentUserId(auth).equals(requestedUserId)) {
                 throw new org.springframework.security.access.AccessDeniedException(
                         "Nie masz uprawnień do przeglądania alokacji innego użytkownika."
                 );
             }
         }
     }
-}
\ No newline at end of file
+
+    private String currentUserId(Authentication auth) {
+        if (auth.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return userViewPort.findUserByUsername(auth.getName())
+                .map(User::getId)
+                .orElseThrow(() -> new UserNotFoundException("Nie znaleziono zalogowanego użytkownika."));
+    }
+}
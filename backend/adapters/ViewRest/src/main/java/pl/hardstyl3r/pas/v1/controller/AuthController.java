@@ -1,24 +1,32 @@
 package pl.hardstyl3r.pas.v1.controller;
 
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import pl.hardstyl3r.pas.v1.dto.JwtResponse;
 import pl.hardstyl3r.pas.v1.dto.LoginRequest;
 import pl.hardstyl3r.pas.v1.dto.RegisterRequest;
-import pl.hardstyl3r.pas.v1.exceptions.UserNotFoundException;
 import pl.hardstyl3r.pas.v1.exceptions.UsernameIsTakenException;
+import pl.hardstyl3r.pas.v1.security.LoginExecutor;
+import pl.hardstyl3r.pas.v1.security.LoginRateLimiter;
 import pl.hardstyl3r.pas.v1.security.UserDetailsServiceImpl;
+import pl.hardstyl3r.pas.v1.security.UserPrincipal;
 import pl.hardstyl3r.pas.v1.services.UserService;
 import pl.hardstyl3r.pas.v1.security.JwtUtil;
 import pl.hardstyl3r.pas.v1.objects.User;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -29,21 +37,39 @@ public class AuthController {
     private final UserService userService;
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtUtil jwtUtil;
+    private final LoginExecutor loginExecutor;
+    private final LoginRateLimiter loginRateLimiter;
 
-    public AuthController(AuthenticationManager authenticationManager, UserService userService, UserDetailsServiceImpl userDetailsService, JwtUtil jwtUtil) {
+    public AuthController(AuthenticationManager authenticationManager, UserService userService, UserDetailsServiceImpl userDetailsService, JwtUtil jwtUtil, LoginExecutor loginExecutor, LoginRateLimiter loginRateLimiter) {
         this.authenticationManager = authenticationManager;
         this.userService = userService;
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.loginExecutor = loginExecutor;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        Duration wait = loginRateLimiter.tryAcquire(loginRequest.username(), request.getRemoteAddr());
+        if (!wait.isZero()) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (wait.toMillis() + 999) / 1000)))
+                    .body("Przekroczono limit prób logowania, spróbuj ponownie później"));
+        }
+        try {
+            return loginExecutor.submit(() -> login(loginRequest));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Zbyt wiele prób logowania, spróbuj ponownie"));
+        }
+    }
+
+    private ResponseEntity<?> login(LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.username(), loginRequest.password()));
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
 
         String jwt = jwtUtil.generateToken(userDetails);
@@ -75,21 +101,33 @@ public class AuthController {
         }
 
         try {
-            String username = jwtUtil.extractUsername(refreshToken);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-            if (jwtUtil.isTokenValid(refreshToken, userDetails)) {
-                String newAccessToken = jwtUtil.generateToken(userDetails);
-
-                User user = userService.findUserByUsername(userDetails.getUsername())
-                        .orElseThrow(() -> new UserNotFoundException("User not found"));
+            Claims claims = jwtUtil.parseRefreshToken(refreshToken);
+            UserPrincipal principal = userDetailsService.loadPrincipalByUsername(claims.getSubject());
 
-                return ResponseEntity.ok(new JwtResponse(newAccessToken, refreshToken, user.getId(), user.getUsername(), user.getRole().name()));
+            if (principal.isEnabled() && jwtUtil.consumeRefreshToken(claims)) {
+                return ResponseEntity.ok(new JwtResponse(jwtUtil.generateToken(principal), jwtUtil.generateRefreshToken(principal),
+                        principal.getId(), principal.getUsername(), principal.getRole().name()));
             }
         } catch (Exception e) {
             return ResponseEntity.status(401).body("Nieprawidłowy lub wygasły Refresh Token");
         }
 
-        return ResponseEntity.status(401).body("Refresh Token wygasł!");
+        return ResponseEntity.status(401).body("Refresh Token został już użyty lub unieważniony");
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody Map<String, String> request) {
+        String refreshToken = request.get("refreshToken");
+
+        if (refreshToken == null) {
+            return ResponseEntity.badRequest().body("Brak refresh tokena");
+        }
+
+        try {
+            jwtUtil.revokeRefreshToken(refreshToken);
+        } catch (Exception e) {
+            return ResponseEntity.status(401).body("Nieprawidłowy lub wygasły Refresh Token");
+        }
+        return ResponseEntity.ok("Wylogowano");
     }
 }
@@ -0,0 +1,86 @@
+package pl.hardstyl3r.pas.v1.controller;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import pl.hardstyl3r.pas.v1.diagnostics.VirtualThreadPinningMonitor;
+import pl.hardstyl3r.pas.v1.diagnostics.VirtualThreadSelfCheck;
+import pl.hardstyl3r.pas.v1.security.CacheStats;
+import pl.hardstyl3r.pas.v1.security.JwtUtil;
+import pl.hardstyl3r.pas.v1.security.PrincipalCache;
+import pl.hardstyl3r.pas.v1.security.RevocationStats;
+import pl.hardstyl3r.repoadapters.adapters.CachingResourceAdapter;
+import pl.hardstyl3r.repoadapters.db.MongoPoolMetrics;
+import pl.hardstyl3r.repoadapters.indexes.IndexRegistry;
+import pl.hardstyl3r.repoadapters.indexes.QueryPlan;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/diagnostics")
+@CrossOrigin(origins = "http://localhost:5173")
+@PreAuthorize("hasRole('ADMIN')")
+public class DiagnosticsController {
+
+    private final JwtUtil jwtUtil;
+    private final PrincipalCache principalCache;
+    private final ObjectProvider<CachingResourceAdapter> resourceCache;
+    private final VirtualThreadSelfCheck virtualThreadSelfCheck;
+    private final VirtualThreadPinningMonitor pinningMonitor;
+    private final ObjectProvider<IndexRegistry> indexRegistry;
+    private final ObjectProvider<MongoPoolMetrics> mongoPoolMetrics;
+
+    public DiagnosticsController(JwtUtil jwtUtil, PrincipalCache principalCache,
+                                 ObjectProvider<CachingResourceAdapter> resourceCache,
+                                 VirtualThreadSelfCheck virtualThreadSelfCheck, VirtualThreadPinningMonitor pinningMonitor,
+                                 ObjectProvider<IndexRegistry> indexRegistry,
+                                 ObjectProvider<MongoPoolMetrics> mongoPoolMetrics) {
+        this.jwtUtil = jwtUtil;
+        this.principalCache = principalCache;
+        this.resourceCache = resourceCache;
+        this.virtualThreadSelfCheck = virtualThreadSelfCheck;
+        this.pinningMonitor = pinningMonitor;
+        this.indexRegistry = indexRegistry;
+        this.mongoPoolMetrics = mongoPoolMetrics;
+    }
+
+    @GetMapping("/caches")
+    public Map<String, CacheStats> getCacheStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("verifiedTokens", jwtUtil.getVerifiedTokenCacheStats());
+        stats.put("principals", principalCache.stats());
+        // The resource cache only exists in front of the MongoDB adapter.
+        resourceCache.ifAvailable(cache -> stats.put("resources", new CacheStats(cache.hits(), cache.misses(), cache.size())));
+        return stats;
+    }
+
+    @GetMapping("/revoked-tokens")
+    public RevocationStats getRevokedTokenStats() {
+        return jwtUtil.getRevokedTokenStats();
+    }
+
+    @GetMapping("/threads")
+    public Map<String, Object> getThreadDiagnostics() {
+        Map<String, Object> diagnostics = new LinkedHashMap<>();
+        diagnostics.put("virtualThreadsEnabled", virtualThreadSelfCheck.isVirtualThreadsEnabled());
+        diagnostics.put("runsOnVirtualThreads", virtualThreadSelfCheck.results());
+        diagnostics.put("pinningRecording", pinningMonitor.isRecording());
+        diagnostics.put("pinning", pinningMonitor.report());
+        return diagnostics;
+    }
+
+    @GetMapping("/query-plans")
+    public List<QueryPlan> getQueryPlans() {
+        IndexRegistry registry = indexRegistry.getIfAvailable();
+        return registry == null ? List.of() : registry.explain();
+    }
+
+    @GetMapping("/mongo-pool")
+    public ResponseEntity<MongoPoolMetrics.PoolStats> getMongoPoolStats() {
+        MongoPoolMetrics metrics = mongoPoolMetrics.getIfAvailable();
+        return metrics == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(metrics.snapshot());
+    }
+}
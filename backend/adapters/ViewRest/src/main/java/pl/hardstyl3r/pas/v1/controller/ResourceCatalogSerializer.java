@@ -0,0 +1,55 @@
+package pl.hardstyl3r.pas.v1.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.pas.v1.objects.resources.ResourceCatalog;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+@Component
+public class ResourceCatalogSerializer {
+
+    private final ObjectWriter writer;
+    private volatile Serialized last;
+
+    public ResourceCatalogSerializer(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(new TypeReference<List<Resource>>() {
+        });
+    }
+
+    public Serialized serialize(ResourceCatalog catalog) {
+        Serialized current = last;
+        if (catalog.versioned() && current != null && current.version() == catalog.version()) {
+            return current;
+        }
+        try {
+            byte[] body = writer.writeValueAsBytes(catalog.resources());
+            Serialized serialized = new Serialized(catalog.version(), body, etag(body));
+            if (catalog.versioned()) {
+                last = serialized;
+            }
+            return serialized;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize resource catalog.", e);
+        }
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Serialized(long version, byte[] body, String etag) {
+    }
+}
@@ -1,8 +1,10 @@
 package pl.hardstyl3r.pas.v1.controller;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import pl.hardstyl3r.pas.v1.dto.CreateResourceDTO;
 import pl.hardstyl3r.pas.v1.dto.EditResourceDTO;
 import pl.hardstyl3r.pas.v1.exceptions.ResourceNotFoundException;
@@ -11,22 +13,29 @@ import pl.hardstyl3r.pas.v1.viewports.CreateResourceCommand;
 import pl.hardstyl3r.pas.v1.viewports.EditResourceCommand;
 import pl.hardstyl3r.pas.v1.viewports.ResourceViewPort;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/v1/resources")
-@CrossOrigin(origins = "http://localhost:5173")
+@CrossOrigin(origins = "http://localhost:5173", exposedHeaders = "ETag")
 public class ResourceController {
 
     private final ResourceViewPort resourceViewPort;
+    private final ResourceCatalogSerializer catalogSerializer;
 
-    public ResourceController(ResourceViewPort resourceViewPort) {
+    public ResourceController(ResourceViewPort resourceViewPort, ResourceCatalogSerializer catalogSerializer) {
         this.resourceViewPort = resourceViewPort;
+        this.catalogSerializer = catalogSerializer;
     }
 
     @GetMapping
-    public List<Resource> getAllResources() {
-        return resourceViewPort.findAll();
+    public ResponseEntity<byte[]> getAllResources(WebRequest webRequest) {
+        ResourceCatalogSerializer.Serialized catalog = catalogSerializer.serialize(resourceViewPort.getCatalog());
+        if (webRequest.checkNotModified(catalog.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(catalog.etag())
+                .body(catalog.body());
     }
 
     @GetMapping("/{id}")
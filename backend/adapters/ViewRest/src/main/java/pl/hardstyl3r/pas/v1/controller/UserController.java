@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import pl.hardstyl3r.pas.v1.dto.ChangePasswordRequest;
@@ -16,6 +17,7 @@ import pl.hardstyl3r.pas.v1.exceptions.UserValidationException;
 import pl.hardstyl3r.pas.v1.objects.User;
 import pl.hardstyl3r.pas.v1.objects.UserRole;
 import pl.hardstyl3r.pas.v1.security.JwtUtil;
+import pl.hardstyl3r.pas.v1.security.UserPrincipal;
 import pl.hardstyl3r.pas.v1.viewports.UserViewPort;
 
 import java.util.List;
@@ -83,8 +85,9 @@ public class UserController {
     }
 
     @GetMapping("/user/search/{search}")
-    public List<UserDTO> searchForUser(@PathVariable String search) {
-        return UserConverter.dtoFromUsers(userViewPort.searchForUsersByUsername(search));
+    public List<UserDTO> searchForUser(@PathVariable String search,
+                                       @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return UserConverter.dtoFromUsers(userViewPort.searchForUsersByUsername(search, limit));
     }
 
     @PatchMapping("/user/id/{id}/rename")
@@ -124,10 +127,16 @@ public class UserController {
 
     @PatchMapping("/user/password")
     public ResponseEntity<?> changePassword(@RequestBody ChangePasswordRequest request) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userViewPort.findUserByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
-        userViewPort.changePassword(user.getId(), request.oldPassword(), request.newPassword());
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String userId;
+        if (auth.getPrincipal() instanceof UserPrincipal principal) {
+            userId = principal.getId();
+        } else {
+            userId = userViewPort.findUserByUsername(auth.getName())
+                    .map(User::getId)
+                    .orElseThrow(() -> new UserNotFoundException("User not found"));
+        }
+        userViewPort.changePassword(userId, request.oldPassword(), request.newPassword());
         return ResponseEntity.ok("Hasło zostało zmienione.");
     }
 }
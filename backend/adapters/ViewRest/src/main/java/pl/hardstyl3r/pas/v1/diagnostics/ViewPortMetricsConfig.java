@@ -0,0 +1,22 @@
+package pl.hardstyl3r.pas.v1.diagnostics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pl.hardstyl3r.pas.v1.viewports.AllocationViewPort;
+import pl.hardstyl3r.pas.v1.viewports.ResourceViewPort;
+import pl.hardstyl3r.pas.v1.viewports.UserViewPort;
+import pl.hardstyl3r.repoadapters.metrics.MeteredBeanPostProcessor;
+import pl.hardstyl3r.repoadapters.metrics.OperationMetrics;
+
+import java.util.List;
+
+@Configuration
+public class ViewPortMetricsConfig {
+
+    @Bean
+    public static MeteredBeanPostProcessor viewPortMetrics(ObjectProvider<OperationMetrics> metrics) {
+        return new MeteredBeanPostProcessor(OperationMetrics.VIEW_PORT,
+                List.of(UserViewPort.class, ResourceViewPort.class, AllocationViewPort.class), metrics);
+    }
+}
@@ -0,0 +1,77 @@
+package pl.hardstyl3r.pas.v1.diagnostics;
+
+import org.apache.catalina.connector.Connector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Probes the Tomcat and async executors after startup to report whether work really runs on virtual threads.
+ */
+@Component
+public class VirtualThreadSelfCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadSelfCheck.class);
+
+    private final boolean virtualThreadsEnabled;
+    private volatile Map<String, Boolean> results = Map.of();
+
+    public VirtualThreadSelfCheck(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        ApplicationContext context = event.getApplicationContext();
+        Map<String, Boolean> checked = new LinkedHashMap<>();
+        if (context instanceof WebServerApplicationContext web && web.getWebServer() instanceof TomcatWebServer tomcat) {
+            Connector connector = tomcat.getTomcat().getConnector();
+            checked.put("tomcat", runsOnVirtualThread(connector.getProtocolHandler().getExecutor()));
+        }
+        if (context.containsBean("applicationTaskExecutor")) {
+            checked.put("applicationTaskExecutor", runsOnVirtualThread(context.getBean("applicationTaskExecutor", Executor.class)));
+        }
+        results = Map.copyOf(checked);
+
+        if (!virtualThreadsEnabled) {
+            log.info("Virtual threads disabled, request handling uses platform threads: {}", checked);
+        } else if (checked.containsValue(false)) {
+            log.warn("Virtual threads enabled, but some executors still use platform threads: {}", checked);
+        } else {
+            log.info("Virtual threads enabled and verified: {}", checked);
+        }
+    }
+
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+
+    public Map<String, Boolean> results() {
+        return results;
+    }
+
+    static boolean runsOnVirtualThread(Executor executor) {
+        if (executor == null) {
+            return false;
+        }
+        CompletableFuture<Boolean> probe = new CompletableFuture<>();
+        try {
+            executor.execute(() -> probe.complete(Thread.currentThread().isVirtual()));
+            return probe.get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
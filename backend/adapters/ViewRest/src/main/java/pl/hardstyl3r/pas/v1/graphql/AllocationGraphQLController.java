@@ -0,0 +1,86 @@
+package pl.hardstyl3r.pas.v1.graphql;
+
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import pl.hardstyl3r.pas.v1.dto.UserConverter;
+import pl.hardstyl3r.pas.v1.dto.UserDTO;
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.pas.v1.viewports.AllocationViewPort;
+import pl.hardstyl3r.pas.v1.viewports.ResourceViewPort;
+import pl.hardstyl3r.pas.v1.viewports.UserViewPort;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Controller
+public class AllocationGraphQLController {
+
+    private final AllocationViewPort allocationViewPort;
+    private final UserViewPort userViewPort;
+    private final ResourceViewPort resourceViewPort;
+
+    public AllocationGraphQLController(AllocationViewPort allocationViewPort, UserViewPort userViewPort, ResourceViewPort resourceViewPort) {
+        this.allocationViewPort = allocationViewPort;
+        this.userViewPort = userViewPort;
+        this.resourceViewPort = resourceViewPort;
+    }
+
+    @QueryMapping
+    @PreAuthorize("isAuthenticated()")
+    public AllocationConnection allocations(@Argument int first, @Argument String after) {
+        return connection(allocationViewPort.findPage(after, first));
+    }
+
+    @BatchMapping(typeName = "Allocation")
+    public List<UserDTO> user(List<Allocation> allocations) {
+        Map<String, UserDTO> users = userViewPort.findUsersByIds(ids(allocations, Allocation::getUserId)).stream()
+                .collect(Collectors.toMap(UserSummary::id, UserConverter::dtoFromSummary));
+        return allocations.stream().map(allocation -> users.get(allocation.getUserId())).toList();
+    }
+
+    @BatchMapping(typeName = "Allocation")
+    public List<Resource> resource(List<Allocation> allocations) {
+        Map<String, Resource> resources = resourceViewPort.findByIds(ids(allocations, Allocation::getResourceId)).stream()
+                .collect(Collectors.toMap(Resource::getId, Function.identity()));
+        return allocations.stream().map(allocation -> resources.get(allocation.getResourceId())).toList();
+    }
+
+    @BatchMapping(typeName = "UserDTO")
+    @PreAuthorize("isAuthenticated()")
+    public List<List<Allocation>> allocations(List<UserDTO> users) {
+        Map<String, List<Allocation>> byUser = allocationViewPort.getCurrentAllocationsForUsers(ids(users, UserDTO::id))
+                .stream()
+                .collect(Collectors.groupingBy(Allocation::getUserId));
+        return users.stream().map(user -> byUser.getOrDefault(user.id(), List.of())).toList();
+    }
+
+    @SchemaMapping(typeName = "UserDTO")
+    @PreAuthorize("isAuthenticated()")
+    public AllocationConnection pastAllocations(UserDTO user, @Argument int first, @Argument String after) {
+        return connection(allocationViewPort.getPastAllocationsForUser(user.id(), after, first));
+    }
+
+    private static AllocationConnection connection(CursorPage<Allocation> page) {
+        List<AllocationEdge> edges = page.items().stream()
+                .map(allocation -> new AllocationEdge(allocation, allocation.getId()))
+                .toList();
+        String endCursor = edges.isEmpty() ? null : edges.getLast().cursor();
+        return new AllocationConnection(edges, new PageInfo(page.hasNext(), endCursor));
+    }
+
+    private static <T> Set<String> ids(List<T> items, Function<T, String> id) {
+        return items.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    public record AllocationConnection(List<AllocationEdge> edges, PageInfo pageInfo) {}
+
+    public record AllocationEdge(Allocation node, String cursor) {}
+}
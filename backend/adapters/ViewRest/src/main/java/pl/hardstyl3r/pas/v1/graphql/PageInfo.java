@@ -0,0 +1,4 @@
+package pl.hardstyl3r.pas.v1.graphql;
+
+public record PageInfo(boolean hasNextPage, String endCursor) {
+}
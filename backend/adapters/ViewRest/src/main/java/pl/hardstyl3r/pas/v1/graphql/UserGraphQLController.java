@@ -3,14 +3,14 @@ package pl.hardstyl3r.pas.v1.graphql;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.stereotype.Controller;
-import pl.hardstyl3r.pas.v1.dto.UserDTO;
 import pl.hardstyl3r.pas.v1.dto.UserConverter;
-import pl.hardstyl3r.pas.v1.objects.User;
-import pl.hardstyl3r.pas.v1.objects.UserRole;
+import pl.hardstyl3r.pas.v1.dto.UserDTO;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
+import pl.hardstyl3r.pas.v1.objects.UserFilter;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
 import pl.hardstyl3r.pas.v1.services.UserService;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Controller
 public class UserGraphQLController {
@@ -22,21 +22,16 @@ public class UserGraphQLController {
     }
 
     @QueryMapping
-    public List<UserDTO> users(@Argument UserFilter filter) {
-        List<User> allUsers = userService.findAll();
-        return allUsers.stream()
-                .filter(user -> filter == null || matchesFilter(user, filter))
-                .map(UserConverter::dtoFromUser)
-                .collect(Collectors.toList());
+    public UserConnection users(@Argument UserFilter filter, @Argument int first, @Argument String after) {
+        CursorPage<UserSummary> page = userService.findUsersByFilter(filter, after, first);
+        List<UserEdge> edges = page.items().stream()
+                .map(user -> new UserEdge(UserConverter.dtoFromSummary(user), user.id()))
+                .toList();
+        String endCursor = edges.isEmpty() ? null : edges.getLast().cursor();
+        return new UserConnection(edges, new PageInfo(page.hasNext(), endCursor));
     }
 
-    private boolean matchesFilter(User user, UserFilter filter) {
-        if (filter.username() != null && !user.getUsername().contains(filter.username())) return false;
-        if (filter.name() != null && !user.getName().contains(filter.name())) return false;
-        if (filter.active() != null && user.isActive() != filter.active()) return false;
-        if (filter.role() != null && user.getRole() != filter.role()) return false;
-        return true;
-    }
+    public record UserConnection(List<UserEdge> edges, PageInfo pageInfo) {}
 
-    public record UserFilter(String username, String name, Boolean active, UserRole role) {}
+    public record UserEdge(UserDTO node, String cursor) {}
 }
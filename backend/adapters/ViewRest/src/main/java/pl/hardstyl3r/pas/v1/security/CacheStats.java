@@ -0,0 +1,8 @@
+package pl.hardstyl3r.pas.v1.security;
+
+public record CacheStats(long hits, long misses, int size) {
+    public double hitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
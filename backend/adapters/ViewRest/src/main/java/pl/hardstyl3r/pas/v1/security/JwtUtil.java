@@ -1,14 +1,18 @@
 package pl.hardstyl3r.pas.v1.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
@@ -23,8 +27,33 @@ public class JwtUtil {
     @Value("${jwt.refresh.expiration.ms}")
     private long jwtRefreshExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Value("${jwt.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    @Value("${jwt.refresh.revocation.partitions:4}")
+    private int revocationPartitions;
+
+    @Value("${jwt.refresh.revocation.expected-per-partition:100000}")
+    private int revocationExpectedPerPartition;
+
+    @Value("${jwt.refresh.revocation.false-positive-rate:0.01}")
+    private double revocationFalsePositiveRate;
+
+    @Value("${jwt.refresh.revocation.exact-max-entries:10000}")
+    private int revocationExactMaxEntries;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private VerifiedTokenCache verifiedTokens;
+    private RevokedTokens revokedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        verifiedTokens = new VerifiedTokenCache(cacheMaxEntries);
+        revokedTokens = new RevokedTokens(jwtRefreshExpirationMs, revocationPartitions, revocationExpectedPerPartition,
+                revocationFalsePositiveRate, revocationExactMaxEntries);
     }
 
     public String extractUsername(String token) {
@@ -36,12 +65,21 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public Claims extractAllClaims(String token) {
+        Claims claims = verifiedTokens.get(token, System.currentTimeMillis());
+        if (claims == null) {
+            claims = parser.parseSignedClaims(token).getPayload();
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
+    }
+
+    public CacheStats getVerifiedTokenCacheStats() {
+        return verifiedTokens.stats();
+    }
+
+    public RevocationStats getRevokedTokenStats() {
+        return revokedTokens.stats();
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -49,29 +87,64 @@ public class JwtUtil {
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     public String generateRefreshToken(UserDetails userDetails) {
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
+                .claim(TokenTypes.CLAIM, TokenTypes.REFRESH)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + jwtRefreshExpirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
+    }
+
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date())
+                && TokenTypes.isAccessToken(claims);
+    }
+
+    /**
+     * Verifies a refresh token without the verified-token cache, since every refresh token is used once.
+     *
+     * @throws JwtException when the token is invalid, expired, not a refresh token or already used or revoked
+     */
+    public Claims parseRefreshToken(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (!TokenTypes.isRefreshToken(claims) || claims.getId() == null) {
+            throw new JwtException("Not a refresh token");
+        }
+        if (revokedTokens.isRevoked(claims.getId(), claims.getExpiration().getTime())) {
+            throw new JwtException("Refresh token " + claims.getId() + " was already used or revoked");
+        }
+        return claims;
+    }
+
+    /**
+     * Marks a refresh token returned by {@link #parseRefreshToken} as used, so that it can be rotated only once.
+     *
+     * @return {@code false} when the token was used or revoked in the meantime
+     */
+    public boolean consumeRefreshToken(Claims claims) {
+        return revokedTokens.revoke(claims.getId(), claims.getExpiration().getTime(), System.currentTimeMillis());
+    }
+
+    public void revokeRefreshToken(String token) {
+        consumeRefreshToken(parseRefreshToken(token));
     }
 
     public String generateValueSignature(String value) {
         return Jwts.builder()
                 .subject(value)
                 .issuedAt(new Date())
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -83,9 +156,7 @@ public class JwtUtil {
         String cleanJws = jws.replace("\"", "");
 
         try {
-            String extractedValue = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
+            String extractedValue = parser
                     .parseSignedClaims(cleanJws)
                     .getPayload()
                     .getSubject();
@@ -94,12 +165,4 @@ public class JwtUtil {
             return false;
         }
     }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
 }
\ No newline at end of file
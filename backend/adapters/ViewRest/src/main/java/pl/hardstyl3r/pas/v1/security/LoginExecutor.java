@@ -0,0 +1,57 @@
+package pl.hardstyl3r.pas.v1.security;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the password check of {@code /api/v1/auth/login} on a fixed pool with a bounded queue. The request thread is
+ * released while the hash is verified, and once the queue is full further logins are rejected at once instead of
+ * piling CPU-bound work up behind the request pool. The tracing context of the request is carried over to the pool.
+ */
+@Component
+public class LoginExecutor implements MeterBinder, DisposableBean {
+
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+
+    public LoginExecutor(@Value("${pas.security.login.threads:0}") int threads,
+                         @Value("${pas.security.login.queue-capacity:64}") int queueCapacity) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("login-", 0).daemon().factory());
+        ContextSnapshotFactory snapshots = ContextSnapshotFactory.builder().build();
+        this.executor = ContextExecutorService.wrap(pool, snapshots::captureAll);
+    }
+
+    /**
+     * @throws RejectedExecutionException when all threads are busy and the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(pool, "login", "pas", Tags.empty()).bindTo(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,73 @@
+package pl.hardstyl3r.pas.v1.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits login attempts per client address and per username before any password is checked, so a credential-stuffing
+ * burst is rejected without spending a hash verification on it. The address bucket is taken first; an attempt refused
+ * there does not use up the username bucket of the account it targets.
+ */
+@Component
+public class LoginRateLimiter implements MeterBinder {
+
+    private final TokenBuckets byAddress;
+    private final TokenBuckets byUsername;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByAddress = new LongAdder();
+    private final LongAdder rejectedByUsername = new LongAdder();
+
+    public LoginRateLimiter(@Value("${pas.security.login.rate-limit.per-address.capacity:20}") int addressCapacity,
+                            @Value("${pas.security.login.rate-limit.per-address.refill-per-minute:60}") int addressRefill,
+                            @Value("${pas.security.login.rate-limit.per-username.capacity:5}") int usernameCapacity,
+                            @Value("${pas.security.login.rate-limit.per-username.refill-per-minute:5}") int usernameRefill,
+                            @Value("${pas.security.login.rate-limit.overflow.capacity:1000}") int overflowCapacity,
+                            @Value("${pas.security.login.rate-limit.overflow.refill-per-minute:6000}") int overflowRefill,
+                            @Value("${pas.security.login.rate-limit.max-entries:100000}") int maxEntries) {
+        long now = System.nanoTime();
+        this.byAddress = new TokenBuckets(addressCapacity, addressRefill, overflowCapacity, overflowRefill, maxEntries, now);
+        this.byUsername = new TokenBuckets(usernameCapacity, usernameRefill, overflowCapacity, overflowRefill,
+                maxEntries, now);
+    }
+
+    /**
+     * @return {@link Duration#ZERO} when the attempt may proceed, otherwise how long the client should wait
+     */
+    public Duration tryAcquire(String username, String address) {
+        long now = System.nanoTime();
+        long wait = byAddress.tryAcquire(address, now);
+        if (wait > 0) {
+            rejectedByAddress.increment();
+            return Duration.ofNanos(wait);
+        }
+        wait = byUsername.tryAcquire(username == null ? "" : username.trim().toLowerCase(Locale.ROOT), now);
+        if (wait > 0) {
+            rejectedByUsername.increment();
+            return Duration.ofNanos(wait);
+        }
+        allowed.increment();
+        return Duration.ZERO;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("pas.login.attempts", allowed, LongAdder::sum)
+                .tag("outcome", "allowed").register(registry);
+        FunctionCounter.builder("pas.login.attempts", rejectedByAddress, LongAdder::sum)
+                .tag("outcome", "rejected_address").register(registry);
+        FunctionCounter.builder("pas.login.attempts", rejectedByUsername, LongAdder::sum)
+                .tag("outcome", "rejected_username").register(registry);
+        Gauge.builder("pas.login.ratelimit.buckets", byAddress, TokenBuckets::size)
+                .tag("key", "address").register(registry);
+        Gauge.builder("pas.login.ratelimit.buckets", byUsername, TokenBuckets::size)
+                .tag("key", "username").register(registry);
+    }
+}
@@ -0,0 +1,90 @@
+package pl.hardstyl3r.pas.v1.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pl.hardstyl3r.pas.appports.UserChangePort;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+@Component
+public class PrincipalCache implements UserChangePort {
+
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public PrincipalCache(@Value("${pas.security.principal-cache.ttl-ms:30000}") long ttlMs,
+                          @Value("${pas.security.principal-cache.max-entries:10000}") int maxEntries) {
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    public UserPrincipal get(String username, Function<String, UserPrincipal> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAt() > now) {
+            hits.incrementAndGet();
+            return entry.principal();
+        }
+        misses.incrementAndGet();
+
+        // An invalidation that races with the load must win, so the result is only cached
+        // when no user changed while it was being read. The check and the put share a lock with
+        // onUserChanged, otherwise a change could land between them and leave a stale principal.
+        long loadedAt = generation.get();
+        UserPrincipal principal = loader.apply(username);
+        if (ttlMs > 0) {
+            lock.lock();
+            try {
+                if (generation.get() == loadedAt) {
+                    if (entries.size() >= maxEntries) {
+                        evict(now);
+                    }
+                    entries.put(username, new Entry(principal, now + ttlMs));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return principal;
+    }
+
+    @Override
+    public void onUserChanged(String id) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            entries.values().removeIf(e -> e.principal().getId().equals(id));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Drops expired entries first, then arbitrary ones until a tenth of the capacity is free,
+    // so that a full cache does not pay for a scan on every miss.
+    private void evict(long now) {
+        entries.values().removeIf(e -> e.expiresAt() <= now);
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.get(), misses.get(), entries.size());
+    }
+
+    private record Entry(UserPrincipal principal, long expiresAt) {
+    }
+}
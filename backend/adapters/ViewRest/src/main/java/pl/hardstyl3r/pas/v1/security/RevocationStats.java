@@ -0,0 +1,4 @@
+package pl.hardstyl3r.pas.v1.security;
+
+public record RevocationStats(int partitions, long filterBytes, int exactEntries, long bloomOnlyHits) {
+}
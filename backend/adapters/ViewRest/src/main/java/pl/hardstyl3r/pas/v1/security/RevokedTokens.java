@@ -0,0 +1,91 @@
+package pl.hardstyl3r.pas.v1.security;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Used and revoked refresh token ids ({@code jti}). A token id only has to be remembered until the token expires, so
+ * ids are kept in partitions by expiry time, each covering {@code retentionMs / partitions}, and a partition is dropped
+ * as soon as every token it could hold has expired. At most {@code partitions + 1} of them are alive at a time.
+ * <p>
+ * Each partition is a Bloom filter with an exact set of ids next to it. A lookup goes to the one partition of the
+ * token's expiry and usually ends at the filter; a filter hit is confirmed in the exact set. Once the exact set of a
+ * partition reaches {@code exactMaxEntries} it stops growing and filter hits in that partition are taken as revoked,
+ * so a false positive only makes a client log in again.
+ */
+class RevokedTokens {
+
+    private final long windowMs;
+    private final int expectedPerPartition;
+    private final double falsePositiveRate;
+    private final int exactMaxEntries;
+    private final Map<Long, Partition> partitions = new ConcurrentHashMap<>();
+    private final AtomicLong bloomOnlyHits = new AtomicLong();
+
+    RevokedTokens(long retentionMs, int partitions, int expectedPerPartition, double falsePositiveRate,
+                  int exactMaxEntries) {
+        this.windowMs = Math.max(1, retentionMs / partitions);
+        this.expectedPerPartition = expectedPerPartition;
+        this.falsePositiveRate = falsePositiveRate;
+        this.exactMaxEntries = exactMaxEntries;
+    }
+
+    /**
+     * @return {@code true} when the id was not revoked before; of concurrent calls for one id only one gets
+     * {@code true} while the partition's exact set has room
+     */
+    boolean revoke(String jti, long expiresAtMs, long now) {
+        partitions.keySet().removeIf(index -> (index + 1) * windowMs <= now);
+        if (expiresAtMs <= now) {
+            return false;
+        }
+        Partition partition = partitions.computeIfAbsent(expiresAtMs / windowMs, index -> new Partition(
+                new BloomFilter(expectedPerPartition, falsePositiveRate), ConcurrentHashMap.newKeySet()));
+        UUID id = UUID.fromString(jti);
+        boolean added = partition.filter().put(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (partition.exact().size() < exactMaxEntries) {
+            return partition.exact().add(id);
+        }
+        partition.exactFull().set(true);
+        return added;
+    }
+
+    boolean isRevoked(String jti, long expiresAtMs) {
+        Partition partition = partitions.get(expiresAtMs / windowMs);
+        if (partition == null) {
+            return false;
+        }
+        UUID id = UUID.fromString(jti);
+        if (!partition.filter().mightContain(id.getMostSignificantBits(), id.getLeastSignificantBits())) {
+            return false;
+        }
+        if (partition.exact().contains(id)) {
+            return true;
+        }
+        if (partition.exactFull().get()) {
+            bloomOnlyHits.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    RevocationStats stats() {
+        long filterBytes = 0;
+        int exactEntries = 0;
+        for (Partition partition : partitions.values()) {
+            filterBytes += partition.filter().sizeInBytes();
+            exactEntries += partition.exact().size();
+        }
+        return new RevocationStats(partitions.size(), filterBytes, exactEntries, bloomOnlyHits.get());
+    }
+
+    private record Partition(BloomFilter filter, Set<UUID> exact, AtomicBoolean exactFull) {
+        Partition(BloomFilter filter, Set<UUID> exact) {
+            this(filter, exact, new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package pl.hardstyl3r.pas.v1.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by string, each kept as a single {@code AtomicLong} holding the time at which the bucket will be
+ * full again (the GCRA form of a token bucket), so taking a token is one CAS. A bucket whose time has passed is full
+ * and carries no state, which is what the sweep removes. When the map still holds {@code maxEntries} buckets after a
+ * sweep, unknown keys share one overflow bucket until the next sweep, so a flood of distinct keys costs no memory and
+ * is throttled as a whole instead of resetting the limits of keys already tracked. The overflow bucket has its own,
+ * larger budget, so legitimate keys that arrive during such a flood are slowed down rather than locked out.
+ */
+class TokenBuckets {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Rate rate;
+    private final Rate overflowRate;
+    private final int maxEntries;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow;
+    private final AtomicLong nextSweep;
+
+    TokenBuckets(int capacity, int refillPerMinute, int overflowCapacity, int overflowRefillPerMinute, int maxEntries,
+                 long now) {
+        this.rate = new Rate(capacity, refillPerMinute);
+        this.overflowRate = new Rate(overflowCapacity, overflowRefillPerMinute);
+        this.maxEntries = maxEntries;
+        this.overflow = new AtomicLong(now);
+        this.nextSweep = new AtomicLong(now);
+    }
+
+    /**
+     * @return {@code 0} when a token was taken, otherwise the nanoseconds until the next one is available
+     */
+    long tryAcquire(String key, long now) {
+        AtomicLong bucket = bucket(key, now);
+        Rate limit = bucket == overflow ? overflowRate : rate;
+        while (true) {
+            long fullAt = bucket.get();
+            long next = (fullAt - now > 0 ? fullAt : now) + limit.intervalNanos();
+            long wait = next - now - limit.burstNanos();
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxEntries) {
+            long sweepAt = nextSweep.get();
+            if (now - sweepAt >= 0 && nextSweep.compareAndSet(sweepAt, now + SWEEP_INTERVAL_NANOS)) {
+                // A token taken from a bucket while it is being removed is lost; the bucket was full anyway.
+                buckets.values().removeIf(b -> b.get() - now <= 0);
+            }
+            if (buckets.size() >= maxEntries) {
+                return overflow;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    private record Rate(long intervalNanos, long burstNanos) {
+        Rate(int capacity, int refillPerMinute) {
+            this(TimeUnit.MINUTES.toNanos(1) / refillPerMinute, TimeUnit.MINUTES.toNanos(1) / refillPerMinute * capacity);
+        }
+    }
+}
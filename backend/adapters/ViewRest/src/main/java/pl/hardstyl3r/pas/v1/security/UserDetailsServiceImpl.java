@@ -2,21 +2,27 @@ package pl.hardstyl3r.pas.v1.security;
 
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import pl.hardstyl3r.pas.appports.UserPort;
 import pl.hardstyl3r.pas.v1.objects.User;
+import pl.hardstyl3r.pas.v1.services.UserService;
 
 import java.util.Collections;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserPort userPort;
+    private final PrincipalCache principalCache;
+    private final UserService userService;
 
-    public UserDetailsServiceImpl(UserPort userPort) {
+    public UserDetailsServiceImpl(UserPort userPort, PrincipalCache principalCache, UserService userService) {
         this.userPort = userPort;
+        this.principalCache = principalCache;
+        this.userService = userService;
     }
 
     @Override
@@ -34,4 +40,22 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Called by the authentication provider after a successful login whose stored hash uses an outdated algorithm
+     * or cost, with the password already re-encoded by the configured encoder.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userService.upgradePasswordEncoding(user.getUsername(), newPassword);
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+
+    public UserPrincipal loadPrincipalByUsername(String username) throws UsernameNotFoundException {
+        return principalCache.get(username, name -> userPort.findByUsername(name)
+                .map(UserPrincipal::fromUser)
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + name)));
+    }
+}
@@ -0,0 +1,157 @@
+package pl.hardstyl3r.pas.v1;
+
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import pl.hardstyl3r.pas.v1.exceptions.ResourceInUseException;
+import pl.hardstyl3r.pas.v1.exceptions.ResourceNotFoundException;
+import pl.hardstyl3r.pas.v1.objects.UserRole;
+import pl.hardstyl3r.pas.v1.viewports.AllocationViewPort;
+import pl.hardstyl3r.pas.v1.viewports.ResourceViewPort;
+import pl.hardstyl3r.repoadapters.indexes.IndexRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AllocationConcurrencyTest {
+
+    private static final int CREATORS = 200;
+    private static final int DELETE_ROUNDS = 100;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private AllocationViewPort allocationViewPort;
+    @Autowired
+    private ResourceViewPort resourceViewPort;
+    @Autowired
+    private IndexRegistry indexRegistry;
+
+    @Value("${pas.mongodb.collection.users}")
+    private String usersCollectionName;
+    @Value("${pas.mongodb.collection.resources}")
+    private String resourcesCollectionName;
+    @Value("${pas.mongodb.collection.allocations}")
+    private String allocationsCollectionName;
+
+    private String userId;
+    private String resourceId;
+
+    @BeforeAll
+    void checkDatabaseConnection() {
+        try {
+            mongoTemplate.getDb().runCommand(new Document("ping", 1));
+        } catch (Exception e) {
+            Assumptions.abort("Could not connect to MongoDB. Skipping integration tests.");
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        mongoTemplate.dropCollection(usersCollectionName);
+        mongoTemplate.dropCollection(resourcesCollectionName);
+        mongoTemplate.dropCollection(allocationsCollectionName);
+
+        MongoCollection<Document> users = mongoTemplate.createCollection(usersCollectionName);
+        MongoCollection<Document> resources = mongoTemplate.createCollection(resourcesCollectionName);
+        mongoTemplate.createCollection(allocationsCollectionName);
+        indexRegistry.ensureIndexes();
+
+        Document user = new Document("username", "client").append("name", "Client User").append("active", true).append("password", "x").append("role", UserRole.CLIENT.name());
+        users.insertOne(user);
+        userId = user.getObjectId("_id").toHexString();
+
+        Document resource = new Document("_class", "pl.hardstyl3r.repoadapters.objects.resources.BookEnt").append("name", "Contended Book");
+        resources.insertOne(resource);
+        resourceId = resource.getObjectId("_id").toHexString();
+    }
+
+    @Test
+    void shouldAllocateResourceOnlyOnceUnderConcurrentCreates() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(CREATORS)) {
+            for (int i = 0; i < CREATORS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        allocationViewPort.createAllocation(userId, resourceId);
+                        created.incrementAndGet();
+                    } catch (ResourceInUseException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        }
+
+        assertThat(created.get()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(CREATORS - 1);
+        assertThat(allocationViewPort.findAll()).hasSize(1);
+    }
+
+    @Test
+    void shouldAllowNewAllocationAfterPreviousOneEnded() {
+        String firstId = allocationViewPort.createAllocation(userId, resourceId).getId();
+        allocationViewPort.endAllocation(firstId);
+
+        assertThat(allocationViewPort.createAllocation(userId, resourceId).getEndTime()).isNull();
+        Assertions.assertThrows(ResourceInUseException.class, () -> allocationViewPort.createAllocation(userId, resourceId));
+    }
+
+    @Test
+    void shouldNeverLeaveAllocationForDeletedResource() throws Exception {
+        MongoCollection<Document> resources = mongoTemplate.getCollection(resourcesCollectionName);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            for (int i = 0; i < DELETE_ROUNDS; i++) {
+                Document resource = new Document("_class", "pl.hardstyl3r.repoadapters.objects.resources.BookEnt").append("name", "Book " + i);
+                resources.insertOne(resource);
+                String id = resource.getObjectId("_id").toHexString();
+                CountDownLatch start = new CountDownLatch(1);
+
+                Future<Boolean> allocated = executor.submit(() -> {
+                    start.await();
+                    try {
+                        allocationViewPort.createAllocation(userId, id);
+                        return true;
+                    } catch (ResourceNotFoundException e) {
+                        return false;
+                    }
+                });
+                Future<Boolean> deleted = executor.submit(() -> {
+                    start.await();
+                    try {
+                        resourceViewPort.deleteById(id);
+                        return true;
+                    } catch (ResourceInUseException e) {
+                        return false;
+                    }
+                });
+                start.countDown();
+
+                assertThat(allocated.get(30, TimeUnit.SECONDS)).isNotEqualTo(deleted.get(30, TimeUnit.SECONDS));
+                assertThat(resourceViewPort.findById(id).isPresent()).isEqualTo(allocated.get());
+            }
+        }
+    }
+}
@@ -20,6 +20,7 @@ import pl.hardstyl3r.pas.v1.dto.AllocationRequest;
 import pl.hardstyl3r.pas.v1.dto.LoginRequest;
 import pl.hardstyl3r.pas.v1.objects.UserRole;
 import pl.hardstyl3r.pas.v1.objects.resources.Book;
+import pl.hardstyl3r.repoadapters.indexes.IndexRegistry;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -28,6 +29,7 @@ import java.util.Map;
 import java.util.stream.Stream;
 
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.Matchers.hasSize;
 
@@ -40,6 +42,8 @@ class AllocationRESTTest {
     private MongoTemplate mongoTemplate;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private IndexRegistry indexRegistry;
 
     @LocalServerPort
     private int port;
@@ -78,6 +82,7 @@ class AllocationRESTTest {
         MongoCollection<Document> users = mongoTemplate.createCollection(usersCollectionName);
         MongoCollection<Document> resources = mongoTemplate.createCollection(resourcesCollectionName);
         MongoCollection<Document> allocations = mongoTemplate.createCollection(allocationsCollectionName);
+        indexRegistry.ensureIndexes();
 
         Document adminUser = new Document("username", "admin").append("name", "Admin User").append("active", true).append("password", passwordEncoder.encode("password")).append("role", UserRole.ADMIN.name());
         users.insertOne(adminUser);
@@ -142,6 +147,45 @@ class AllocationRESTTest {
                 .body("endTime", notNullValue());
     }
 
+    @Test
+    void shouldPagePastAllocationsNewestFirstWithoutInMemorySort() {
+        MongoCollection<Document> allocations = mongoTemplate.getCollection(allocationsCollectionName);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 3; i++) {
+            allocations.insertOne(new Document("userId", activeUserId).append("resourceId", availableResourceId)
+                    .append("startTime", now.minusDays(i + 1)).append("endTime", now.minusDays(i)));
+        }
+
+        String next = given()
+                .header("Authorization", "Bearer " + adminToken)
+                .pathParam("userId", activeUserId)
+                .queryParam("limit", 2)
+                .when()
+                .get("/api/v1/allocations/user/{userId}/past")
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(2))
+                .header("X-Next-Cursor", notNullValue())
+                .extract().header("X-Next-Cursor");
+
+        given()
+                .header("Authorization", "Bearer " + adminToken)
+                .pathParam("userId", activeUserId)
+                .queryParam("before", next)
+                .queryParam("limit", 2)
+                .when()
+                .get("/api/v1/allocations/user/{userId}/past")
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(1))
+                .header("X-Next-Cursor", nullValue());
+
+        assertThat(indexRegistry.explain())
+                .filteredOn(plan -> plan.query().equals("findEndedByUserId"))
+                .singleElement()
+                .satisfies(plan -> assertThat(plan.blockingSort()).isFalse());
+    }
+
     @Test
     void shouldFailToEndNonExistentAllocation() {
         String nonExistentId = "60c72b2f9b1e8b3b3c8b4567";
@@ -0,0 +1,88 @@
+package pl.hardstyl3r.pas.v1;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import pl.hardstyl3r.pas.v1.dto.AllocationRequest;
+import pl.hardstyl3r.pas.v1.dto.LoginRequest;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Uruchamia cala aplikacje na profilu "memory" - nie wymaga MongoDB.
+ */
+@ActiveProfiles("memory")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MemoryProfileRESTTest {
+
+    private static final String KSAWICKA_ID = "60c72b2f9b1e8a3f3c8e4b1d";
+    private static final String FREE_RESOURCE_ID = "60c72b2f9b1e8a3f3c8e4b2d";
+
+    @Autowired
+    private ApplicationContext context;
+
+    @LocalServerPort
+    private int port;
+
+    private String adminToken;
+
+    @BeforeEach
+    void setup() {
+        RestAssured.port = port;
+        adminToken = given()
+                .contentType(ContentType.JSON)
+                .body(new LoginRequest("admin", "password"))
+                .when()
+                .post("/api/v1/auth/login")
+                .then()
+                .statusCode(200)
+                .extract().jsonPath().getString("token");
+    }
+
+    @Test
+    void shouldRunWithoutMongoDb() {
+        assertThat(context.getBeanNamesForType(MongoTemplate.class)).isEmpty();
+
+        given()
+                .header("Authorization", "Bearer " + adminToken)
+                .when()
+                .get("/api/v1/resources")
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(4));
+    }
+
+    @Test
+    void shouldAllocateResourceOnlyOnce() {
+        AllocationRequest request = new AllocationRequest(KSAWICKA_ID, FREE_RESOURCE_ID);
+
+        given()
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .post("/api/v1/allocations")
+                .then()
+                .statusCode(200)
+                .body("resourceId", equalTo(FREE_RESOURCE_ID));
+
+        given()
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .post("/api/v1/allocations")
+                .then()
+                .statusCode(409);
+    }
+}
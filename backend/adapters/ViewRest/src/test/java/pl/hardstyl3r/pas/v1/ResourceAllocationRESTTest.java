@@ -16,6 +16,8 @@ import org.springframework.test.context.ActiveProfiles;
 import pl.hardstyl3r.pas.v1.dto.LoginRequest;
 import pl.hardstyl3r.pas.v1.objects.UserRole;
 import pl.hardstyl3r.pas.v1.objects.resources.Book;
+import pl.hardstyl3r.repoadapters.indexes.IndexRegistry;
+import pl.hardstyl3r.repoadapters.repositories.ResourceRepository;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -31,6 +33,10 @@ class ResourceAllocationRESTTest {
     private MongoTemplate mongoTemplate;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private IndexRegistry indexRegistry;
+    @Autowired
+    private ResourceRepository resourceRepository;
 
     @LocalServerPort
     private int port;
@@ -67,6 +73,7 @@ class ResourceAllocationRESTTest {
         MongoCollection<Document> users = mongoTemplate.createCollection(usersCollectionName);
         MongoCollection<Document> resources = mongoTemplate.createCollection(resourcesCollectionName);
         MongoCollection<Document> allocations = mongoTemplate.createCollection(allocationsCollectionName);
+        indexRegistry.ensureIndexes();
 
         Document user = new Document("username", "adminUser").append("name", "Admin User").append("active", true).append("password", passwordEncoder.encode("password")).append("role", UserRole.ADMIN.name());
         users.insertOne(user);
@@ -81,6 +88,7 @@ class ResourceAllocationRESTTest {
 
         Document allocation = new Document("userId", userId).append("resourceId", allocatedResourceId).append("startTime", LocalDateTime.now()).append("endTime", null);
         allocations.insertOne(allocation);
+        resourceRepository.recountAllocations();
     }
 
     private String loginAndGetToken(String username, String password) {
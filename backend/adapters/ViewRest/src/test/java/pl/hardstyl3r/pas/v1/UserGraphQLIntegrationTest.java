@@ -78,11 +78,15 @@ public class UserGraphQLIntegrationTest {
         String query = """
             {
                 users(filter: {username: "test", active: true, role: CLIENT}) {
-                    id
-                    username
-                    name
-                    active
-                    role
+                    edges {
+                        node {
+                            id
+                            username
+                            name
+                            active
+                            role
+                        }
+                    }
                 }
             }
             """;
@@ -94,8 +98,50 @@ public class UserGraphQLIntegrationTest {
                 .post("/graphql")
                 .then()
                 .statusCode(200)
-                .body("data.users", not(empty()))
-                .body("data.users[0].username", containsString("test"))
-                .body("data.users[0].active", equalTo(true));
+                .body("data.users.edges", not(empty()))
+                .body("data.users.edges[0].node.username", containsString("test"))
+                .body("data.users.edges[0].node.active", equalTo(true));
+    }
+
+    @Test
+    public void testPaginateUsersWithCursor() {
+        String firstPage = """
+            {
+                users(filter: {role: CLIENT}, first: 2) {
+                    edges { cursor node { username } }
+                    pageInfo { hasNextPage endCursor }
+                }
+            }
+            """;
+
+        String endCursor = given()
+                .contentType(ContentType.JSON)
+                .body("{\"query\":\"" + firstPage.replace("\n", "").replace("\"", "\\\"") + "\"}")
+                .when()
+                .post("/graphql")
+                .then()
+                .statusCode(200)
+                .body("data.users.edges", hasSize(2))
+                .body("data.users.pageInfo.hasNextPage", equalTo(true))
+                .extract().path("data.users.pageInfo.endCursor");
+
+        String secondPage = """
+            {
+                users(filter: {role: CLIENT}, first: 2, after: "%s") {
+                    edges { node { username } }
+                    pageInfo { hasNextPage }
+                }
+            }
+            """.formatted(endCursor);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"query\":\"" + secondPage.replace("\n", "").replace("\"", "\\\"") + "\"}")
+                .when()
+                .post("/graphql")
+                .then()
+                .statusCode(200)
+                .body("data.users.edges", hasSize(1))
+                .body("data.users.pageInfo.hasNextPage", equalTo(false));
     }
 }
@@ -1,23 +1,35 @@
 package pl.hardstyl3r.pas.v1.controller;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.AllocationBatchResult;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
 import pl.hardstyl3r.pas.v1.viewports.AllocationViewPort;
 import pl.hardstyl3r.pas.v1.viewports.UserViewPort;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith(MockitoExtension.class)
 class AllocationControllerUnitTest {
@@ -32,21 +44,60 @@ class AllocationControllerUnitTest {
 
     @BeforeEach
     void setup() {
-        AllocationController controller = new AllocationController(allocationViewPort, userViewPort);
+        AllocationController controller = new AllocationController(allocationViewPort, userViewPort, Jackson2ObjectMapperBuilder.json().build());
         mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
     }
 
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void shouldReturnAllAllocations() throws Exception {
         Allocation a1 = new Allocation("u1", "r1");
         a1.setId("a1");
 
-        when(allocationViewPort.findAll()).thenReturn(List.of(a1));
+        when(allocationViewPort.findPage(null, 100)).thenReturn(new CursorPage<>(List.of(a1), null));
 
         mockMvc.perform(get("/api/v1/allocations"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value("a1"))
-                .andExpect(jsonPath("$[0].userId").value("u1"));
+                .andExpect(jsonPath("$[0].userId").value("u1"))
+                .andExpect(header().doesNotExist(AllocationController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void shouldReturnNextCursorWhenMoreAllocationsExist() throws Exception {
+        Allocation a2 = new Allocation("u1", "r2");
+        a2.setId("a2");
+
+        when(allocationViewPort.findPage("a1", 1)).thenReturn(new CursorPage<>(List.of(a2), "a2"));
+
+        mockMvc.perform(get("/api/v1/allocations").param("after", "a1").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value("a2"))
+                .andExpect(header().string(AllocationController.NEXT_CURSOR_HEADER, "a2"));
+    }
+
+    @Test
+    void shouldStreamAllocationsAsNdjson() throws Exception {
+        Allocation a1 = new Allocation("u1", "r1");
+        a1.setId("a1");
+        Allocation a2 = new Allocation("u2", "r2");
+        a2.setId("a2");
+
+        when(allocationViewPort.streamAll()).thenReturn(Stream.of(a1, a2));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/allocations").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(matchesPattern("(?s)\\{\"id\":\"a1\".*\\}\n\\{\"id\":\"a2\".*\\}\n")));
     }
 
     @Test
@@ -61,4 +112,41 @@ class AllocationControllerUnitTest {
                 .andExpect(jsonPath("$.id").value("a1"))
                 .andExpect(jsonPath("$.resourceId").value("r1"));
     }
+
+    @Test
+    void shouldReturnPastAllocationsPageForUser() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("admin", null, "ROLE_ADMIN"));
+        Allocation allocation = new Allocation("u1", "r1");
+        allocation.setId("a9");
+
+        when(allocationViewPort.getPastAllocationsForUser("u1", null, 1)).thenReturn(new CursorPage<>(List.of(allocation), "a9"));
+
+        mockMvc.perform(get("/api/v1/allocations/user/{userId}/past", "u1").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("a9"))
+                .andExpect(header().string(AllocationController.NEXT_CURSOR_HEADER, "a9"));
+    }
+
+    @Test
+    void shouldReportPerItemResultsForBatchCreate() throws Exception {
+        Allocation created = new Allocation("u1", "r1");
+        created.setId("a1");
+
+        when(allocationViewPort.createAllocations(argThat(list -> list.size() == 2
+                && list.get(0).getResourceId().equals("r1")
+                && list.get(1).getResourceId().equals("r2"))))
+                .thenReturn(List.of(
+                        AllocationBatchResult.success(0, created),
+                        AllocationBatchResult.failure(1, "Resource with id r2 is already allocated.")));
+
+        mockMvc.perform(post("/api/v1/allocations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"userId\":\"u1\",\"resourceId\":\"r1\"},{\"userId\":\"u1\",\"resourceId\":\"r2\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].allocation.id").value("a1"))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].error").value("Resource with id r2 is already allocated."));
+    }
 }
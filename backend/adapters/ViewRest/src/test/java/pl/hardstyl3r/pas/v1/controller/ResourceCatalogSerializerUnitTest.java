@@ -0,0 +1,70 @@
+package pl.hardstyl3r.pas.v1.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.hardstyl3r.pas.v1.objects.resources.Book;
+import pl.hardstyl3r.repoadapters.adapters.CachingResourceAdapter;
+import pl.hardstyl3r.repoadapters.adapters.ResourceAdapter;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceCatalogSerializerUnitTest {
+
+    @Mock
+    private ResourceAdapter delegate;
+
+    private ObjectWriter writer;
+    private CachingResourceAdapter cache;
+    private ResourceCatalogSerializer serializer;
+
+    private final Book book = new Book("r1", "Book 1", "Desc", "Author", "9788327159779");
+
+    @BeforeEach
+    void setup() {
+        ObjectMapper objectMapper = spy(new ObjectMapper());
+        writer = spy(objectMapper.writerFor(new TypeReference<List<?>>() {
+        }));
+        doReturn(writer).when(objectMapper).writerFor(any(TypeReference.class));
+        serializer = new ResourceCatalogSerializer(objectMapper);
+        cache = new CachingResourceAdapter(delegate, 60000);
+    }
+
+    @Test
+    void shouldSerializeCachedCatalogOncePerSnapshot() throws Exception {
+        when(delegate.findAll()).thenReturn(List.of(book));
+
+        ResourceCatalogSerializer.Serialized first = serializer.serialize(cache.findCatalog());
+        ResourceCatalogSerializer.Serialized second = serializer.serialize(cache.findCatalog());
+
+        assertThat(second).isSameAs(first);
+        verify(writer, times(1)).writeValueAsBytes(any());
+    }
+
+    @Test
+    void shouldSerializeAgainAfterCatalogChanges() throws Exception {
+        Book renamed = new Book("r1", "Book 2", "Desc", "Author", "9788327159779");
+        when(delegate.findAll()).thenReturn(List.of(book), List.of(renamed));
+
+        ResourceCatalogSerializer.Serialized first = serializer.serialize(cache.findCatalog());
+        cache.invalidate();
+        ResourceCatalogSerializer.Serialized second = serializer.serialize(cache.findCatalog());
+
+        assertThat(second.etag()).isNotEqualTo(first.etag());
+        verify(writer, times(2)).writeValueAsBytes(any());
+    }
+}
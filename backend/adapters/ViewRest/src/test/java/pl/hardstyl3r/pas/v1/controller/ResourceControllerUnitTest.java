@@ -6,11 +6,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import pl.hardstyl3r.pas.v1.dto.CreateResourceDTO;
 import pl.hardstyl3r.pas.v1.objects.resources.Book;
+import pl.hardstyl3r.pas.v1.objects.resources.ResourceCatalog;
 import pl.hardstyl3r.pas.v1.viewports.ResourceViewPort;
 
 import java.util.List;
@@ -20,6 +22,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,7 +38,7 @@ class ResourceControllerUnitTest {
 
     @BeforeEach
     void setup() {
-        ResourceController controller = new ResourceController(resourceViewPort);
+        ResourceController controller = new ResourceController(resourceViewPort, new ResourceCatalogSerializer(objectMapper));
         mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
     }
 
@@ -44,7 +47,7 @@ class ResourceControllerUnitTest {
         Book b1 = new Book("r1", "Book 1", "Desc", "Author", "9788327159779");
         Book b2 = new Book("r2", "Book 2", "Desc", "Author", "9788327165596");
 
-        when(resourceViewPort.findAll()).thenReturn(List.of(b1, b2));
+        when(resourceViewPort.getCatalog()).thenReturn(ResourceCatalog.unversioned(List.of(b1, b2)));
 
         mockMvc.perform(get("/api/v1/resources"))
                 .andExpect(status().isOk())
@@ -52,6 +55,21 @@ class ResourceControllerUnitTest {
                 .andExpect(jsonPath("$[1].id").value("r2"));
     }
 
+    @Test
+    void shouldReturnNotModifiedWhenCatalogEtagMatches() throws Exception {
+        Book b1 = new Book("r1", "Book 1", "Desc", "Author", "9788327159779");
+
+        when(resourceViewPort.getCatalog()).thenReturn(ResourceCatalog.unversioned(List.of(b1)));
+
+        String etag = mockMvc.perform(get("/api/v1/resources"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/resources").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     void shouldReturnResourceById() throws Exception {
         Book resource = new Book("r1", "Book 1", "Desc", "Author", "9788327159779");
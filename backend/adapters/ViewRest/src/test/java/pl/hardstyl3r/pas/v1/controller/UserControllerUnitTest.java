@@ -12,9 +12,11 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import pl.hardstyl3r.pas.v1.dto.EditUserDTO;
 import pl.hardstyl3r.pas.v1.objects.User;
 import pl.hardstyl3r.pas.v1.objects.UserRole;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
 import pl.hardstyl3r.pas.v1.security.JwtUtil;
 import pl.hardstyl3r.pas.v1.viewports.UserViewPort;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.anyString;
@@ -84,4 +86,15 @@ class UserControllerUnitTest {
                         .content(body))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void shouldSearchUsersWithLimit() throws Exception {
+        UserSummary user = new UserSummary("u2", "ewisniewska", "Edyta", true, UserRole.CLIENT);
+
+        when(userViewPort.searchForUsersByUsername("wis", 5)).thenReturn(List.of(user));
+
+        mockMvc.perform(get("/api/v1/user/search/{search}", "wis").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("ewisniewska"));
+    }
 }
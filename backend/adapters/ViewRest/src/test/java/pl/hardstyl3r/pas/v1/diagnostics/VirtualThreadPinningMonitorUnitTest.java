@@ -0,0 +1,43 @@
+package pl.hardstyl3r.pas.v1.diagnostics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadPinningMonitorUnitTest {
+
+    @Test
+    void shouldAggregatePinningBySiteOrderedByTotalTime() {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(false, 20);
+
+        monitor.record("pl.hardstyl3r.pas.v1.security.JwtUtil.verify:42", Duration.ofMillis(30));
+        monitor.record("pl.hardstyl3r.pas.v1.security.JwtUtil.verify:42", Duration.ofMillis(50));
+        monitor.record("pl.hardstyl3r.repoadapters.adapters.UserAdapter.findById:10", Duration.ofMillis(100));
+
+        assertThat(monitor.report()).containsExactly(
+                new VirtualThreadPinningMonitor.PinningSite("pl.hardstyl3r.repoadapters.adapters.UserAdapter.findById:10", 1, 100, 100),
+                new VirtualThreadPinningMonitor.PinningSite("pl.hardstyl3r.pas.v1.security.JwtUtil.verify:42", 2, 80, 50));
+    }
+
+    @Test
+    void shouldNotRecordWhenDisabled() {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(false, 20);
+
+        monitor.start();
+
+        assertThat(monitor.isRecording()).isFalse();
+    }
+
+    @Test
+    void shouldDetectWhetherExecutorRunsVirtualThreads() {
+        try (var virtual = Executors.newVirtualThreadPerTaskExecutor();
+             var platform = Executors.newSingleThreadExecutor()) {
+            assertThat(VirtualThreadSelfCheck.runsOnVirtualThread(virtual)).isTrue();
+            assertThat(VirtualThreadSelfCheck.runsOnVirtualThread(platform)).isFalse();
+            assertThat(VirtualThreadSelfCheck.runsOnVirtualThread(null)).isFalse();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package pl.hardstyl3r.pas.v1.graphql;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.data.method.annotation.support.AnnotatedControllerConfigurer;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.graphql.execution.DefaultBatchLoaderRegistry;
+import org.springframework.graphql.execution.DefaultExecutionGraphQlService;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.CursorPage;
+import pl.hardstyl3r.pas.v1.objects.UserRole;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
+import pl.hardstyl3r.pas.v1.objects.resources.Book;
+import pl.hardstyl3r.pas.v1.objects.resources.Periodical;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.pas.v1.services.UserService;
+import pl.hardstyl3r.pas.v1.viewports.AllocationViewPort;
+import pl.hardstyl3r.pas.v1.viewports.ResourceViewPort;
+import pl.hardstyl3r.pas.v1.viewports.UserViewPort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class AllocationGraphQLControllerUnitTest {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final AllocationViewPort allocationViewPort = mock(AllocationViewPort.class);
+    private final UserViewPort userViewPort = mock(UserViewPort.class);
+    private final ResourceViewPort resourceViewPort = mock(ResourceViewPort.class);
+    private final UserService userService = mock(UserService.class);
+
+    private AnnotationConfigApplicationContext context;
+    private DefaultExecutionGraphQlService graphQlService;
+
+    @BeforeEach
+    void setup() {
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(BatchLoaderRegistry.class, () -> new DefaultBatchLoaderRegistry());
+        context.registerBean(AllocationGraphQLController.class,
+                () -> new AllocationGraphQLController(allocationViewPort, userViewPort, resourceViewPort));
+        context.registerBean(UserGraphQLController.class, () -> new UserGraphQLController(userService));
+        context.refresh();
+
+        AnnotatedControllerConfigurer configurer = new AnnotatedControllerConfigurer();
+        configurer.setApplicationContext(context);
+        configurer.afterPropertiesSet();
+
+        GraphQlSource source = GraphQlSource.schemaResourceBuilder()
+                .schemaResources(new ClassPathResource("graphql/schema.graphqls"))
+                .configureRuntimeWiring(configurer)
+                .build();
+        graphQlService = new DefaultExecutionGraphQlService(source);
+        graphQlService.addDataLoaderRegistrar(context.getBean(BatchLoaderRegistry.class));
+    }
+
+    @AfterEach
+    void close() {
+        context.close();
+    }
+
+    @Test
+    void shouldResolveUsersAndResourcesOfAPageWithOneLookupEach() {
+        List<Allocation> allocations = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Allocation allocation = new Allocation("u" + (i % 10), "r" + i);
+            allocation.setId("a" + i);
+            allocations.add(allocation);
+        }
+        List<UserSummary> users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            users.add(new UserSummary("u" + i, "user" + i, "User " + i, true, UserRole.CLIENT));
+        }
+        List<Resource> resources = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            resources.add(i % 2 == 0
+                    ? new Book("r" + i, "Book " + i, "Opis", "Autor " + i, "9788327159779")
+                    : new Periodical("r" + i, "Periodical " + i, "Opis", i));
+        }
+
+        when(allocationViewPort.findPage(null, PAGE_SIZE)).thenReturn(new CursorPage<>(allocations, "a99"));
+        when(userViewPort.findUsersByIds(anyCollection())).thenReturn(users);
+        when(resourceViewPort.findByIds(anyCollection())).thenReturn(resources);
+
+        Map<String, Object> data = execute("""
+                {
+                    allocations(first: 100) {
+                        edges {
+                            node {
+                                id
+                                user { username }
+                                resource {
+                                    __typename
+                                    name
+                                    ... on Book { author }
+                                    ... on Periodical { issueNumber }
+                                }
+                            }
+                        }
+                        pageInfo { hasNextPage endCursor }
+                    }
+                }
+                """);
+
+        Map<String, Object> connection = object(data, "allocations");
+        List<Map<String, Object>> edges = field(connection, "edges");
+        assertThat(edges).hasSize(PAGE_SIZE);
+
+        Map<String, Object> first = object(edges.get(0), "node");
+        assertThat(object(first, "user")).containsEntry("username", "user0");
+        assertThat(object(first, "resource")).containsEntry("__typename", "Book").containsEntry("author", "Autor 0");
+        Map<String, Object> second = object(edges.get(1), "node");
+        assertThat(object(second, "resource")).containsEntry("__typename", "Periodical").containsEntry("issueNumber", 1);
+        assertThat(object(connection, "pageInfo")).containsEntry("hasNextPage", true).containsEntry("endCursor", "a99");
+
+        verify(allocationViewPort, times(1)).findPage(null, PAGE_SIZE);
+        verify(userViewPort, times(1)).findUsersByIds(anyCollection());
+        verify(resourceViewPort, times(1)).findByIds(anyCollection());
+    }
+
+    @Test
+    void shouldLoadActiveAllocationsOfAllUsersAtOnceAndPageHistoryPerUser() {
+        List<UserSummary> users = List.of(
+                new UserSummary("u1", "user1", "User 1", true, UserRole.CLIENT),
+                new UserSummary("u2", "user2", "User 2", true, UserRole.CLIENT));
+        Allocation active = new Allocation("a1", "u1", "r1", LocalDateTime.now(), null);
+        Allocation ended = new Allocation("a2", "u1", "r2", LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1));
+        when(userService.findUsersByFilter(null, null, 20)).thenReturn(new CursorPage<>(users, null));
+        when(allocationViewPort.getCurrentAllocationsForUsers(Set.of("u1", "u2"))).thenReturn(List.of(active));
+        when(allocationViewPort.getPastAllocationsForUser("u1", null, 1)).thenReturn(new CursorPage<>(List.of(ended), "a2"));
+        when(allocationViewPort.getPastAllocationsForUser("u2", null, 1)).thenReturn(new CursorPage<>(List.of(), null));
+
+        Map<String, Object> data = execute("""
+                {
+                    users {
+                        edges {
+                            node {
+                                id
+                                allocations { id }
+                                pastAllocations(first: 1) {
+                                    edges { node { id } }
+                                    pageInfo { hasNextPage endCursor }
+                                }
+                            }
+                        }
+                    }
+                }
+                """);
+
+        List<Map<String, Object>> edges = field(object(data, "users"), "edges");
+        Map<String, Object> first = object(edges.get(0), "node");
+        assertThat(first.get("allocations")).isEqualTo(List.of(Map.of("id", "a1")));
+        assertThat(object(first, "pastAllocations").get("edges")).isEqualTo(List.of(Map.of("node", Map.of("id", "a2"))));
+        assertThat(object(object(first, "pastAllocations"), "pageInfo")).containsEntry("hasNextPage", true)
+                .containsEntry("endCursor", "a2");
+        Map<String, Object> second = object(edges.get(1), "node");
+        assertThat(second.get("allocations")).isEqualTo(List.of());
+
+        verify(allocationViewPort, times(1)).getCurrentAllocationsForUsers(anyCollection());
+    }
+
+    private Map<String, Object> execute(String document) {
+        ExecutionGraphQlResponse response = graphQlService
+                .execute(new DefaultExecutionGraphQlRequest(document, null, null, null, "1", null))
+                .block();
+        assertThat(response).isNotNull();
+        assertThat(response.getErrors()).isEmpty();
+        return response.getData();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T field(Map<String, Object> map, String name) {
+        return (T) map.get(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> object(Map<String, Object> map, String name) {
+        return (Map<String, Object>) map.get(name);
+    }
+}
@@ -0,0 +1,122 @@
+package pl.hardstyl3r.pas.v1.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilUnitTest {
+
+    private JwtUtil jwtUtil;
+    private final UserDetails anna = new User("anna", "encoded", List.of());
+
+    @BeforeEach
+    void setup() {
+        jwtUtil = newJwtUtil(60000, 2);
+    }
+
+    private static JwtUtil newJwtUtil(long expirationMs, int cacheMaxEntries) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", "PodstawyAplikacjiSieciowychMegaTrudneIDlugieHaslo");
+        ReflectionTestUtils.setField(util, "jwtExpirationMs", expirationMs);
+        ReflectionTestUtils.setField(util, "jwtRefreshExpirationMs", expirationMs);
+        ReflectionTestUtils.setField(util, "cacheMaxEntries", cacheMaxEntries);
+        ReflectionTestUtils.setField(util, "revocationPartitions", 4);
+        ReflectionTestUtils.setField(util, "revocationExpectedPerPartition", 1000);
+        ReflectionTestUtils.setField(util, "revocationFalsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(util, "revocationExactMaxEntries", 100);
+        util.init();
+        return util;
+    }
+
+    @Test
+    void shouldParseTokenOnceAndServeRepeatedLookupsFromCache() {
+        String token = jwtUtil.generateToken(anna);
+
+        assertThat(jwtUtil.extractUsername(token)).isEqualTo("anna");
+        assertThat(jwtUtil.isTokenValid(token, anna)).isTrue();
+        assertThat(jwtUtil.extractUsername(token)).isEqualTo("anna");
+
+        CacheStats stats = jwtUtil.getVerifiedTokenCacheStats();
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedTokenWhenFull() {
+        String first = jwtUtil.generateToken(anna);
+        String second = jwtUtil.generateToken(new User("marek", "encoded", List.of()));
+        String third = jwtUtil.generateToken(new User("ola", "encoded", List.of()));
+
+        jwtUtil.extractUsername(first);
+        jwtUtil.extractUsername(second);
+        jwtUtil.extractUsername(third);
+        jwtUtil.extractUsername(first);
+
+        CacheStats stats = jwtUtil.getVerifiedTokenCacheStats();
+        assertThat(stats.size()).isEqualTo(2);
+        assertThat(stats.misses()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldNotServeExpiredTokenFromCache() throws InterruptedException {
+        JwtUtil shortLived = newJwtUtil(1000, 10);
+        String token = shortLived.generateToken(anna);
+        assertThat(shortLived.extractUsername(token)).isEqualTo("anna");
+
+        Thread.sleep(1100);
+
+        assertThatThrownBy(() -> shortLived.extractUsername(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(shortLived.getVerifiedTokenCacheStats().size()).isZero();
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        String token = jwtUtil.generateToken(anna);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtUtil.extractUsername(tampered)).isInstanceOf(RuntimeException.class);
+        assertThat(jwtUtil.getVerifiedTokenCacheStats().size()).isZero();
+    }
+
+    @Test
+    void shouldRotateRefreshTokenOnlyOnce() {
+        String refreshToken = jwtUtil.generateRefreshToken(anna);
+
+        Claims claims = jwtUtil.parseRefreshToken(refreshToken);
+        assertThat(claims.getId()).isNotBlank();
+        assertThat(jwtUtil.consumeRefreshToken(claims)).isTrue();
+        assertThat(jwtUtil.consumeRefreshToken(claims)).isFalse();
+        assertThatThrownBy(() -> jwtUtil.parseRefreshToken(refreshToken)).isInstanceOf(JwtException.class);
+        assertThat(jwtUtil.parseRefreshToken(jwtUtil.generateRefreshToken(anna)).getSubject()).isEqualTo("anna");
+    }
+
+    @Test
+    void shouldNotMixAccessAndRefreshTokens() {
+        String accessToken = jwtUtil.generateToken(anna);
+        String refreshToken = jwtUtil.generateRefreshToken(anna);
+
+        assertThat(jwtUtil.isTokenValid(refreshToken, anna)).isFalse();
+        assertThatThrownBy(() -> jwtUtil.parseRefreshToken(accessToken)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void shouldRejectRevokedRefreshToken() {
+        String refreshToken = jwtUtil.generateRefreshToken(anna);
+
+        jwtUtil.revokeRefreshToken(refreshToken);
+
+        assertThatThrownBy(() -> jwtUtil.parseRefreshToken(refreshToken)).isInstanceOf(JwtException.class);
+        assertThat(jwtUtil.getRevokedTokenStats().exactEntries()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,66 @@
+package pl.hardstyl3r.pas.v1.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginRateLimiterUnitTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void shouldAllowBurstThenRefillOneTokenPerInterval() {
+        TokenBuckets buckets = new TokenBuckets(3, 60, 3, 60, 100, 0);
+
+        assertThat(buckets.tryAcquire("anna", 0)).isZero();
+        assertThat(buckets.tryAcquire("anna", 0)).isZero();
+        assertThat(buckets.tryAcquire("anna", 0)).isZero();
+        assertThat(buckets.tryAcquire("anna", 0)).isEqualTo(SECOND);
+        assertThat(buckets.tryAcquire("anna", SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(buckets.tryAcquire("anna", SECOND)).isZero();
+        assertThat(buckets.tryAcquire("marek", SECOND)).isZero();
+    }
+
+    @Test
+    void shouldShareOverflowBucketOnceFullAndReclaimRefilledBuckets() {
+        TokenBuckets buckets = new TokenBuckets(1, 60, 3, 60, 2, 0);
+        buckets.tryAcquire("a", 0);
+        buckets.tryAcquire("b", 0);
+
+        assertThat(buckets.tryAcquire("c", 0)).isZero();
+        assertThat(buckets.tryAcquire("d", 0)).isZero();
+        assertThat(buckets.tryAcquire("e", 0)).isZero();
+        assertThat(buckets.tryAcquire("f", 0)).isPositive();
+        assertThat(buckets.tryAcquire("a", 0)).isPositive();
+        assertThat(buckets.size()).isEqualTo(2);
+
+        assertThat(buckets.tryAcquire("g", 2 * SECOND)).isZero();
+        assertThat(buckets.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLimitByAddressBeforeUsername() {
+        LoginRateLimiter limiter = new LoginRateLimiter(2, 1, 5, 1, 100, 60, 100);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+
+        assertThat(limiter.tryAcquire("Anna", "10.0.0.1")).isEqualTo(Duration.ZERO);
+        assertThat(limiter.tryAcquire("marek", "10.0.0.1")).isEqualTo(Duration.ZERO);
+        assertThat(limiter.tryAcquire("anna ", "10.0.0.1")).isPositive();
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("anna", "10.0.0." + (i + 2));
+        }
+        assertThat(limiter.tryAcquire("anna", "10.0.0.9")).isPositive();
+
+        assertThat(registry.get("pas.login.attempts").tag("outcome", "allowed").functionCounter().count())
+                .isEqualTo(6);
+        assertThat(registry.get("pas.login.attempts").tag("outcome", "rejected_address").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("pas.login.attempts").tag("outcome", "rejected_username").functionCounter().count())
+                .isEqualTo(1);
+    }
+}
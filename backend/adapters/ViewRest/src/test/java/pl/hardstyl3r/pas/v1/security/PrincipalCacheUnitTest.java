@@ -0,0 +1,63 @@
+package pl.hardstyl3r.pas.v1.security;
+
+import org.junit.jupiter.api.Test;
+import pl.hardstyl3r.pas.v1.objects.UserRole;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheUnitTest {
+
+    @Test
+    void shouldLoadPrincipalOnceWithinTtl() {
+        PrincipalCache cache = new PrincipalCache(60000, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            cache.get("anna", username -> {
+                loads.incrementAndGet();
+                return new UserPrincipal("u1", username, UserRole.CLIENT, true);
+            });
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().hits()).isEqualTo(2);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReloadPrincipalAfterUserChanged() {
+        PrincipalCache cache = new PrincipalCache(60000, 100);
+        cache.get("anna", username -> new UserPrincipal("u1", username, UserRole.CLIENT, true));
+
+        cache.onUserChanged("u1");
+        UserPrincipal reloaded = cache.get("anna", username -> new UserPrincipal("u1", username, UserRole.CLIENT, false));
+
+        assertThat(reloaded.isEnabled()).isFalse();
+    }
+
+    @Test
+    void shouldNotCachePrincipalLoadedWhileUserChanged() {
+        PrincipalCache cache = new PrincipalCache(60000, 100);
+
+        cache.get("anna", username -> {
+            cache.onUserChanged("u1");
+            return new UserPrincipal("u1", username, UserRole.CLIENT, true);
+        });
+
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    @Test
+    void shouldEvictOnlyPartOfAFullCache() {
+        PrincipalCache cache = new PrincipalCache(60000, 10);
+        for (int i = 0; i < 10; i++) {
+            cache.get("user" + i, username -> new UserPrincipal(username, username, UserRole.CLIENT, true));
+        }
+
+        cache.get("extra", username -> new UserPrincipal("extra", username, UserRole.CLIENT, true));
+
+        assertThat(cache.stats().size()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,65 @@
+package pl.hardstyl3r.pas.v1.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevokedTokensUnitTest {
+
+    @Test
+    void shouldForgetIdsOnceTheirPartitionHasExpired() {
+        RevokedTokens revoked = new RevokedTokens(4000, 4, 100, 0.01, 100);
+        String early = UUID.randomUUID().toString();
+        String late = UUID.randomUUID().toString();
+
+        assertThat(revoked.revoke(early, 1500, 0)).isTrue();
+        assertThat(revoked.revoke(late, 3500, 0)).isTrue();
+        assertThat(revoked.revoke(early, 1500, 100)).isFalse();
+        assertThat(revoked.isRevoked(early, 1500)).isTrue();
+        assertThat(revoked.isRevoked(UUID.randomUUID().toString(), 1500)).isFalse();
+        assertThat(revoked.stats().partitions()).isEqualTo(2);
+
+        revoked.revoke(UUID.randomUUID().toString(), 3900, 2000);
+
+        assertThat(revoked.isRevoked(early, 1500)).isFalse();
+        assertThat(revoked.isRevoked(late, 3500)).isTrue();
+        assertThat(revoked.stats().partitions()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFallBackToFilterWhenExactSetIsFull() {
+        RevokedTokens revoked = new RevokedTokens(4000, 4, 1000, 0.01, 1);
+        String first = UUID.randomUUID().toString();
+        String second = UUID.randomUUID().toString();
+
+        assertThat(revoked.revoke(first, 1500, 0)).isTrue();
+        assertThat(revoked.revoke(second, 1500, 0)).isTrue();
+        assertThat(revoked.revoke(second, 1500, 0)).isFalse();
+
+        assertThat(revoked.isRevoked(first, 1500)).isTrue();
+        assertThat(revoked.isRevoked(second, 1500)).isTrue();
+        assertThat(revoked.stats().exactEntries()).isEqualTo(1);
+        assertThat(revoked.stats().bloomOnlyHits()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearConfigured() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            filter.put(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            if (filter.mightContain(id.getMostSignificantBits(), id.getLeastSignificantBits())) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isLessThan(200);
+    }
+}
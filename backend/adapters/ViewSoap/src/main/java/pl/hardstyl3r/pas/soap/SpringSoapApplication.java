@@ -3,7 +3,7 @@ package pl.hardstyl3r.pas.soap;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
-@SpringBootApplication(scanBasePackages = {"pl.hardstyl3r.pas", "pl.hardstyl3r.repoadapters"})
+@SpringBootApplication(scanBasePackages = {"pl.hardstyl3r.pas", "pl.hardstyl3r.repoadapters", "pl.hardstyl3r.memoryadapters"})
 public class SpringSoapApplication {
 
     public static void main(String[] args) {
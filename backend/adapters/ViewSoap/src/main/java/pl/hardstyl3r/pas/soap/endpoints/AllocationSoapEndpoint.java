@@ -8,6 +8,7 @@ import pl.hardstyl3r.pas.soap.api.CreateAllocationRequest;
 import pl.hardstyl3r.pas.soap.api.CreateAllocationResponse;
 import pl.hardstyl3r.pas.soap.api.SoapMapper;
 import pl.hardstyl3r.pas.v1.viewports.AllocationViewPort;
+import pl.hardstyl3r.repoadapters.metrics.OperationMetrics;
 
 @Endpoint
 public class AllocationSoapEndpoint {
@@ -15,19 +16,23 @@ public class AllocationSoapEndpoint {
     private static final String NAMESPACE = "http://p.lodz.pl/pas/soap";
 
     private final AllocationViewPort allocationViewPort;
+    private final OperationMetrics metrics;
 
-    public AllocationSoapEndpoint(AllocationViewPort allocationViewPort) {
+    public AllocationSoapEndpoint(AllocationViewPort allocationViewPort, OperationMetrics metrics) {
         this.allocationViewPort = allocationViewPort;
+        this.metrics = metrics;
     }
 
     @PayloadRoot(namespace = NAMESPACE, localPart = "CreateAllocationRequest")
     @ResponsePayload
     public CreateAllocationResponse createAllocation(@RequestPayload CreateAllocationRequest request) {
-        CreateAllocationResponse response = new CreateAllocationResponse();
-        response.setAllocation(SoapMapper.fromAllocation(
-                allocationViewPort.createAllocation(request.getUserId(), request.getResourceId())
-        ));
-        return response;
+        return metrics.record(OperationMetrics.SOAP, "AllocationSoapEndpoint.createAllocation", () -> {
+            CreateAllocationResponse response = new CreateAllocationResponse();
+            response.setAllocation(SoapMapper.fromAllocation(
+                    allocationViewPort.createAllocation(request.getUserId(), request.getResourceId())
+            ));
+            return response;
+        });
     }
 }
 
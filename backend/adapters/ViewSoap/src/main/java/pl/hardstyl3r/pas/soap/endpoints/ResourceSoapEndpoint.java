@@ -8,6 +8,7 @@ import pl.hardstyl3r.pas.soap.api.GetResourcesRequest;
 import pl.hardstyl3r.pas.soap.api.GetResourcesResponse;
 import pl.hardstyl3r.pas.soap.api.SoapMapper;
 import pl.hardstyl3r.pas.v1.viewports.ResourceViewPort;
+import pl.hardstyl3r.repoadapters.metrics.OperationMetrics;
 
 import java.util.stream.Collectors;
 
@@ -17,19 +18,23 @@ public class ResourceSoapEndpoint {
     private static final String NAMESPACE = "http://p.lodz.pl/pas/soap";
 
     private final ResourceViewPort resourceViewPort;
+    private final OperationMetrics metrics;
 
-    public ResourceSoapEndpoint(ResourceViewPort resourceViewPort) {
+    public ResourceSoapEndpoint(ResourceViewPort resourceViewPort, OperationMetrics metrics) {
         this.resourceViewPort = resourceViewPort;
+        this.metrics = metrics;
     }
 
     @PayloadRoot(namespace = NAMESPACE, localPart = "GetResourcesRequest")
     @ResponsePayload
     public GetResourcesResponse getResources(@RequestPayload GetResourcesRequest request) {
-        GetResourcesResponse response = new GetResourcesResponse();
-        response.setResources(resourceViewPort.findAll().stream()
-                .map(SoapMapper::fromResource)
-                .collect(Collectors.toList()));
-        return response;
+        return metrics.record(OperationMetrics.SOAP, "ResourceSoapEndpoint.getResources", () -> {
+            GetResourcesResponse response = new GetResourcesResponse();
+            response.setResources(resourceViewPort.findAll().stream()
+                    .map(SoapMapper::fromResource)
+                    .collect(Collectors.toList()));
+            return response;
+        });
     }
 }
 
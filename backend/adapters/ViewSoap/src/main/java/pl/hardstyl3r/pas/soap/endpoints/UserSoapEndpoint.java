@@ -9,6 +9,7 @@ import pl.hardstyl3r.pas.soap.api.GetUserByUsernameResponse;
 import pl.hardstyl3r.pas.soap.api.SoapMapper;
 import pl.hardstyl3r.pas.v1.exceptions.UserNotFoundException;
 import pl.hardstyl3r.pas.v1.viewports.UserViewPort;
+import pl.hardstyl3r.repoadapters.metrics.OperationMetrics;
 
 @Endpoint
 public class UserSoapEndpoint {
@@ -16,19 +17,23 @@ public class UserSoapEndpoint {
     private static final String NAMESPACE = "http://p.lodz.pl/pas/soap";
 
     private final UserViewPort userViewPort;
+    private final OperationMetrics metrics;
 
-    public UserSoapEndpoint(UserViewPort userViewPort) {
+    public UserSoapEndpoint(UserViewPort userViewPort, OperationMetrics metrics) {
         this.userViewPort = userViewPort;
+        this.metrics = metrics;
     }
 
     @PayloadRoot(namespace = NAMESPACE, localPart = "GetUserByUsernameRequest")
     @ResponsePayload
     public GetUserByUsernameResponse getUserByUsername(@RequestPayload GetUserByUsernameRequest request) {
-        GetUserByUsernameResponse response = new GetUserByUsernameResponse();
-        response.setUser(userViewPort.findUserByUsername(request.getUsername())
-                .map(SoapMapper::fromUser)
-                .orElseThrow(() -> new UserNotFoundException("User with username " + request.getUsername() + " not found")));
-        return response;
+        return metrics.record(OperationMetrics.SOAP, "UserSoapEndpoint.getUserByUsername", () -> {
+            GetUserByUsernameResponse response = new GetUserByUsernameResponse();
+            response.setUser(userViewPort.findUserByUsername(request.getUsername())
+                    .map(SoapMapper::fromUser)
+                    .orElseThrow(() -> new UserNotFoundException("User with username " + request.getUsername() + " not found")));
+            return response;
+        });
     }
 }
 
@@ -1,5 +1,7 @@
 package pl.hardstyl3r.pas.soap;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +13,7 @@ import pl.hardstyl3r.pas.soap.api.GetUserByUsernameRequest;
 import pl.hardstyl3r.pas.soap.endpoints.AllocationSoapEndpoint;
 import pl.hardstyl3r.pas.soap.endpoints.ResourceSoapEndpoint;
 import pl.hardstyl3r.pas.soap.endpoints.UserSoapEndpoint;
+import pl.hardstyl3r.pas.v1.exceptions.UserNotFoundException;
 import pl.hardstyl3r.pas.v1.objects.Allocation;
 import pl.hardstyl3r.pas.v1.objects.User;
 import pl.hardstyl3r.pas.v1.objects.UserRole;
@@ -18,11 +21,13 @@ import pl.hardstyl3r.pas.v1.objects.resources.Book;
 import pl.hardstyl3r.pas.v1.viewports.AllocationViewPort;
 import pl.hardstyl3r.pas.v1.viewports.ResourceViewPort;
 import pl.hardstyl3r.pas.v1.viewports.UserViewPort;
+import pl.hardstyl3r.repoadapters.metrics.OperationMetrics;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,15 +42,18 @@ class SoapEndpointsUnitTest {
     @Mock
     private AllocationViewPort allocationViewPort;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private UserSoapEndpoint userSoapEndpoint;
     private ResourceSoapEndpoint resourceSoapEndpoint;
     private AllocationSoapEndpoint allocationSoapEndpoint;
 
     @BeforeEach
     void setup() {
-        userSoapEndpoint = new UserSoapEndpoint(userViewPort);
-        resourceSoapEndpoint = new ResourceSoapEndpoint(resourceViewPort);
-        allocationSoapEndpoint = new AllocationSoapEndpoint(allocationViewPort);
+        OperationMetrics metrics = new OperationMetrics(meterRegistry, Tracer.NOOP);
+        userSoapEndpoint = new UserSoapEndpoint(userViewPort, metrics);
+        resourceSoapEndpoint = new ResourceSoapEndpoint(resourceViewPort, metrics);
+        allocationSoapEndpoint = new AllocationSoapEndpoint(allocationViewPort, metrics);
     }
 
     @Test
@@ -91,4 +99,20 @@ class SoapEndpointsUnitTest {
         assertThat(response.getAllocation()).isNotNull();
         assertThat(response.getAllocation().getId()).isEqualTo("a1");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldTimeEndpointsWithOutcome() {
+        when(userViewPort.findUserByUsername("ghost")).thenReturn(Optional.empty());
+        GetUserByUsernameRequest request = new GetUserByUsernameRequest();
+        request.setUsername("ghost");
+
+        assertThatThrownBy(() -> userSoapEndpoint.getUserByUsername(request))
+                .isInstanceOf(UserNotFoundException.class);
+
+        assertThat(meterRegistry.get(OperationMetrics.SOAP)
+                .tag("operation", "UserSoapEndpoint.getUserByUsername")
+                .tag("outcome", "CLIENT_ERROR")
+                .tag("exception", "UserNotFoundException")
+                .timer().count()).isEqualTo(1);
+    }
+}
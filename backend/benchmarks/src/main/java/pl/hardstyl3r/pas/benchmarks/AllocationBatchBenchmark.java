@@ -0,0 +1,112 @@
+package pl.hardstyl3r.pas.benchmarks;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.AllocationBatchResult;
+import pl.hardstyl3r.pas.v1.objects.UserRole;
+import pl.hardstyl3r.pas.v1.services.AllocationService;
+import pl.hardstyl3r.repoadapters.adapters.AllocationAdapter;
+import pl.hardstyl3r.repoadapters.adapters.ResourceAdapter;
+import pl.hardstyl3r.repoadapters.adapters.UserAdapter;
+import pl.hardstyl3r.repoadapters.indexes.IndexRegistry;
+import pl.hardstyl3r.repoadapters.objects.AllocationEnt;
+import pl.hardstyl3r.repoadapters.objects.UserEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.ResourceEnt;
+import pl.hardstyl3r.repoadapters.repositories.AllocationRepository;
+import pl.hardstyl3r.repoadapters.repositories.ResourceRepository;
+import pl.hardstyl3r.repoadapters.repositories.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Porównuje {@code batchSize} pojedynczych wywołań {@code createAllocation} z jednym {@code createAllocations}
+ * dla tylu samych pozycji. Przed każdym wywołaniem alokacje są usuwane, a liczniki zasobów zerowane.
+ * Wymaga działającej bazy (osobna baza {@code pas_benchmarks}).
+ * Uruchomienie: {@code java -jar benchmarks/target/benchmarks.jar AllocationBatchBenchmark -p mongoUri=...}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AllocationBatchBenchmark {
+
+    @Param(MongoFixtures.DEFAULT_URI)
+    public String mongoUri;
+
+    @Param({"500"})
+    public int batchSize;
+
+    private AnnotationConfigApplicationContext context;
+    private MongoTemplate mongoTemplate;
+    private AllocationService allocationService;
+    private String userId;
+    private List<String> resourceIds;
+
+    @Setup
+    public void setup() {
+        context = MongoFixtures.context(mongoUri, AllocationRepository.class, ResourceRepository.class,
+                UserRepository.class, AllocationAdapter.class, ResourceAdapter.class, UserAdapter.class,
+                AllocationService.class);
+        mongoTemplate = context.getBean(MongoTemplate.class);
+        dropCollections();
+        context.getBean(IndexRegistry.class).ensureIndexes();
+
+        Document user = new Document("username", "desk").append("usernameLower", "desk")
+                .append("usernameTrigrams", UserEnt.trigrams("desk"))
+                .append("name", "Checkout Desk").append("active", true).append("password", "x")
+                .append("role", UserRole.RESOURCE_MANAGER.name());
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(UserEnt.class)).insertOne(user);
+        userId = user.getObjectId("_id").toHexString();
+
+        List<Document> resources = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            resources.add(new Document("_class", "pl.hardstyl3r.repoadapters.objects.resources.BookEnt")
+                    .append("name", "Book " + i).append(ResourceRepository.ALLOCATION_COUNT, 0));
+        }
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(ResourceEnt.class)).insertMany(resources);
+        resourceIds = resources.stream().map(resource -> resource.getObjectId("_id").toHexString()).toList();
+        allocationService = context.getBean(AllocationService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void releaseResources() {
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(AllocationEnt.class)).deleteMany(new Document());
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(ResourceEnt.class)).updateMany(new Document(),
+                new Document("$set", new Document(ResourceRepository.ALLOCATION_COUNT, 0)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        dropCollections();
+        context.close();
+    }
+
+    @Benchmark
+    public List<Allocation> createOneByOne() {
+        List<Allocation> created = new ArrayList<>(batchSize);
+        for (String resourceId : resourceIds) {
+            created.add(allocationService.createAllocation(userId, resourceId));
+        }
+        return created;
+    }
+
+    @Benchmark
+    public List<AllocationBatchResult> createInBatch() {
+        return allocationService.createAllocations(resourceIds.stream()
+                .map(resourceId -> new Allocation(userId, resourceId))
+                .toList());
+    }
+
+    private void dropCollections() {
+        mongoTemplate.dropCollection(UserEnt.class);
+        mongoTemplate.dropCollection(ResourceEnt.class);
+        mongoTemplate.dropCollection(AllocationEnt.class);
+    }
+}
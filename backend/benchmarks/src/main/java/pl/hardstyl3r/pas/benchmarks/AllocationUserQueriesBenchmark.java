@@ -0,0 +1,98 @@
+package pl.hardstyl3r.pas.benchmarks;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import pl.hardstyl3r.pas.appports.AllocationPort;
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.repoadapters.adapters.AllocationAdapter;
+import pl.hardstyl3r.repoadapters.indexes.IndexRegistry;
+import pl.hardstyl3r.repoadapters.objects.AllocationEnt;
+import pl.hardstyl3r.repoadapters.repositories.AllocationRepository;
+import pl.hardstyl3r.repoadapters.repositories.ResourceRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Porównuje filtrowanie alokacji użytkownika w JVM ({@code findByUserId} + filtr) z zapytaniami wykonywanymi
+ * po stronie MongoDB: aktywne alokacje oraz pierwsza strona zakończonych, sortowana po indeksie {@code {userId, _id}}.
+ * Wymaga działającej bazy (osobna baza {@code pas_benchmarks}).
+ * Uruchomienie: {@code java -jar benchmarks/target/benchmarks.jar AllocationUserQueriesBenchmark -p mongoUri=...}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AllocationUserQueriesBenchmark {
+
+    private static final int ACTIVE_ALLOCATIONS = 10;
+    private static final String USER_ID = "60c72b2f9b1e8a3f3c8e4b1b";
+
+    @Param(MongoFixtures.DEFAULT_URI)
+    public String mongoUri;
+
+    @Param({"10000"})
+    public int allocationsPerUser;
+
+    private AnnotationConfigApplicationContext context;
+    private AllocationPort allocationPort;
+
+    @Setup
+    public void setup() {
+        context = MongoFixtures.context(mongoUri, AllocationRepository.class, ResourceRepository.class,
+                AllocationAdapter.class);
+        MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+        mongoTemplate.dropCollection(AllocationEnt.class);
+        context.getBean(IndexRegistry.class).ensureIndexes();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Document> documents = new ArrayList<>(allocationsPerUser);
+        for (int i = 0; i < allocationsPerUser; i++) {
+            Document allocation = new Document("userId", USER_ID)
+                    .append("resourceId", "resource-" + i)
+                    .append("startTime", now.minusDays(i + 1));
+            if (i >= ACTIVE_ALLOCATIONS) {
+                allocation.append("endTime", now.minusDays(i));
+            }
+            documents.add(allocation);
+        }
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(AllocationEnt.class)).insertMany(documents);
+        allocationPort = context.getBean(AllocationPort.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.getBean(MongoTemplate.class).dropCollection(AllocationEnt.class);
+        context.close();
+    }
+
+    @Benchmark
+    public List<Allocation> activeFilteredInJvm() {
+        return allocationPort.findByUserId(USER_ID).stream()
+                .filter(a -> a.getEndTime() == null)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Allocation> activeQueried() {
+        return allocationPort.findActiveByUserId(USER_ID);
+    }
+
+    @Benchmark
+    public List<Allocation> endedFilteredInJvm() {
+        return allocationPort.findByUserId(USER_ID).stream()
+                .filter(a -> a.getEndTime() != null)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Allocation> endedFirstPageQueried() {
+        return allocationPort.findEndedByUserId(USER_ID, null, 100).items();
+    }
+}
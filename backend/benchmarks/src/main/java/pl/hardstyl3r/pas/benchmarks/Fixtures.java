@@ -0,0 +1,97 @@
+package pl.hardstyl3r.pas.benchmarks;
+
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import pl.hardstyl3r.repoadapters.objects.AllocationEnt;
+import pl.hardstyl3r.repoadapters.objects.UserEnt;
+import pl.hardstyl3r.repoadapters.objects.UserEntRole;
+import pl.hardstyl3r.repoadapters.objects.resources.BookEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.NewspaperEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.PeriodicalEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.ResourceEnt;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Deterministic documents in the exact shape {@link MappingMongoConverter} writes them, encoded to raw BSON
+ * so that every benchmark starts from the bytes the driver would receive.
+ */
+final class Fixtures {
+
+    static final long SEED = 251517L;
+
+    private Fixtures() {
+    }
+
+    static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    static byte[][] users(MappingMongoConverter converter, int count) {
+        Random random = new Random(SEED);
+        return encode(converter, count, i -> {
+            UserEnt user = new UserEnt("user" + i, "$2a$10$" + Long.toHexString(random.nextLong()) + "abcdefghijklmnopqrstuvwxyz0123",
+                    "User Name " + i, random.nextBoolean());
+            user.setId(new ObjectId().toHexString());
+            user.setRole(UserEntRole.values()[random.nextInt(UserEntRole.values().length)]);
+            return user;
+        });
+    }
+
+    static byte[][] resources(MappingMongoConverter converter, int count) {
+        Random random = new Random(SEED);
+        return encode(converter, count, i -> {
+            String id = new ObjectId().toHexString();
+            ResourceEnt resource = switch (i % 3) {
+                case 0 -> new BookEnt(id, "Book " + i, "Description " + i, "Author " + random.nextInt(1000), "9788327159779");
+                case 1 -> new PeriodicalEnt(id, "Periodical " + i, "Description " + i, random.nextInt(120));
+                default -> new NewspaperEnt(id, "Newspaper " + i, "Description " + i, "2025-01-" + (1 + random.nextInt(28)));
+            };
+            return resource;
+        });
+    }
+
+    static byte[][] allocations(MappingMongoConverter converter, int count) {
+        Random random = new Random(SEED);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        return encode(converter, count, i -> {
+            AllocationEnt allocation = new AllocationEnt(new ObjectId().toHexString(), new ObjectId().toHexString());
+            allocation.setId(new ObjectId().toHexString());
+            allocation.setStartTime(base.plusMinutes(random.nextInt(500_000)));
+            allocation.setEndTime(i % 2 == 0 ? null : allocation.getStartTime().plusHours(1 + random.nextInt(48)));
+            return allocation;
+        });
+    }
+
+    static BsonBinaryReader reader(byte[] bson) {
+        return new BsonBinaryReader(ByteBuffer.wrap(bson));
+    }
+
+    private static byte[][] encode(MappingMongoConverter converter, int count, IntFunction<Object> entity) {
+        byte[][] documents = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            Document document = new Document();
+            converter.write(entity.apply(i), document);
+            RawBsonDocument raw = new RawBsonDocument(document, new DocumentCodec());
+            documents[i] = raw.getByteBuffer().array();
+        }
+        return documents;
+    }
+}
@@ -0,0 +1,77 @@
+package pl.hardstyl3r.pas.benchmarks;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.security.core.userdetails.User;
+import pl.hardstyl3r.pas.v1.security.JwtUtil;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mierzy {@code JwtUtil.extractAllClaims} z trafieniem w cache zweryfikowanych tokenów oraz z pełną weryfikacją
+ * podpisu HMAC (cache wyłączony), a także wystawianie tokenu. {@link JwtUtil} powstaje przez Springa,
+ * z tymi samymi właściwościami co w aplikacji.
+ * Uruchomienie: {@code java -jar benchmarks/target/benchmarks.jar JwtBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private final User user = new User("ksawicka", "encoded", List.of());
+
+    private AnnotationConfigApplicationContext cachedContext;
+    private AnnotationConfigApplicationContext uncachedContext;
+    private JwtUtil cached;
+    private JwtUtil uncached;
+    private String token;
+
+    @Setup
+    public void setup() {
+        cachedContext = context(10_000);
+        uncachedContext = context(0);
+        cached = cachedContext.getBean(JwtUtil.class);
+        uncached = uncachedContext.getBean(JwtUtil.class);
+        token = cached.generateToken(user);
+    }
+
+    @TearDown
+    public void tearDown() {
+        cachedContext.close();
+        uncachedContext.close();
+    }
+
+    @Benchmark
+    public Claims extractAllClaimsCached() {
+        return cached.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Claims extractAllClaimsVerified() {
+        return uncached.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncached.generateToken(user);
+    }
+
+    private static AnnotationConfigApplicationContext context(int cacheMaxEntries) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "jwt.secret", "PodstawyAplikacjiSieciowychMegaTrudneIDlugieHaslo",
+                "jwt.expiration.ms", "3600000",
+                "jwt.refresh.expiration.ms", "86400000",
+                "jwt.cache.max-entries", String.valueOf(cacheMaxEntries))));
+        context.register(JwtUtil.class);
+        context.refresh();
+        return context;
+    }
+}
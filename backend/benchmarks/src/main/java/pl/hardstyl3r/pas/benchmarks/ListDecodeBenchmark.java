@@ -0,0 +1,115 @@
+package pl.hardstyl3r.pas.benchmarks;
+
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import pl.hardstyl3r.pas.v1.dto.UserConverter;
+import pl.hardstyl3r.pas.v1.objects.Allocation;
+import pl.hardstyl3r.pas.v1.objects.UserSummary;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.repoadapters.codecs.ReadModelCodecs;
+import pl.hardstyl3r.repoadapters.mappers.AllocationMapper;
+import pl.hardstyl3r.repoadapters.mappers.ResourceMapper;
+import pl.hardstyl3r.repoadapters.mappers.UserMapper;
+import pl.hardstyl3r.repoadapters.objects.AllocationEnt;
+import pl.hardstyl3r.repoadapters.objects.UserEnt;
+import pl.hardstyl3r.repoadapters.objects.resources.ResourceEnt;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Porównuje dwie ścieżki odczytu list {@code /users}, {@code /resources} i {@code /allocations} na 100 tys. dokumentów:
+ * BSON → Document → encja (MappingMongoConverter) → obiekt domenowy → DTO oraz bezpośrednie kodeki z {@link ReadModelCodecs}.
+ * Wynik to dokumenty na sekundę; {@code -prof gc} pokazuje bajty alokowane na dokument ({@code gc.alloc.rate.norm}).
+ * Uruchomienie: {@code mvn -pl benchmarks -am package -DskipTests && java -jar benchmarks/target/benchmarks.jar ListDecodeBenchmark -prof gc}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ListDecodeBenchmark.DOCUMENTS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListDecodeBenchmark {
+
+    static final int DOCUMENTS = 100_000;
+
+    private final DecoderContext decoderContext = DecoderContext.builder().build();
+    private final DocumentCodec documentCodec = new DocumentCodec();
+    private final Codec<UserSummary> userCodec = ReadModelCodecs.REGISTRY.get(UserSummary.class);
+    private final Codec<Resource> resourceCodec = ReadModelCodecs.REGISTRY.get(Resource.class);
+    private final Codec<Allocation> allocationCodec = ReadModelCodecs.REGISTRY.get(Allocation.class);
+
+    private MappingMongoConverter converter;
+    private byte[][] users;
+    private byte[][] resources;
+    private byte[][] allocations;
+
+    @Setup
+    public void setup() {
+        converter = Fixtures.converter();
+        users = Fixtures.users(converter, DOCUMENTS);
+        resources = Fixtures.resources(converter, DOCUMENTS);
+        allocations = Fixtures.allocations(converter, DOCUMENTS);
+    }
+
+    @Benchmark
+    public void usersViaEntityMapping(Blackhole blackhole) {
+        for (byte[] bson : users) {
+            UserEnt entity = converter.read(UserEnt.class, document(bson));
+            blackhole.consume(UserConverter.dtoFromUser(UserMapper.toDomain(entity)));
+        }
+    }
+
+    @Benchmark
+    public void usersViaCodec(Blackhole blackhole) {
+        for (byte[] bson : users) {
+            blackhole.consume(UserConverter.dtoFromSummary(decode(userCodec, bson)));
+        }
+    }
+
+    @Benchmark
+    public void resourcesViaEntityMapping(Blackhole blackhole) {
+        for (byte[] bson : resources) {
+            blackhole.consume(ResourceMapper.toDomain(converter.read(ResourceEnt.class, document(bson))));
+        }
+    }
+
+    @Benchmark
+    public void resourcesViaCodec(Blackhole blackhole) {
+        for (byte[] bson : resources) {
+            blackhole.consume(decode(resourceCodec, bson));
+        }
+    }
+
+    @Benchmark
+    public void allocationsViaEntityMapping(Blackhole blackhole) {
+        for (byte[] bson : allocations) {
+            blackhole.consume(AllocationMapper.toDomain(converter.read(AllocationEnt.class, document(bson))));
+        }
+    }
+
+    @Benchmark
+    public void allocationsViaCodec(Blackhole blackhole) {
+        for (byte[] bson : allocations) {
+            blackhole.consume(decode(allocationCodec, bson));
+        }
+    }
+
+    private Document document(byte[] bson) {
+        try (BsonBinaryReader reader = Fixtures.reader(bson)) {
+            return documentCodec.decode(reader, decoderContext);
+        }
+    }
+
+    private <T> T decode(Codec<T> codec, byte[] bson) {
+        try (BsonBinaryReader reader = Fixtures.reader(bson)) {
+            return codec.decode(reader, decoderContext);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package pl.hardstyl3r.pas.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import pl.hardstyl3r.pas.v1.security.PasswordEncoderConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mierzy logowanie tak jak {@code /api/v1/auth/login}: {@link DaoAuthenticationProvider} z koderem
+ * z {@link PasswordEncoderConfig}, dla każdego ustawienia algorytmu i kosztu. Benchmark działa na jednym wątku,
+ * więc wynik to liczba logowań na sekundę na rdzeń; tyle wątków warto dać puli {@code pas.security.login.threads}.
+ * Uruchomienie: {@code java -jar benchmarks/target/benchmarks.jar LoginBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoginBenchmark {
+
+    private static final String USERNAME = "ksawicka";
+    private static final String PASSWORD = "haslo123";
+
+    @Param({"bcrypt-10", "bcrypt-12", "pbkdf2-310000", "argon2-16384"})
+    public String setting;
+
+    private DaoAuthenticationProvider provider;
+
+    @Setup
+    public void setup() {
+        String[] parts = setting.split("-");
+        int cost = Integer.parseInt(parts[1]);
+        PasswordEncoder encoder = switch (parts[0]) {
+            case PasswordEncoderConfig.BCRYPT -> PasswordEncoderConfig.passwordEncoder(parts[0], cost, 310_000, 16_384, 2);
+            case PasswordEncoderConfig.PBKDF2 -> PasswordEncoderConfig.passwordEncoder(parts[0], 10, cost, 16_384, 2);
+            case PasswordEncoderConfig.ARGON2 -> PasswordEncoderConfig.passwordEncoder(parts[0], 10, 310_000, cost, 2);
+            default -> throw new IllegalArgumentException(setting);
+        };
+        provider = new DaoAuthenticationProvider(new InMemoryUserDetailsManager(User.withUsername(USERNAME)
+                .password(encoder.encode(PASSWORD))
+                .roles("CLIENT")
+                .build()));
+        provider.setPasswordEncoder(encoder);
+    }
+
+    @Benchmark
+    public Authentication login() {
+        return provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(USERNAME, PASSWORD));
+    }
+}
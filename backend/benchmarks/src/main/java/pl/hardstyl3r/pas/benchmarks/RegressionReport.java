@@ -0,0 +1,144 @@
+package pl.hardstyl3r.pas.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Uruchamia benchmarki, zapisuje wynik w formacie JSON JMH i porównuje go z zapisaną linią bazową.
+ * Kończy się kodem 1, gdy któryś wynik jest gorszy o więcej niż tolerancja (domyślnie 10%).
+ * Linia bazowa zależy od maszyny, więc nie jest częścią repozytorium: domyślnie leży w
+ * {@code ~/.pas-benchmarks/baseline.json}, przy pierwszym uruchomieniu zostaje nią bieżący wynik, a po zmianie
+ * sprzętu trzeba ją odświeżyć przez {@code --update-baseline}.
+ * Uruchomienie z katalogu {@code backend}:
+ * {@code java -cp benchmarks/target/benchmarks.jar pl.hardstyl3r.pas.benchmarks.RegressionReport [--baseline plik]
+ * [--results plik] [--tolerance 0.10] [--compare-only] [--update-baseline] [wzorzec benchmarków...]}.
+ */
+public final class RegressionReport {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private RegressionReport() {
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        Path baseline = Path.of(System.getProperty("user.home"), ".pas-benchmarks", "baseline.json");
+        Path results = Path.of("benchmarks/target/jmh-result.json");
+        double tolerance = 0.10;
+        boolean compareOnly = false;
+        boolean updateBaseline = false;
+        List<String> includes = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--baseline" -> baseline = Path.of(args[++i]);
+                case "--results" -> results = Path.of(args[++i]);
+                case "--tolerance" -> tolerance = Double.parseDouble(args[++i]);
+                case "--compare-only" -> compareOnly = true;
+                case "--update-baseline" -> updateBaseline = true;
+                default -> includes.add(args[i]);
+            }
+        }
+
+        if (!compareOnly) {
+            run(includes, results);
+        }
+        if (updateBaseline || !Files.exists(baseline)) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(results, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println((updateBaseline ? "Baseline updated: " : "No baseline yet, saved results as ") + baseline);
+            return;
+        }
+
+        List<Comparison> comparisons = compare(read(baseline), read(results), tolerance);
+        print(comparisons, tolerance);
+        if (comparisons.stream().anyMatch(c -> c.status() == Status.REGRESSION)) {
+            System.exit(1);
+        }
+    }
+
+    private static void run(List<String> includes, Path results) throws IOException, RunnerException {
+        Files.createDirectories(results.toAbsolutePath().getParent());
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .resultFormat(ResultFormatType.JSON)
+                .result(results.toString());
+        if (includes.isEmpty()) {
+            options.include(".*Benchmark.*");
+        } else {
+            includes.forEach(options::include);
+        }
+        new Runner(options.build()).run();
+    }
+
+    static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : JSON.readTree(file.toFile())) {
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").properties().forEach(e -> params.put(e.getKey(), e.getValue().asText()));
+            String key = result.get("benchmark").asText().replace("pl.hardstyl3r.pas.benchmarks.", "")
+                    + (params.isEmpty() ? "" : " " + params);
+            JsonNode metric = result.get("primaryMetric");
+            scores.put(key, new Score(result.get("mode").asText(), metric.get("score").asDouble(),
+                    metric.path("scoreError").asDouble(Double.NaN), metric.get("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    static List<Comparison> compare(Map<String, Score> baseline, Map<String, Score> current, double tolerance) {
+        List<Comparison> comparisons = new ArrayList<>();
+        current.forEach((key, score) -> {
+            Score base = baseline.get(key);
+            if (base == null || !base.unit().equals(score.unit())) {
+                comparisons.add(new Comparison(key, base, score, Double.NaN, Status.NEW));
+                return;
+            }
+            double change = (score.value() - base.value()) / base.value();
+            // Throughput is better when higher, every time-based mode when lower.
+            double worse = "thrpt".equals(score.mode()) ? -change : change;
+            Status status = worse > tolerance ? Status.REGRESSION : worse < -tolerance ? Status.IMPROVED : Status.OK;
+            comparisons.add(new Comparison(key, base, score, change, status));
+        });
+        baseline.forEach((key, base) -> {
+            if (!current.containsKey(key)) {
+                comparisons.add(new Comparison(key, base, null, Double.NaN, Status.MISSING));
+            }
+        });
+        return comparisons;
+    }
+
+    private static void print(List<Comparison> comparisons, double tolerance) {
+        System.out.printf("%nRegression report (tolerance %.0f%%)%n", tolerance * 100);
+        System.out.printf("%-70s %14s %14s %-8s %8s  %s%n", "Benchmark", "Baseline", "Current", "Unit", "Change", "Status");
+        for (Comparison c : comparisons) {
+            System.out.printf("%-70s %14s %14s %-8s %8s  %s%n", c.key(),
+                    c.baseline() == null ? "-" : String.format("%.3f", c.baseline().value()),
+                    c.current() == null ? "-" : String.format("%.3f", c.current().value()),
+                    (c.current() != null ? c.current() : c.baseline()).unit(),
+                    Double.isNaN(c.change()) ? "-" : String.format("%+.1f%%", c.change() * 100),
+                    c.status());
+        }
+    }
+
+    record Score(String mode, double value, double error, String unit) {
+    }
+
+    record Comparison(String key, Score baseline, Score current, double change, Status status) {
+    }
+
+    enum Status {
+        OK, IMPROVED, REGRESSION, NEW, MISSING
+    }
+}
@@ -0,0 +1,74 @@
+package pl.hardstyl3r.pas.benchmarks;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.repoadapters.adapters.CachingResourceAdapter;
+import pl.hardstyl3r.repoadapters.adapters.ResourceAdapter;
+import pl.hardstyl3r.repoadapters.objects.resources.ResourceEnt;
+import pl.hardstyl3r.repoadapters.repositories.ResourceRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Porównuje odczyt katalogu zasobów ({@code GET /api/v1/resources}) z bazy przy każdym wywołaniu oraz przez
+ * {@link CachingResourceAdapter}, który zwraca kopie z załadowanego katalogu. Kilka wątków naraz, tak jak przy
+ * równoległych żądaniach. Wymaga działającej bazy (osobna baza {@code pas_benchmarks}).
+ * Uruchomienie: {@code java -jar benchmarks/target/benchmarks.jar ResourceCatalogBenchmark -p mongoUri=...}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResourceCatalogBenchmark {
+
+    @Param(MongoFixtures.DEFAULT_URI)
+    public String mongoUri;
+
+    @Param({"2000"})
+    public int resources;
+
+    private AnnotationConfigApplicationContext context;
+    private ResourceAdapter uncached;
+    private CachingResourceAdapter cached;
+
+    @Setup
+    public void setup() {
+        context = MongoFixtures.context(mongoUri, ResourceRepository.class, ResourceAdapter.class,
+                CachingResourceAdapter.class);
+        MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+        mongoTemplate.dropCollection(ResourceEnt.class);
+        List<Document> batch = new ArrayList<>(resources);
+        for (int i = 0; i < resources; i++) {
+            batch.add(new Document("_class", "pl.hardstyl3r.repoadapters.objects.resources.BookEnt")
+                    .append("name", "Book " + i).append("description", "Description " + i)
+                    .append("author", "Author " + i).append("isbn", "9788327159779"));
+        }
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(ResourceEnt.class)).insertMany(batch);
+        uncached = context.getBean(ResourceAdapter.class);
+        cached = context.getBean(CachingResourceAdapter.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.getBean(MongoTemplate.class).dropCollection(ResourceEnt.class);
+        context.close();
+    }
+
+    @Benchmark
+    public List<Resource> findAllFromDatabase() {
+        return uncached.findAll();
+    }
+
+    @Benchmark
+    public List<Resource> findAllFromCache() {
+        return cached.findAll();
+    }
+}
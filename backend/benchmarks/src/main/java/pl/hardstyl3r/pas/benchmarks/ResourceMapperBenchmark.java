@@ -0,0 +1,59 @@
+package pl.hardstyl3r.pas.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pl.hardstyl3r.pas.v1.objects.resources.Book;
+import pl.hardstyl3r.pas.v1.objects.resources.Newspaper;
+import pl.hardstyl3r.pas.v1.objects.resources.Periodical;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.repoadapters.mappers.ResourceMapper;
+import pl.hardstyl3r.repoadapters.objects.resources.ResourceEnt;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mierzy {@code ResourceMapper.toDomain} i {@code toEntity} (switch z dopasowaniem wzorców) na mieszance
+ * książek, czasopism i gazet, żeby switch nie był monomorficzny.
+ * Uruchomienie: {@code java -jar benchmarks/target/benchmarks.jar ResourceMapperBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(ResourceMapperBenchmark.RESOURCES)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResourceMapperBenchmark {
+
+    static final int RESOURCES = 1024;
+
+    private final Resource[] resources = new Resource[RESOURCES];
+    private final ResourceEnt[] entities = new ResourceEnt[RESOURCES];
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < RESOURCES; i++) {
+            String id = Integer.toHexString(i);
+            resources[i] = switch (i % 3) {
+                case 0 -> new Book(id, "Book " + i, "Description " + i, "Author " + i, "9788327159779");
+                case 1 -> new Periodical(id, "Periodical " + i, "Description " + i, i);
+                default -> new Newspaper(id, "Newspaper " + i, "Description " + i, "2025-01-01");
+            };
+            entities[i] = ResourceMapper.toEntity(resources[i]);
+        }
+    }
+
+    @Benchmark
+    public void toDomain(Blackhole blackhole) {
+        for (ResourceEnt entity : entities) {
+            blackhole.consume(ResourceMapper.toDomain(entity));
+        }
+    }
+
+    @Benchmark
+    public void toEntity(Blackhole blackhole) {
+        for (Resource resource : resources) {
+            blackhole.consume(ResourceMapper.toEntity(resource));
+        }
+    }
+}
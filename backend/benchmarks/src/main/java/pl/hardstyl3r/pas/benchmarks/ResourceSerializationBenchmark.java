@@ -0,0 +1,65 @@
+package pl.hardstyl3r.pas.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pl.hardstyl3r.pas.v1.controller.ResourceCatalogSerializer;
+import pl.hardstyl3r.pas.v1.objects.resources.Book;
+import pl.hardstyl3r.pas.v1.objects.resources.Newspaper;
+import pl.hardstyl3r.pas.v1.objects.resources.Periodical;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.pas.v1.objects.resources.ResourceCatalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mierzy serializację Jacksonem listy podklas {@code Resource}: samo {@code writeValueAsBytes} oraz pełny
+ * {@code ResourceCatalogSerializer} (bajty i ETag). Katalog nie ma wersji, więc serializer nie może użyć
+ * zapamiętanego wyniku. Uruchomienie: {@code java -jar benchmarks/target/benchmarks.jar ResourceSerializationBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResourceSerializationBenchmark {
+
+    @Param({"10", "1000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private ResourceCatalogSerializer catalogSerializer;
+    private List<Resource> resources;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(new TypeReference<List<Resource>>() {
+        });
+        catalogSerializer = new ResourceCatalogSerializer(objectMapper);
+        resources = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String id = "6790a1b2c3d4e5f6a7b8" + String.format("%04x", i);
+            resources.add(switch (i % 3) {
+                case 0 -> new Book(id, "Book " + i, "Description " + i, "Author " + i, "9788327159779");
+                case 1 -> new Periodical(id, "Periodical " + i, "Description " + i, i);
+                default -> new Newspaper(id, "Newspaper " + i, "Description " + i, "2025-01-01");
+            });
+        }
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws Exception {
+        return writer.writeValueAsBytes(resources);
+    }
+
+    @Benchmark
+    public ResourceCatalogSerializer.Serialized catalogWithEtag() {
+        return catalogSerializer.serialize(ResourceCatalog.unversioned(resources));
+    }
+}
@@ -0,0 +1,99 @@
+package pl.hardstyl3r.pas.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import pl.hardstyl3r.pas.appports.ResourcePort;
+import pl.hardstyl3r.pas.v1.exceptions.ResourceValidationException;
+import pl.hardstyl3r.pas.v1.objects.resources.Resource;
+import pl.hardstyl3r.pas.v1.objects.resources.ResourceCatalog;
+import pl.hardstyl3r.pas.v1.services.ResourceService;
+import pl.hardstyl3r.pas.v1.viewports.CreateResourceCommand;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mierzy walidację w {@code ResourceService.createResource} (m.in. {@code isValidIsbn}) dla poprawnej książki,
+ * książki z błędnym ISBN i gazety. Port zapisu tylko zwraca zasób, więc wynik to sam koszt walidacji.
+ * Uruchomienie: {@code java -jar benchmarks/target/benchmarks.jar ResourceValidationBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResourceValidationBenchmark {
+
+    private final ResourceService service = new ResourceService(new SaveOnlyResourcePort(), null);
+
+    private final CreateResourceCommand validBook = new CreateResourceCommand(
+            "book", "Lalka", "Powieść", "Bolesław Prus", "978-83-271-5977-9", null, null);
+    private final CreateResourceCommand invalidIsbn = new CreateResourceCommand(
+            "book", "Lalka", "Powieść", "Bolesław Prus", "978-83-271-597", null, null);
+    private final CreateResourceCommand newspaper = new CreateResourceCommand(
+            "newspaper", "Gazeta", "Dziennik", null, null, null, "2025-01-01");
+
+    @Benchmark
+    public Resource validBook() {
+        return service.createResource(validBook);
+    }
+
+    @Benchmark
+    public Object invalidIsbn() {
+        try {
+            return service.createResource(invalidIsbn);
+        } catch (ResourceValidationException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Resource newspaper() {
+        return service.createResource(newspaper);
+    }
+
+    private static final class SaveOnlyResourcePort implements ResourcePort {
+
+        @Override
+        public Resource save(Resource resource) {
+            return resource;
+        }
+
+        @Override
+        public List<Resource> findAll() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ResourceCatalog findCatalog() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Resource> findById(String id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Resource> findAllById(Collection<String> ids) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteById(String id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean deleteIfUnallocated(String id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean existsById(String id) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
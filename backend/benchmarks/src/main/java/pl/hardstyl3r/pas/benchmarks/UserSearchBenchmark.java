@@ -0,0 +1,93 @@
+package pl.hardstyl3r.pas.benchmarks;
+
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import pl.hardstyl3r.repoadapters.indexes.IndexRegistry;
+import pl.hardstyl3r.repoadapters.objects.UserEnt;
+import pl.hardstyl3r.repoadapters.objects.UserSummaryEnt;
+import pl.hardstyl3r.repoadapters.repositories.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Porównuje dawne wyszukiwanie wyrażeniem regularnym z indeksem prefiksowym i trigramowym
+ * ({@link UserRepository#searchByUsername}) przy {@code users} użytkownikach.
+ * Wymaga działającej bazy (osobna baza {@code pas_benchmarks}).
+ * Uruchomienie: {@code java -jar benchmarks/target/benchmarks.jar UserSearchBenchmark -p mongoUri=...}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserSearchBenchmark {
+
+    private static final int INSERT_BATCH = 10_000;
+    private static final int LIMIT = 20;
+
+    @Param(MongoFixtures.DEFAULT_URI)
+    public String mongoUri;
+
+    @Param({"1000000"})
+    public int users;
+
+    @Param({"user1f", "beef", "x99999"})
+    public String term;
+
+    private AnnotationConfigApplicationContext context;
+    private MongoTemplate mongoTemplate;
+    private UserRepository userRepository;
+    private Query regexQuery;
+
+    @Setup
+    public void setup() {
+        context = MongoFixtures.context(mongoUri, UserRepository.class);
+        mongoTemplate = context.getBean(MongoTemplate.class);
+        mongoTemplate.dropCollection(UserEnt.class);
+        context.getBean(IndexRegistry.class).ensureIndexes();
+
+        MongoCollection<Document> collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(UserEnt.class));
+        List<Document> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < users; i++) {
+            String username = "user" + Integer.toHexString(i * 7919) + "x" + i;
+            batch.add(new Document("username", username).append("usernameLower", username)
+                    .append("usernameTrigrams", UserEnt.trigrams(username))
+                    .append("name", "User " + i).append("password", "x").append("active", true).append("role", "CLIENT"));
+            if (batch.size() == INSERT_BATCH) {
+                collection.insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            collection.insertMany(batch);
+        }
+        userRepository = context.getBean(UserRepository.class);
+        regexQuery = new Query(Criteria.where("username").regex(Pattern.compile(term, Pattern.CASE_INSENSITIVE)))
+                .limit(LIMIT);
+    }
+
+    @TearDown
+    public void tearDown() {
+        mongoTemplate.dropCollection(UserEnt.class);
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserEnt> regexScan() {
+        return mongoTemplate.find(regexQuery, UserEnt.class);
+    }
+
+    @Benchmark
+    public List<UserSummaryEnt> indexedSearch() {
+        return userRepository.searchByUsername(term, LIMIT);
+    }
+}
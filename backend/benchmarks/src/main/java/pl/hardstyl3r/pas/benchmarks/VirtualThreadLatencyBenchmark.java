@@ -0,0 +1,97 @@
+package pl.hardstyl3r.pas.benchmarks;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import pl.hardstyl3r.pas.SpringRestApplication;
+import pl.hardstyl3r.pas.v1.diagnostics.VirtualThreadPinningMonitor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Porównuje rozkład opóźnień {@code GET /api/v1/resources} (p50, p99 z trybu SampleTime) przy wielu równoczesnych
+ * klientach z wątkami wirtualnymi (profil {@code virtual-threads}) i bez nich. Każdy wariant startuje ViewRest
+ * na losowym porcie. Wymaga działającej bazy (osobna baza {@code pas_benchmarks}).
+ * Uruchomienie: {@code java -jar benchmarks/target/benchmarks.jar VirtualThreadLatencyBenchmark -t 1000 -p mongoUri=...}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(500)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadLatencyBenchmark {
+
+    private static final int RESOURCES = 200;
+
+    @Param(MongoFixtures.DEFAULT_URI)
+    public String mongoUri;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private String resourcesCollection;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setup() throws IOException, InterruptedException {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(SpringRestApplication.class);
+        builder.profiles(virtualThreads ? new String[]{"test", "virtual-threads"} : new String[]{"test"});
+        // arguments, not default properties, so that they win over application-test.properties
+        context = builder.run("--server.port=0", "--server.tomcat.max-connections=20000",
+                "--spring.data.mongodb.uri=" + mongoUri, "--spring.data.mongodb.database=" + MongoFixtures.DATABASE);
+
+        MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+        resourcesCollection = context.getEnvironment().getProperty("pas.mongodb.collection.resources");
+        mongoTemplate.dropCollection(resourcesCollection);
+        List<Document> batch = new ArrayList<>(RESOURCES);
+        for (int i = 0; i < RESOURCES; i++) {
+            batch.add(new Document("_class", "pl.hardstyl3r.repoadapters.objects.resources.BookEnt")
+                    .append("name", "Book " + i).append("description", "Description " + i)
+                    .append("author", "Author " + i).append("isbn", "9788327159779"));
+        }
+        mongoTemplate.getCollection(resourcesCollection).insertMany(batch);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30)).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/resources"))
+                .timeout(Duration.ofSeconds(60)).build();
+        if (get() != 200) {
+            throw new IllegalStateException("GET /api/v1/resources did not return 200");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (virtualThreads) {
+            context.getBean(VirtualThreadPinningMonitor.class).report()
+                    .forEach(site -> System.out.println("pinned " + site));
+        }
+        context.getBean(MongoTemplate.class).dropCollection(resourcesCollection);
+        context.close();
+    }
+
+    @Benchmark
+    public int getResources() throws IOException, InterruptedException {
+        return get();
+    }
+
+    private int get() throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,76 @@
+package pl.hardstyl3r.pas.benchmarks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.hardstyl3r.pas.benchmarks.RegressionReport.Comparison;
+import pl.hardstyl3r.pas.benchmarks.RegressionReport.Score;
+import pl.hardstyl3r.pas.benchmarks.RegressionReport.Status;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class RegressionReportUnitTest {
+
+    private static final double TOLERANCE = 0.10;
+
+    @Test
+    void shouldTreatLowerThroughputAsRegression() {
+        assertThat(status(score("thrpt", 1000, "ops/s"), score("thrpt", 850, "ops/s"))).isEqualTo(Status.REGRESSION);
+        assertThat(status(score("thrpt", 1000, "ops/s"), score("thrpt", 1200, "ops/s"))).isEqualTo(Status.IMPROVED);
+        assertThat(status(score("thrpt", 1000, "ops/s"), score("thrpt", 950, "ops/s"))).isEqualTo(Status.OK);
+    }
+
+    @Test
+    void shouldTreatHigherTimeAsRegressionInEveryTimeBasedMode() {
+        for (String mode : List.of("avgt", "sample", "ss")) {
+            assertThat(status(score(mode, 100, "us/op"), score(mode, 115, "us/op"))).isEqualTo(Status.REGRESSION);
+            assertThat(status(score(mode, 100, "us/op"), score(mode, 80, "us/op"))).isEqualTo(Status.IMPROVED);
+            assertThat(status(score(mode, 100, "us/op"), score(mode, 105, "us/op"))).isEqualTo(Status.OK);
+        }
+    }
+
+    @Test
+    void shouldReportNewMissingAndChangedUnitsWithoutComparing() {
+        List<Comparison> comparisons = RegressionReport.compare(
+                Map.of("Removed.run", score("avgt", 1, "us/op"), "Changed.run", score("avgt", 1, "us/op")),
+                Map.of("Added.run", score("avgt", 1, "us/op"), "Changed.run", score("avgt", 1000, "ns/op")),
+                TOLERANCE);
+
+        assertThat(comparisons).extracting(Comparison::key, Comparison::status).containsExactlyInAnyOrder(
+                tuple("Added.run", Status.NEW),
+                tuple("Changed.run", Status.NEW),
+                tuple("Removed.run", Status.MISSING));
+    }
+
+    @Test
+    void shouldKeyResultsByBenchmarkAndParams(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("result.json");
+        Files.writeString(file, """
+                [{
+                    "benchmark": "pl.hardstyl3r.pas.benchmarks.UserSearchBenchmark.indexedSearch",
+                    "mode": "avgt",
+                    "params": {"users": "1000000", "term": "beef"},
+                    "primaryMetric": {"score": 12.5, "scoreError": 0.5, "scoreUnit": "us/op"}
+                }]
+                """);
+
+        assertThat(RegressionReport.read(file))
+                .containsOnlyKeys("UserSearchBenchmark.indexedSearch {term=beef, users=1000000}")
+                .containsValue(new Score("avgt", 12.5, 0.5, "us/op"));
+    }
+
+    private static Status status(Score baseline, Score current) {
+        return RegressionReport.compare(Map.of("Bench.run", baseline), Map.of("Bench.run", current), TOLERANCE)
+                .getFirst().status();
+    }
+
+    private static Score score(String mode, double value, String unit) {
+        return new Score(mode, value, Double.NaN, unit);
+    }
+}
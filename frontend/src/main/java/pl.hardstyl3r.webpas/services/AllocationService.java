@@ -8,14 +8,20 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 import pl.hardstyl3r.webpas.dto.AllocationDTO;
 import pl.hardstyl3r.webpas.dto.AllocationRequest;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class AllocationService {
 
+    private static final int PAGE_SIZE = 1000;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final RestTemplate restTemplate;
     private final String restApiUrl;
     private final String apiToken;
@@ -35,14 +41,26 @@ public class AllocationService {
     }
 
     public List<AllocationDTO> getAllAllocations() {
-        String url = restApiUrl + "/api/v1/allocations";
-        ResponseEntity<List<AllocationDTO>> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<>() {}
-        );
-        return response.getBody();
+        // The REST API returns one page per request and the cursor of the next one in a header.
+        List<AllocationDTO> allocations = new ArrayList<>();
+        String after = null;
+        do {
+            String url = UriComponentsBuilder.fromUriString(restApiUrl + "/api/v1/allocations")
+                    .queryParam("limit", PAGE_SIZE)
+                    .queryParamIfPresent("after", Optional.ofNullable(after))
+                    .toUriString();
+            ResponseEntity<List<AllocationDTO>> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    null,
+                    new ParameterizedTypeReference<>() {}
+            );
+            if (response.getBody() != null) {
+                allocations.addAll(response.getBody());
+            }
+            after = response.getHeaders().getFirst(NEXT_CURSOR_HEADER);
+        } while (after != null);
+        return allocations;
     }
 
     public void createAllocation(AllocationRequest allocationRequest) {